@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.instance.HazelcastInstanceImpl;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.jet.Jet;
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map.Entry;
+import java.util.SplittableRandom;
+
+import static com.hazelcast.jet.Util.entry;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures {@link AsyncSnapshotWriterImpl} writing the state of a
+ * processor to a snapshot map of a single local member. Each invocation
+ * offers a batch of serialized entries, flushes the writer and waits
+ * for all the async map operations to complete, as a processor does when
+ * it saves its state to a snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncSnapshotWriterBenchmark {
+
+    private static final int ENTRY_COUNT = 1 << 14;
+    private static final String MAP_NAME = "snapshot";
+
+    @Param({"16", "1024"})
+    public int valueSize;
+
+    private JetInstance instance;
+    private Entry<Data, Data>[] entries;
+    private AsyncSnapshotWriterImpl writer;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        instance = Jet.newJetInstance();
+        HazelcastInstanceImpl hzInstance = (HazelcastInstanceImpl) instance.getHazelcastInstance();
+        InternalSerializationService serializationService = hzInstance.getSerializationService();
+
+        SplittableRandom random = new SplittableRandom(42);
+        entries = new Entry[ENTRY_COUNT];
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            byte[] value = new byte[valueSize];
+            for (int j = 0; j < valueSize; j++) {
+                value[j] = (byte) random.nextInt();
+            }
+            entries[i] = entry(serializationService.toData((long) i), serializationService.toData(value));
+        }
+        writer = new AsyncSnapshotWriterImpl(hzInstance.node.nodeEngine, 0, 1);
+        writer.setCurrentMap(MAP_NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        instance.shutdown();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearMap() {
+        // every invocation writes new chunks, don't let them pile up
+        instance.getMap(MAP_NAME).clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRY_COUNT)
+    public void offerAndFlush() {
+        for (Entry<Data, Data> entry : entries) {
+            while (!writer.offer(entry)) {
+                // the limit of parallel async operations was reached, retry
+                checkError();
+            }
+        }
+        while (!writer.flush()) {
+            checkError();
+        }
+        while (writer.hasPendingAsyncOps()) {
+            checkError();
+        }
+        checkError();
+    }
+
+    private void checkError() {
+        Throwable error = writer.getError();
+        if (error != null) {
+            throw new RuntimeException(error);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.impl.processor.HashJoinP;
+import com.hazelcast.jet.impl.processor.HashJoinTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the probe side of {@link HashJoinP}: the lookup table is
+ * received once in the setup, then each invocation joins a batch of
+ * stream items against it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashJoinBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int ITEM_COUNT = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    public int tableSize;
+
+    private Long[] items;
+    private int itemIndex;
+    private HashJoinP<Long> processor;
+    private TestInbox inbox;
+    private TestOutbox outbox;
+
+    @Setup
+    public void setup() {
+        HashJoinTable<Object, Object> table = new HashJoinTable<>();
+        for (long i = 0; i < tableSize; i++) {
+            table.putIfAbsent(i, "value-" + i);
+        }
+        // a quarter of the stream items have no match in the table
+        SplittableRandom random = new SplittableRandom(42);
+        items = new Long[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items[i] = random.nextLong(tableSize + tableSize / 3);
+        }
+
+        Function<Long, Object> keyFn = item -> item;
+        processor = new HashJoinP<>(singletonList(keyFn), emptyList(), Tuple2::tuple2, null);
+        inbox = new TestInbox();
+        outbox = new TestOutbox(BATCH_SIZE);
+        processor.init(outbox, new TestProcessorContext());
+        inbox.add(table);
+        processor.process(1, inbox);
+        itemIndex = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void join(Blackhole bh) {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            inbox.add(items[itemIndex]);
+            itemIndex = (itemIndex + 1) % ITEM_COUNT;
+        }
+        processor.process(0, inbox);
+        Queue<Object> queue = outbox.queue(0);
+        for (Object item; (item = queue.poll()) != null; ) {
+            bh.consume(item);
+        }
+        outbox.reset();
+    }
+}
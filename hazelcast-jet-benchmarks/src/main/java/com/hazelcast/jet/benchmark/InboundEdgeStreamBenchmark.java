@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.internal.util.concurrent.ConcurrentConveyor;
+import com.hazelcast.internal.util.concurrent.OneToOneConcurrentArrayQueue;
+import com.hazelcast.internal.util.concurrent.QueuedPipe;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.impl.execution.ConcurrentInboundEdgeStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures {@link ConcurrentInboundEdgeStream#drainTo} on an edge with
+ * several upstream queues, each carrying a stream of items interleaved
+ * with watermarks. Every invocation fills the queues with one batch of
+ * items and drains them, coalescing the watermarks on the way.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InboundEdgeStreamBenchmark {
+
+    private static final int ITEMS_PER_QUEUE = 1024;
+    private static final int QUEUE_CAPACITY = 2 * ITEMS_PER_QUEUE;
+
+    @Param({"1", "4"})
+    public int queueCount;
+
+    @Param({"16", "256"})
+    public int itemsPerWatermark;
+
+    private OneToOneConcurrentArrayQueue<Object>[] queues;
+    private ConcurrentInboundEdgeStream stream;
+    private long time;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        queues = new OneToOneConcurrentArrayQueue[queueCount];
+        for (int i = 0; i < queueCount; i++) {
+            queues[i] = new OneToOneConcurrentArrayQueue<>(QUEUE_CAPACITY);
+        }
+        ConcurrentConveyor<Object> conveyor = ConcurrentConveyor.concurrentConveyor(new Object(),
+                (QueuedPipe<Object>[]) queues);
+        stream = new ConcurrentInboundEdgeStream(conveyor, 0, 0, -1, false, -1, "benchmark");
+        time = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS_PER_QUEUE)
+    public void drainTo(Blackhole bh) {
+        long startTime = time;
+        for (OneToOneConcurrentArrayQueue<Object> queue : queues) {
+            time = startTime;
+            for (int i = 0; i < ITEMS_PER_QUEUE; i++) {
+                queue.offer(time);
+                if (++time % itemsPerWatermark == 0) {
+                    queue.offer(new Watermark(time));
+                }
+            }
+        }
+        while (stream.drainTo(item -> {
+            bh.consume(item);
+            return true;
+        }) != NO_PROGRESS) {
+            // keep draining until the queues are empty
+        }
+    }
+}
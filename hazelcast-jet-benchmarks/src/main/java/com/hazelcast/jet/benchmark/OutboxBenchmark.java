@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.impl.execution.OutboundCollector;
+import com.hazelcast.jet.impl.execution.OutboxImpl;
+import com.hazelcast.jet.impl.util.ProgressState;
+import com.hazelcast.jet.impl.util.ProgressTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the per-item cost of {@link OutboxImpl}, offering the items
+ * one by one and as a batch with {@code offerAll()}. The outbound
+ * collector accepts every item, so only the outbox overhead and the
+ * call into the collector are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutboxBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+
+    private Object[] items;
+    private OutboxImpl outbox;
+    private long received;
+
+    @Setup
+    public void setup() {
+        items = new Object[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            items[i] = (long) i;
+        }
+        OutboundCollector collector = item -> {
+            received++;
+            return ProgressState.DONE;
+        };
+        outbox = new OutboxImpl(new OutboundCollector[] {collector}, false, new ProgressTracker(),
+                new DefaultSerializationServiceBuilder().build(), BATCH_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long offer() {
+        outbox.reset();
+        for (Object item : items) {
+            outbox.offer(0, item);
+        }
+        return received;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long offerAll() {
+        outbox.reset();
+        outbox.offerAll(0, items, 0, items.length);
+        return received;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.core.DefaultPartitionStrategy;
+import com.hazelcast.jet.core.Partitioner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the default partitioner's fast path for keys of well-known
+ * types with the full path that serializes each key to {@code Data} just
+ * to hash it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionerBenchmark {
+
+    private static final int KEY_COUNT = 1024;
+    private static final int PARTITION_COUNT = 271;
+
+    @Param({"long", "string", "tuple2"})
+    public String keyType;
+
+    private Object[] keys;
+    private DefaultPartitionStrategy strategy;
+    private Partitioner<Object> partitioner;
+
+    @Setup
+    public void setup() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        strategy = key -> hashToIndex(serializationService.toData(key).getPartitionHash(), PARTITION_COUNT);
+        partitioner = Partitioner.defaultPartitioner();
+        partitioner.init(strategy);
+
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Object[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            long n = random.nextLong();
+            switch (keyType) {
+                case "long":
+                    keys[i] = n;
+                    break;
+                case "string":
+                    keys[i] = "key-" + n;
+                    break;
+                case "tuple2":
+                    keys[i] = tuple2("key-" + n, (int) n);
+                    break;
+                default:
+                    throw new IllegalArgumentException(keyType);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEY_COUNT)
+    public void serialized(Blackhole bh) {
+        for (Object key : keys) {
+            bh.consume(strategy.getPartition(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(KEY_COUNT)
+    public void fastPath(Blackhole bh) {
+        for (Object key : keys) {
+            bh.consume(partitioner.getPartition(key, PARTITION_COUNT));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the serialization of items into a network packet the way
+ * {@code SenderTasklet} does it, and their deserialization the way {@code
+ * ReceiverTasklet} does it: each item is written with {@code
+ * writeObject()} followed by its partition ID, the packet starts with the
+ * item count. The tasklets themselves need a member connection, therefore
+ * this benchmark reproduces their loops over the same buffer classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SenderSerializationBenchmark {
+
+    private static final int ITEMS_PER_PACKET = 256;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int PARTITION_COUNT = 271;
+
+    @Param({"long", "string", "entry", "tuple2"})
+    public String itemType;
+
+    private Object[] items;
+    private int[] partitionIds;
+    private BufferObjectDataOutput output;
+    private BufferObjectDataInput input;
+    private byte[] packet;
+
+    @Setup
+    public void setup() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        items = new Object[ITEMS_PER_PACKET];
+        partitionIds = new int[ITEMS_PER_PACKET];
+        for (int i = 0; i < ITEMS_PER_PACKET; i++) {
+            long n = random.nextLong();
+            switch (itemType) {
+                case "long":
+                    items[i] = n;
+                    break;
+                case "string":
+                    items[i] = "item-" + n;
+                    break;
+                case "entry":
+                    items[i] = entry("key-" + n, n);
+                    break;
+                case "tuple2":
+                    items[i] = tuple2("key-" + n, (int) n);
+                    break;
+                default:
+                    throw new IllegalArgumentException(itemType);
+            }
+            partitionIds[i] = random.nextInt(PARTITION_COUNT);
+        }
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        output = serializationService.createObjectDataOutput(BUFFER_SIZE);
+        packet = serialize();
+        input = serializationService.createObjectDataInput(packet);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS_PER_PACKET)
+    public byte[] serialize() throws IOException {
+        output.clear();
+        output.writeInt(ITEMS_PER_PACKET);
+        for (int i = 0; i < ITEMS_PER_PACKET; i++) {
+            output.writeObject(items[i]);
+            output.writeInt(partitionIds[i]);
+        }
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS_PER_PACKET)
+    public void deserialize(Blackhole bh) throws IOException {
+        input.init(packet, 0);
+        int itemCount = input.readInt();
+        for (int i = 0; i < itemCount; i++) {
+            bh.consume(input.readObject());
+            bh.consume(input.readInt());
+        }
+    }
+}
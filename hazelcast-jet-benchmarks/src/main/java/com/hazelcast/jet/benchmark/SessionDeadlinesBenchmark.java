@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.jet.impl.util.TimerWheel;
+import com.hazelcast.jet.impl.util.TimerWheel.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Compares the deadline index used by {@code SessionWindowP}, a {@link
+ * TimerWheel} with one timer per key, with the {@code TreeMap<Long,
+ * Set<K>>} it replaced. Each invocation processes a batch of events that
+ * extend the deadline of a random key, followed by a watermark that expires
+ * the deadlines behind it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionDeadlinesBenchmark {
+
+    private static final int EVENTS_PER_WATERMARK = 1024;
+    private static final int EVENT_COUNT = 1 << 20;
+    private static final long SESSION_TIMEOUT = 10_000;
+    private static final long TIMESTAMP_SPREAD = 2_000;
+    private static final long WATERMARK_LAG = 2_000;
+
+    @Param({"10000", "1000000"})
+    public int keyCount;
+
+    private int[] eventKeys;
+    private long[] eventOffsets;
+    private Long[] keys;
+    private int eventIndex;
+    private long time;
+
+    private SortedMap<Long, Set<Long>> deadlineToKeys;
+    private long[] keyDeadlines;
+
+    private TimerWheel<Long> wheel;
+    private Timer<Long>[] timers;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        eventKeys = new int[EVENT_COUNT];
+        eventOffsets = new long[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            eventKeys[i] = random.nextInt(keyCount);
+            eventOffsets[i] = random.nextLong(TIMESTAMP_SPREAD);
+        }
+        keys = new Long[keyCount];
+        timers = new Timer[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = (long) i;
+            timers[i] = new Timer<>(keys[i]);
+        }
+        keyDeadlines = new long[keyCount];
+        Arrays.fill(keyDeadlines, Long.MIN_VALUE);
+        deadlineToKeys = new TreeMap<>();
+        wheel = new TimerWheel<>();
+        eventIndex = 0;
+        time = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_WATERMARK)
+    public void treeMap(Blackhole bh) {
+        for (int i = 0; i < EVENTS_PER_WATERMARK; i++) {
+            int key = nextKey();
+            long deadline = nextTimestamp() + SESSION_TIMEOUT;
+            long oldDeadline = keyDeadlines[key];
+            if (deadline <= oldDeadline) {
+                continue;
+            }
+            if (oldDeadline != Long.MIN_VALUE) {
+                Set<Long> ks = deadlineToKeys.get(oldDeadline);
+                ks.remove(keys[key]);
+                if (ks.isEmpty()) {
+                    deadlineToKeys.remove(oldDeadline);
+                }
+            }
+            keyDeadlines[key] = deadline;
+            deadlineToKeys.computeIfAbsent(deadline, x -> new HashSet<>()).add(keys[key]);
+        }
+        SortedMap<Long, Set<Long>> expired = deadlineToKeys.headMap(time - WATERMARK_LAG);
+        for (Set<Long> ks : expired.values()) {
+            for (Long key : ks) {
+                keyDeadlines[key.intValue()] = Long.MIN_VALUE;
+                bh.consume(key);
+            }
+        }
+        expired.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_WATERMARK)
+    public void timerWheel(Blackhole bh) {
+        for (int i = 0; i < EVENTS_PER_WATERMARK; i++) {
+            int key = nextKey();
+            long deadline = nextTimestamp() + SESSION_TIMEOUT;
+            if (deadline <= keyDeadlines[key]) {
+                continue;
+            }
+            keyDeadlines[key] = deadline;
+            wheel.schedule(timers[key], deadline);
+        }
+        wheel.advance(time - WATERMARK_LAG, timer -> {
+            keyDeadlines[timer.item().intValue()] = Long.MIN_VALUE;
+            bh.consume(timer);
+        });
+    }
+
+    private int nextKey() {
+        return eventKeys[eventIndex];
+    }
+
+    private long nextTimestamp() {
+        long timestamp = time + eventOffsets[eventIndex];
+        eventIndex = (eventIndex + 1) & (EVENT_COUNT - 1);
+        time++;
+        return timestamp;
+    }
+}
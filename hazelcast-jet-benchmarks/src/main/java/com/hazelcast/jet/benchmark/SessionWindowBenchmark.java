@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.datamodel.TimestampedEntry;
+import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.jet.function.DistributedToLongFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.SplittableRandom;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.core.processor.Processors.aggregateToSessionWindowP;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures {@code SessionWindowP}: each invocation processes a batch of
+ * events with random keys, extending or merging their sessions, followed
+ * by a watermark which closes the sessions behind it and emits their
+ * results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionWindowBenchmark {
+
+    private static final int EVENTS_PER_WATERMARK = 1024;
+    private static final int EVENT_COUNT = 1 << 20;
+    private static final long SESSION_TIMEOUT = 1_000;
+    private static final long TIMESTAMP_SPREAD = 200;
+
+    @Param({"100", "10000", "1000000"})
+    public int keyCount;
+
+    private Long[] keys;
+    private int[] eventKeys;
+    private long[] eventOffsets;
+    private int eventIndex;
+    private long time;
+    private Processor processor;
+    private TestInbox inbox;
+    private TestOutbox outbox;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new Long[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = (long) i;
+        }
+        eventKeys = new int[EVENT_COUNT];
+        eventOffsets = new long[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            eventKeys[i] = random.nextInt(keyCount);
+            eventOffsets[i] = random.nextLong(TIMESTAMP_SPREAD);
+        }
+        DistributedFunction<Entry<Long, Long>, Long> keyFn = Entry::getKey;
+        DistributedToLongFunction<Entry<Long, Long>> timestampFn = Entry::getValue;
+        processor = aggregateToSessionWindowP(
+                SESSION_TIMEOUT,
+                singletonList(timestampFn),
+                singletonList(keyFn),
+                counting(),
+                TimestampedEntry::new
+        ).get();
+        inbox = new TestInbox();
+        outbox = new TestOutbox(Integer.MAX_VALUE);
+        processor.init(outbox, new TestProcessorContext());
+        eventIndex = 0;
+        time = 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_WATERMARK)
+    public void processWithWatermark(Blackhole bh) {
+        for (int i = 0; i < EVENTS_PER_WATERMARK; i++) {
+            // the time advances by one per event
+            inbox.add(entry(keys[eventKeys[eventIndex]], time++ + eventOffsets[eventIndex]));
+            eventIndex = (eventIndex + 1) % EVENT_COUNT;
+        }
+        processor.process(0, inbox);
+        Watermark wm = new Watermark(time - TIMESTAMP_SPREAD);
+        while (!processor.tryProcessWatermark(wm)) {
+            drain(bh);
+        }
+        drain(bh);
+    }
+
+    private void drain(Blackhole bh) {
+        Queue<Object> queue = outbox.queue(0);
+        for (Object item; (item = queue.poll()) != null; ) {
+            bh.consume(item);
+        }
+        outbox.reset();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.benchmark;
+
+import com.hazelcast.jet.Traverser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+
+import static com.hazelcast.jet.Traversers.traverseArray;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Measures the per-item cost of a chain of {@link Traverser} transforms,
+ * the way processors such as {@code TransformP} use them: a source
+ * traverser with {@code map}, {@code filter} and {@code flatMap} stages
+ * on top of it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraverserBenchmark {
+
+    private static final int ITEM_COUNT = 1024;
+
+    private Long[] items;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        items = new Long[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            items[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_COUNT)
+    public void map(Blackhole bh) {
+        drain(traverseArray(items).map(x -> x + 1), bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_COUNT)
+    public void mapFilter(Blackhole bh) {
+        drain(traverseArray(items).map(x -> x + 1).filter(x -> (x & 1) == 0), bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEM_COUNT)
+    public void mapFilterFlatMap(Blackhole bh) {
+        drain(traverseArray(items)
+                .map(x -> x + 1)
+                .filter(x -> (x & 1) == 0)
+                .flatMap(x -> Traverser.over(x, -x)), bh);
+    }
+
+    private static void drain(Traverser<?> traverser, Blackhole bh) {
+        for (Object item; (item = traverser.next()) != null; ) {
+            bh.consume(item);
+        }
+    }
+}
@@ -50,4 +50,7 @@ public interface JetCodecTemplate {
 
     @Request(id = 9, retryable = false, response = ResponseMessageConst.BOOLEAN)
     boolean restartJob(long jobId);
+
+    @Request(id = 10, retryable = false, response = ResponseMessageConst.DATA)
+    Object getJobMetrics(long jobId);
 }
@@ -18,6 +18,7 @@ package com.hazelcast.jet;
 
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.JobMetrics;
 import com.hazelcast.jet.core.JobStatus;
 import com.hazelcast.jet.impl.util.Util;
 import com.hazelcast.jet.pipeline.Pipeline;
@@ -71,6 +72,21 @@ public interface Job {
     @Nonnull
     JobStatus getStatus();
 
+    /**
+     * Returns a snapshot of the runtime metrics of the current execution of
+     * this job, collected from all the members. The metrics include the
+     * number of items received and emitted by each processor per edge
+     * ordinal, the fill level of its input queues, the number of calls of
+     * its tasklet, the time spent in them and how many of them made no
+     * progress, the bytes it saved to the state snapshot and the traffic
+     * of the distributed edges. See {@link JobMetrics} for the naming of
+     * the metrics.
+     * <p>
+     * The metrics are empty if the job isn't running.
+     */
+    @Nonnull
+    JobMetrics getMetrics();
+
     /**
      * Gets the future associated with the job. The returned future is
      * not cancellable. To cancel the job, the {@link #cancel()} method
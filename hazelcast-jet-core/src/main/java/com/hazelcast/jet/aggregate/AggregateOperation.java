@@ -57,9 +57,9 @@ import java.util.Objects;
  * deduct} primitive, which allows Jet to efficiently aggregate infinite
  * stream data over a <em>sliding window</em> by evicting old data from the
  * existing accumulator instead of building a new one from scratch each time
- * the window slides forward. Providing a {@code deduct} primitive that makes
- * the computation more efficient than rebuilding the accumulator from scratch
- * isn't always possible. Therefore it is optional.
+ * the window slides forward. Providing a {@code deduct} primitive isn't
+ * always possible (for example, for {@code minBy} or {@code maxBy}).
+ * Therefore it is optional.
  * <p>
  * Depending on usage, the data items may come from one or more inbound
  * streams, and the {@code AggregateOperation} must provide a separate
@@ -163,9 +163,11 @@ public interface AggregateOperation<A, R> extends Serializable {
      * that case it is optional, but its presence may significantly reduce the
      * computational cost. With it, the current sliding window can be obtained
      * from the previous one by deducting the trailing frame and combining the
-     * leading frame; without it, each window must be recomputed from all its
-     * constituent frames. The finer the sliding step, the more pronounced the
-     * difference in computation effort will be.
+     * leading frame. Without it, Jet keeps partial aggregations of the
+     * window's frames from which it can compute the next window with a
+     * constant number of {@code combine} calls per key, on average. This
+     * requires roughly one extra accumulator per grouping key and frame in
+     * the window.
      * <p>
      * If this method returns non-null, then {@link #createFn()} <strong>must
      * </strong> return an accumulator which properly implements {@code
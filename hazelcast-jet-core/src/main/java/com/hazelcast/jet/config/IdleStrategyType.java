@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.config;
+
+/**
+ * Defines what a Jet worker thread does when none of its tasklets made
+ * progress in the last round. The choice trades CPU usage against the
+ * latency with which the worker notices new work after an idle period.
+ *
+ * @see InstanceConfig#setCooperativeIdleStrategy(IdleStrategyType)
+ * @see InstanceConfig#setNonCooperativeIdleStrategy(IdleStrategyType)
+ */
+public enum IdleStrategyType {
+
+    /**
+     * The worker immediately tries again, without ever giving up the CPU.
+     * It gives the lowest latency, but each worker fully occupies a core
+     * even when there's no work.
+     */
+    BUSY_SPIN,
+
+    /**
+     * The worker calls {@link Thread#yield()} before trying again. It lets
+     * other threads run on the core, but it still keeps the core busy when
+     * the machine is otherwise idle.
+     */
+    YIELD,
+
+    /**
+     * The worker parks for an exponentially increasing period, starting
+     * at one microsecond. The maximum period is 1 ms for cooperative and
+     * 5 ms for non-cooperative workers. It uses little CPU when idle, but
+     * it can take up to the maximum period to notice new work. This is the
+     * default.
+     */
+    BACKOFF,
+
+    /**
+     * The worker busy-spins for the {@link
+     * InstanceConfig#setIdleSpinCount(int) configured number of rounds}
+     * and then backs off as with {@link #BACKOFF}. Short gaps in the
+     * input are handled with the latency of {@link #BUSY_SPIN}, while a
+     * long idle period doesn't keep the core busy.
+     */
+    SPIN_THEN_PARK
+}
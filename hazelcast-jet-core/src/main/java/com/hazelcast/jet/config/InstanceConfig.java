@@ -21,6 +21,8 @@ import com.hazelcast.config.MapConfig;
 import javax.annotation.Nonnull;
 
 import static com.hazelcast.util.Preconditions.checkBackupCount;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
@@ -38,11 +40,35 @@ public class InstanceConfig {
      */
     public static final int DEFAULT_BACKUP_COUNT = MapConfig.DEFAULT_BACKUP_COUNT;
 
+    /**
+     * The default value of the {@link #setGroupingSpillThreshold(int)
+     * grouping spill threshold}. Zero means the group-by state is never
+     * spilled to disk.
+     */
+    public static final int DEFAULT_GROUPING_SPILL_THRESHOLD = 0;
+
+    /**
+     * The default value of the {@link #setSortSpillThreshold(int) sort spill
+     * threshold}. Zero means the items being sorted are never spilled to
+     * disk.
+     */
+    public static final int DEFAULT_SORT_SPILL_THRESHOLD = 0;
+
+    /**
+     * The default value of the {@link #setIdleSpinCount(int) idle spin
+     * count}.
+     */
+    public static final int DEFAULT_IDLE_SPIN_COUNT = 10_000;
 
     private int cooperativeThreadCount = Runtime.getRuntime().availableProcessors();
     private int flowControlPeriodMs = DEFAULT_FLOW_CONTROL_PERIOD_MS;
     private int backupCount = DEFAULT_BACKUP_COUNT;
     private String tempDir;
+    private int groupingSpillThreshold = DEFAULT_GROUPING_SPILL_THRESHOLD;
+    private int sortSpillThreshold = DEFAULT_SORT_SPILL_THRESHOLD;
+    private IdleStrategyType cooperativeIdleStrategy = IdleStrategyType.BACKOFF;
+    private IdleStrategyType nonCooperativeIdleStrategy = IdleStrategyType.BACKOFF;
+    private int idleSpinCount = DEFAULT_IDLE_SPIN_COUNT;
 
     /**
      * Sets the number of threads each cluster member will use to execute Jet
@@ -121,4 +147,116 @@ public class InstanceConfig {
     public int getBackupCount() {
         return backupCount;
     }
+
+    /**
+     * Sets the maximum number of distinct keys for which a batch group-by
+     * processor keeps the accumulators on the heap. When it's exceeded, the
+     * processor spills its partial accumulators to files in the {@link
+     * #setTempDir temp directory} and merges them back using the aggregate
+     * operation's {@code combineFn} after it received all the input. This
+     * bounds the memory used by a high-cardinality group-by at the cost of
+     * disk I/O. Aggregate operations without a {@code combineFn} are never
+     * spilled.
+     * <p>
+     * The threshold applies to each processor separately. Default value is
+     * {@value #DEFAULT_GROUPING_SPILL_THRESHOLD}, which disables spilling.
+     */
+    public InstanceConfig setGroupingSpillThreshold(int groupingSpillThreshold) {
+        checkNotNegative(groupingSpillThreshold, "groupingSpillThreshold should not be negative");
+        this.groupingSpillThreshold = groupingSpillThreshold;
+        return this;
+    }
+
+    /**
+     * Returns the {@link #setGroupingSpillThreshold(int) grouping spill
+     * threshold}.
+     */
+    public int getGroupingSpillThreshold() {
+        return groupingSpillThreshold;
+    }
+
+    /**
+     * Sets the maximum number of items a sorting processor keeps on the
+     * heap. When it's exceeded, the processor sorts the items it holds,
+     * writes them as a sorted run to a file in the {@link #setTempDir temp
+     * directory} and starts over. After it received all the input, it
+     * merges the runs. This bounds the memory used to sort a large data set
+     * at the cost of disk I/O.
+     * <p>
+     * The threshold applies to each processor separately. Default value is
+     * {@value #DEFAULT_SORT_SPILL_THRESHOLD}, which disables spilling.
+     */
+    public InstanceConfig setSortSpillThreshold(int sortSpillThreshold) {
+        checkNotNegative(sortSpillThreshold, "sortSpillThreshold should not be negative");
+        this.sortSpillThreshold = sortSpillThreshold;
+        return this;
+    }
+
+    /**
+     * Returns the {@link #setSortSpillThreshold(int) sort spill threshold}.
+     */
+    public int getSortSpillThreshold() {
+        return sortSpillThreshold;
+    }
+
+    /**
+     * Sets what a thread executing <em>cooperative</em> processors does
+     * when none of its processors made progress. The default is {@link
+     * IdleStrategyType#BACKOFF}, which can add up to 1 ms of latency after
+     * an idle period. Latency-sensitive deployments can choose {@link
+     * IdleStrategyType#BUSY_SPIN} or {@link IdleStrategyType#SPIN_THEN_PARK}
+     * at the cost of CPU usage.
+     */
+    public InstanceConfig setCooperativeIdleStrategy(@Nonnull IdleStrategyType cooperativeIdleStrategy) {
+        this.cooperativeIdleStrategy = checkNotNull(cooperativeIdleStrategy, "cooperativeIdleStrategy");
+        return this;
+    }
+
+    /**
+     * Returns the {@link #setCooperativeIdleStrategy idle strategy} of the
+     * cooperative threads.
+     */
+    @Nonnull
+    public IdleStrategyType getCooperativeIdleStrategy() {
+        return cooperativeIdleStrategy;
+    }
+
+    /**
+     * Sets what a thread executing a <em>non-cooperative</em> processor
+     * does when the processor made no progress. The default is {@link
+     * IdleStrategyType#BACKOFF}, which can add up to 5 ms of latency after
+     * an idle period.
+     */
+    public InstanceConfig setNonCooperativeIdleStrategy(@Nonnull IdleStrategyType nonCooperativeIdleStrategy) {
+        this.nonCooperativeIdleStrategy = checkNotNull(nonCooperativeIdleStrategy, "nonCooperativeIdleStrategy");
+        return this;
+    }
+
+    /**
+     * Returns the {@link #setNonCooperativeIdleStrategy idle strategy} of
+     * the non-cooperative threads.
+     */
+    @Nonnull
+    public IdleStrategyType getNonCooperativeIdleStrategy() {
+        return nonCooperativeIdleStrategy;
+    }
+
+    /**
+     * Sets the number of consecutive idle rounds a thread busy-spins before
+     * it starts to park, when using {@link IdleStrategyType#SPIN_THEN_PARK}.
+     * Ignored by the other strategies. Default value is {@value
+     * #DEFAULT_IDLE_SPIN_COUNT}.
+     */
+    public InstanceConfig setIdleSpinCount(int idleSpinCount) {
+        checkNotNegative(idleSpinCount, "idleSpinCount should not be negative");
+        this.idleSpinCount = idleSpinCount;
+        return this;
+    }
+
+    /**
+     * Returns the {@link #setIdleSpinCount(int) idle spin count}.
+     */
+    public int getIdleSpinCount() {
+        return idleSpinCount;
+    }
 }
@@ -45,6 +45,7 @@ public class JobConfig implements Serializable {
     private final List<ResourceConfig> resourceConfigs = new ArrayList<>();
     private boolean autoRestartEnabled = true;
     private int maxWatermarkRetainMillis = -1;
+    private long latencyMarkerIntervalMillis;
     private JobClassLoaderFactory classLoaderFactory;
 
     /**
@@ -232,6 +233,41 @@ public class JobConfig implements Serializable {
         return maxWatermarkRetainMillis;
     }
 
+    /**
+     * Sets the interval in milliseconds at which the source processors emit
+     * latency markers. A latency marker carries the wall-clock time of its
+     * emission and travels through the DAG along with the data items,
+     * including across members. Each processor records the time the
+     * markers took to reach it into a histogram, so the histogram of a sink
+     * shows the source-to-sink processing latency. The percentiles are
+     * available in the {@link com.hazelcast.jet.Job#getMetrics() job metrics}
+     * as {@code latency.p50}, {@code latency.p99}, {@code latency.p999} and
+     * {@code latency.max}, in milliseconds.
+     * <p>
+     * A processor forwards only the newest of the markers it received, so
+     * their number doesn't multiply along the DAG. Since the markers are
+     * timestamped with the wall clock, the latency measured across members
+     * includes the skew of their clocks.
+     * <p>
+     * Default value is 0, which disables the latency markers.
+     *
+     * @return {@code this} instance for fluent API
+     */
+    @Nonnull
+    public JobConfig setLatencyMarkerIntervalMillis(long intervalMillis) {
+        Preconditions.checkNotNegative(intervalMillis, "intervalMillis can't be negative");
+        this.latencyMarkerIntervalMillis = intervalMillis;
+        return this;
+    }
+
+    /**
+     * Returns the configured {@link #setLatencyMarkerIntervalMillis(long)
+     * latency marker interval}.
+     */
+    public long getLatencyMarkerIntervalMillis() {
+        return latencyMarkerIntervalMillis;
+    }
+
     /**
      * Adds the supplied classes to the list of resources that will be
      * available on the job's classpath while it's executing in the Jet
@@ -17,6 +17,7 @@
 package com.hazelcast.jet.core;
 
 import com.hazelcast.jet.config.EdgeConfig;
+import com.hazelcast.jet.function.DistributedBiConsumer;
 import com.hazelcast.jet.function.DistributedFunction;
 import com.hazelcast.jet.impl.MasterContext;
 import com.hazelcast.jet.impl.SerializationConstants;
@@ -27,6 +28,7 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.util.UuidUtil;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Map;
@@ -72,6 +74,8 @@ public class Edge implements IdentifiedDataSerializable {
 
     private EdgeConfig config;
 
+    private DistributedBiConsumer<?, ?> senderCombineFn;
+
     protected Edge() {
     }
 
@@ -335,6 +339,43 @@ public class Edge implements IdentifiedDataSerializable {
         return isDistributed;
     }
 
+    /**
+     * Declares that the items on this edge are {@code Map.Entry<K, A>}
+     * pairs of a grouping key and an accumulator, such as those emitted by
+     * {@link com.hazelcast.jet.core.processor.Processors#accumulateByKeyP
+     * accumulateByKeyP()}, and that the entries with equal keys can be
+     * merged using the given function, typically the aggregate operation's
+     * {@link com.hazelcast.jet.aggregate.AggregateOperation#combineFn()
+     * combineFn}. On a distributed edge, the entries emitted by all the local
+     * upstream processors are then merged before being sent to another
+     * member, reducing the network traffic when several local processors
+     * emit accumulators for the same key. Only the entries available at the
+     * moment of sending are merged, so the receiver must still be able to
+     * combine several entries for the same key.
+     * <p>
+     * The function must merge its right-hand argument into the left-hand
+     * one, the left-hand one is then sent. A {@link
+     * com.hazelcast.jet.datamodel.TimestampedEntry TimestampedEntry} is only
+     * merged with entries that have the same key and timestamp. Items that
+     * aren't {@code Map.Entry} instances are sent unchanged. This setting has
+     * no effect on a non-distributed edge.
+     */
+    @Nonnull
+    public <A> Edge combinedBeforeSending(@Nonnull DistributedBiConsumer<? super A, ? super A> combineFn) {
+        checkSerializable(combineFn, "combineFn");
+        this.senderCombineFn = combineFn;
+        return this;
+    }
+
+    /**
+     * Returns the function set with {@link #combinedBeforeSending}, or
+     * {@code null} if there's none.
+     */
+    @Nullable
+    public DistributedBiConsumer<?, ?> getSenderCombineFn() {
+        return senderCombineFn;
+    }
+
     /**
      * Returns the {@code EdgeConfig} instance associated with this edge.
      */
@@ -386,6 +427,9 @@ public class Edge implements IdentifiedDataSerializable {
         if (getPriority() != 0) {
             b.append(".priority(").append(getPriority()).append(')');
         }
+        if (getSenderCombineFn() != null) {
+            b.append(".combinedBeforeSending(?)");
+        }
         return b.toString();
     }
 
@@ -423,6 +467,7 @@ public class Edge implements IdentifiedDataSerializable {
         out.writeObject(getRoutingPolicy());
         CustomClassLoadedObject.write(out, getPartitioner());
         out.writeObject(getConfig());
+        CustomClassLoadedObject.write(out, getSenderCombineFn());
     }
 
     @Override
@@ -436,6 +481,7 @@ public class Edge implements IdentifiedDataSerializable {
         routingPolicy = in.readObject();
         partitioner = CustomClassLoadedObject.read(in);
         config = in.readObject();
+        senderCombineFn = CustomClassLoadedObject.read(in);
     }
 
     @Override
@@ -65,6 +65,21 @@ public interface Inbox {
         return drained;
     }
 
+    /**
+     * Drains at most {@code target.length} elements into the provided array,
+     * starting at index 0.
+     *
+     * @param target the array to drain this object's items into
+     * @return the number of elements actually drained
+     */
+    default int drainTo(Object[] target) {
+        int drained = 0;
+        for (Object o; drained < target.length && (o = poll()) != null; drained++) {
+            target[drained] = o;
+        }
+        return drained;
+    }
+
     /**
      * Passes each of this object's items to the supplied consumer until it is empty.
      *
@@ -25,6 +25,7 @@ import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import static com.hazelcast.jet.impl.SerializationConstants.DAG;
 import static com.hazelcast.jet.impl.SerializationConstants.EDGE;
 import static com.hazelcast.jet.impl.SerializationConstants.APPLY_FN_ENTRY_PROCESSOR;
+import static com.hazelcast.jet.impl.SerializationConstants.JOB_METRICS;
 import static com.hazelcast.jet.impl.SerializationConstants.VERTEX;
 
 /**
@@ -55,6 +56,8 @@ public final class JetDataSerializerHook implements DataSerializerHook {
                     return new Vertex();
                 case APPLY_FN_ENTRY_PROCESSOR:
                     return new ApplyFnEntryProcessor();
+                case JOB_METRICS:
+                    return new JobMetrics();
                 default:
                     throw new IllegalArgumentException("Unknown type id " + typeId);
             }
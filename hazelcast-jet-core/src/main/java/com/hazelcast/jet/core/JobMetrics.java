@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.core;
+
+import com.hazelcast.jet.impl.SerializationConstants;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A snapshot of the runtime metrics of a running job, taken from all the
+ * members executing it. Each metric is a named {@code long} value. The
+ * name consists of the address of the member, the processor, sender or
+ * receiver tasklet the metric belongs to and the name of the metric,
+ * for example:
+ * <pre>
+ * [127.0.0.1]:5701/map#0.callCount
+ * [127.0.0.1]:5701/map#0.inbound.0.receivedCount
+ * [127.0.0.1]:5701/map#0.outbound.0.emittedCount
+ * [127.0.0.1]:5701/sender.reduce#0.[127.0.0.1]:5702.sentCount
+ * </pre>
+ * The processor index in a name is the local index of the processor on
+ * the member. Counters start at zero when the job execution starts, a
+ * restarted job starts counting anew.
+ */
+public final class JobMetrics implements IdentifiedDataSerializable {
+
+    private static final JobMetrics EMPTY = new JobMetrics(new TreeMap<>());
+
+    private Map<String, Long> metrics;
+
+    JobMetrics() {
+    }
+
+    private JobMetrics(Map<String, Long> metrics) {
+        this.metrics = unmodifiableMap(metrics);
+    }
+
+    /**
+     * Returns an empty {@code JobMetrics} object.
+     */
+    @Nonnull
+    public static JobMetrics empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a {@code JobMetrics} object with the given metrics.
+     */
+    @Nonnull
+    public static JobMetrics of(@Nonnull Map<String, Long> metrics) {
+        return new JobMetrics(new TreeMap<>(metrics));
+    }
+
+    /**
+     * Returns the names of all the metrics, in alphabetical order.
+     */
+    @Nonnull
+    public Set<String> getMetricNames() {
+        return metrics.keySet();
+    }
+
+    /**
+     * Returns the value of the metric with the given name or {@code null},
+     * if there's no such metric.
+     */
+    @Nullable
+    public Long getMetric(@Nonnull String name) {
+        return metrics.get(name);
+    }
+
+    /**
+     * Returns the sum of the values of all the metrics whose names end with
+     * the given suffix. For example, {@code sum(".callCount")} returns the
+     * total number of calls to all the processors of the job.
+     */
+    public long sum(@Nonnull String nameSuffix) {
+        long sum = 0;
+        for (Entry<String, Long> e : metrics.entrySet()) {
+            if (e.getKey().endsWith(nameSuffix)) {
+                sum += e.getValue();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns all the metrics as an unmodifiable map sorted by metric name.
+     */
+    @Nonnull
+    public Map<String, Long> toMap() {
+        return metrics;
+    }
+
+    /**
+     * Returns a new {@code JobMetrics} object containing the metrics of both
+     * this and the given object.
+     */
+    @Nonnull
+    public JobMetrics merge(@Nonnull JobMetrics other) {
+        Map<String, Long> merged = new TreeMap<>(metrics);
+        merged.putAll(other.metrics);
+        return new JobMetrics(merged);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SerializationConstants.FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return SerializationConstants.JOB_METRICS;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(metrics.size());
+        for (Entry<String, Long> e : metrics.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeLong(e.getValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        Map<String, Long> map = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(in.readUTF(), in.readLong());
+        }
+        metrics = unmodifiableMap(map);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof JobMetrics && metrics.equals(((JobMetrics) o).metrics);
+    }
+
+    @Override
+    public int hashCode() {
+        return metrics.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("JobMetrics{");
+        metrics.forEach((name, value) -> sb.append("\n    ").append(name).append('=').append(value));
+        return sb.append(metrics.isEmpty() ? "}" : "\n}").toString();
+    }
+}
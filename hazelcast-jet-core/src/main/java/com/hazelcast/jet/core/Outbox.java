@@ -18,13 +18,16 @@ package com.hazelcast.jet.core;
 
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
+import java.util.Collection;
 
 /**
  * Data sink for a {@link Processor}. The outbox consists of individual
  * output buckets, one per outbound edge of the vertex represented by the
  * associated processor and one for the snapshot state. The processor must
  * deliver its output items separated by destination edge, into the outbox
- * by calling {@link #offer(int, Object)} or {@link #offer(Object)}.
+ * by calling {@link #offer(int, Object)} or {@link #offer(Object)}. A batch
+ * of items can be delivered with a single call to {@link #offerAll(int,
+ * Object[], int, int)}.
  * <p>
  * To save its current state to the snapshot, it must call {@link
  * #offerToSnapshot(Object, Object)} from its implementation of {@link
@@ -66,6 +69,49 @@ public interface Outbox {
     @CheckReturnValue
     boolean offer(@Nonnull int[] ordinals, @Nonnull Object item);
 
+    /**
+     * Offers the items {@code items[from]} to {@code items[to - 1]} to the
+     * bucket with the supplied ordinal, in order. Compared to calling {@link
+     * #offer(int, Object)} for each item, the per-item overhead is lower.
+     * <p>
+     * Returns the number of accepted items. If it is less than {@code to -
+     * from}, the outbox is full. The processor must return from its
+     * callback method and, when called again, continue with the first item
+     * that wasn't accepted.
+     *
+     * @param ordinal output ordinal number or -1 to offer to all ordinals
+     * @return the number of items the outbox accepted
+     */
+    @CheckReturnValue
+    default int offerAll(int ordinal, @Nonnull Object[] items, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!offer(ordinal, items[i])) {
+                return i - from;
+            }
+        }
+        return to - from;
+    }
+
+    /**
+     * Offers the items of the collection to the bucket with the supplied
+     * ordinal, in the collection's iteration order. See {@link
+     * #offerAll(int, Object[], int, int)} for more details.
+     *
+     * @param ordinal output ordinal number or -1 to offer to all ordinals
+     * @return the number of leading items the outbox accepted
+     */
+    @CheckReturnValue
+    default int offerAll(int ordinal, @Nonnull Collection<?> items) {
+        int accepted = 0;
+        for (Object item : items) {
+            if (!offer(ordinal, item)) {
+                break;
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+
     /**
      * Offers the given key and value pair to the processor's snapshot
      * storage.
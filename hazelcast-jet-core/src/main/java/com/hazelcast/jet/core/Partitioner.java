@@ -16,6 +16,8 @@
 
 package com.hazelcast.jet.core;
 
+import com.hazelcast.jet.impl.util.PartitionHash;
+
 import javax.annotation.Nonnull;
 import java.io.Serializable;
 
@@ -93,6 +95,12 @@ public interface Partitioner<T> extends Serializable {
      * Hazelcast's {@code MurmurHash}-based algorithm to retrieve the partition
      * ID. This is quite a bit of work, but has stable results across all JVM
      * processes, making it a safe default.
+     * <p>
+     * For {@code String}s, boxed primitives and {@link
+     * com.hazelcast.jet.datamodel.Tuple2 Tuple2}s of those the partitioner
+     * computes the same hash directly from the value, without serializing it.
+     * The results are identical, so the items are still co-located with the
+     * IMap entries with the same key.
      */
     static Partitioner<Object> defaultPartitioner() {
         return new Default();
@@ -107,16 +115,30 @@ public interface Partitioner<T> extends Serializable {
 
         transient DefaultPartitionStrategy defaultPartitioning;
 
+        // 0 = not yet checked, 1 = fast path enabled, -1 = disabled. Racing
+        // threads would just repeat the same check.
+        private transient int fastPathState;
+
         Default() {
         }
 
         @Override
         public void init(@Nonnull DefaultPartitionStrategy defaultPartitioning) {
             this.defaultPartitioning = defaultPartitioning;
+            this.fastPathState = 0;
         }
 
         @Override
         public int getPartition(@Nonnull Object item, int partitionCount) {
+            if (fastPathState == 0) {
+                fastPathState = PartitionHash.matches(defaultPartitioning, partitionCount) ? 1 : -1;
+            }
+            if (fastPathState > 0) {
+                int partitionId = PartitionHash.partitionId(item, partitionCount);
+                if (partitionId != PartitionHash.UNKNOWN_TYPE) {
+                    return partitionId;
+                }
+            }
             return defaultPartitioning.getPartition(item);
         }
     }
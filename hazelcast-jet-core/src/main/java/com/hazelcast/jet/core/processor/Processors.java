@@ -37,8 +37,10 @@ import com.hazelcast.jet.function.DistributedPredicate;
 import com.hazelcast.jet.function.DistributedSupplier;
 import com.hazelcast.jet.function.DistributedToLongFunction;
 import com.hazelcast.jet.function.KeyedWindowResultFunction;
+import com.hazelcast.jet.impl.processor.AsyncTransformUsingContextP;
 import com.hazelcast.jet.impl.processor.GroupP;
 import com.hazelcast.jet.impl.processor.InsertWatermarksP;
+import com.hazelcast.jet.impl.processor.LongKeyGroupP;
 import com.hazelcast.jet.impl.processor.SessionWindowP;
 import com.hazelcast.jet.impl.processor.SlidingWindowP;
 import com.hazelcast.jet.impl.processor.TransformP;
@@ -50,6 +52,7 @@ import com.hazelcast.jet.pipeline.ContextFactory;
 import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import static com.hazelcast.jet.core.TimestampKind.EVENT;
 import static com.hazelcast.jet.function.DistributedFunction.identity;
@@ -374,6 +377,87 @@ public final class Processors {
                 mapToOutputFn);
     }
 
+    /**
+     * Returns a supplier of processors for a vertex that groups items by a
+     * primitive {@code long} key and performs the provided aggregate
+     * operation on each group. It's equivalent to {@link #aggregateByKeyP},
+     * but it doesn't box the keys and stores the accumulators in a map with
+     * open addressing, which considerably reduces the memory footprint of
+     * the aggregation state when there are many distinct keys. The key is
+     * boxed only once per key, when passing it to {@code mapToOutputFn}.
+     * <p>
+     * This processor has state, but does not save it to snapshot. On job
+     * restart, the state will be lost.
+     *
+     * @param keyFns functions that compute the grouping key
+     * @param aggrOp the aggregate operation
+     * @param mapToOutputFn function that returns the item to emit
+     * @param <A> type of accumulator returned from {@code aggrOp.createAccumulatorFn()}
+     * @param <R> type of the result returned from {@code aggrOp.finishAccumulationFn()}
+     * @param <OUT> type of the item to emit
+     */
+    @Nonnull
+    public static <A, R, OUT> DistributedSupplier<Processor> aggregateByLongKeyP(
+            @Nonnull List<DistributedToLongFunction<?>> keyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull DistributedBiFunction<? super Long, ? super R, OUT> mapToOutputFn
+    ) {
+        return () -> new LongKeyGroupP<>(keyFns, aggrOp, mapToOutputFn);
+    }
+
+    /**
+     * Returns a supplier of processors for the first-stage vertex in a
+     * two-stage group-and-aggregate setup with a primitive {@code long}
+     * grouping key. It's equivalent to {@link #accumulateByKeyP}, but it
+     * doesn't box the keys while accumulating (see {@link
+     * #aggregateByLongKeyP}). After exhausting all its input it emits one
+     * {@code Map.Entry<Long, A>} per distinct key, so its output can be
+     * consumed by {@link #combineByKeyP} or {@link #combineByLongKeyP}.
+     * <p>
+     * This processor has state, but does not save it to snapshot. On job
+     * restart, the state will be lost.
+     *
+     * @param keyFns functions that compute the grouping key
+     * @param aggrOp the aggregate operation to perform
+     * @param <A> type of accumulator returned from {@code aggrOp.createAccumulatorFn()}
+     */
+    @Nonnull
+    public static <A> DistributedSupplier<Processor> accumulateByLongKeyP(
+            @Nonnull List<DistributedToLongFunction<?>> keyFns,
+            @Nonnull AggregateOperation<A, ?> aggrOp
+    ) {
+        return () -> new LongKeyGroupP<>(keyFns, aggrOp.withFinishFn(identity()), Util::entry);
+    }
+
+    /**
+     * Returns a supplier of processors for the second-stage vertex in a
+     * two-stage group-and-aggregate setup with a primitive {@code long}
+     * grouping key. It's equivalent to {@link #combineByKeyP}, but it
+     * stores the accumulators by the unboxed key (see {@link
+     * #aggregateByLongKeyP}). It consumes the {@code Map.Entry<Long, A>}
+     * items emitted by {@link #accumulateByLongKeyP}.
+     * <p>
+     * This processor has state, but does not save it to snapshot. On job
+     * restart, the state will be lost.
+     *
+     * @param aggrOp the aggregate operation to perform
+     * @param mapToOutputFn function that returns the item to emit
+     * @param <A> type of accumulator returned from {@code aggrOp.createAccumulatorFn()}
+     * @param <R> type of the finished result returned from
+     *            {@code aggrOp.finishAccumulationFn()}
+     * @param <OUT> type of the item to emit
+     */
+    @Nonnull
+    public static <A, R, OUT> DistributedSupplier<Processor> combineByLongKeyP(
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull DistributedBiFunction<? super Long, ? super R, OUT> mapToOutputFn
+    ) {
+        return () -> new LongKeyGroupP<>(
+                (DistributedToLongFunction<Entry<Long, A>>) Entry::getKey,
+                aggrOp.withCombiningAccumulateFn(Entry<Long, A>::getValue),
+                mapToOutputFn);
+    }
+
     /**
      * Returns a supplier of processors for a vertex that aggregates events
      * into a sliding window in a single stage (see the {@link Processors
@@ -774,6 +858,67 @@ public final class Processors {
         });
     }
 
+    /**
+     * Asynchronous version of {@link #mapUsingContextP}: the {@code
+     * mapAsyncFn} returns a {@code CompletableFuture<R>} instead of just
+     * {@code R}. The vertex emits the result when the future completes,
+     * unless it's {@code null}. The function must not return a {@code null}
+     * future.
+     * <p>
+     * The number of calls each processor keeps in flight and whether it
+     * emits the results in the input order are configured in the {@code
+     * contextFactory}, see {@link ContextFactory#withMaxPendingCallsPerProcessor}
+     * and {@link ContextFactory#withUnorderedAsyncResponses}.
+     * <p>
+     * While it's allowed to store some local state in the context object, it
+     * won't be saved to the snapshot and will misbehave in a fault-tolerant
+     * stream processing job.
+     *
+     * @param contextFactory the context factory
+     * @param mapAsyncFn a stateless mapping function
+     * @param <C> type of context object
+     * @param <T> type of received item
+     * @param <R> type of emitted item
+     */
+    @Nonnull
+    public static <C, T, R> ProcessorSupplier mapUsingContextAsyncP(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<R>> mapAsyncFn
+    ) {
+        return AsyncTransformUsingContextP.<C, T, R>supplier(contextFactory, (context, item) ->
+                mapAsyncFn.apply(context, item).thenApply(r -> r != null ? Traverser.over(r) : null));
+    }
+
+    /**
+     * Asynchronous version of {@link #filterUsingContextP}: the {@code
+     * filterAsyncFn} returns a {@code CompletableFuture<Boolean>} instead of
+     * just a {@code boolean}. The vertex emits the item when the future
+     * completes with {@code true}. The function must not return a {@code
+     * null} future.
+     * <p>
+     * The number of calls each processor keeps in flight and whether it
+     * emits the items in the input order are configured in the {@code
+     * contextFactory}, see {@link ContextFactory#withMaxPendingCallsPerProcessor}
+     * and {@link ContextFactory#withUnorderedAsyncResponses}.
+     * <p>
+     * While it's allowed to store some local state in the context object, it
+     * won't be saved to the snapshot and will misbehave in a fault-tolerant
+     * stream processing job.
+     *
+     * @param contextFactory the context factory
+     * @param filterAsyncFn a stateless predicate to test each received item against
+     * @param <C> type of context object
+     * @param <T> type of received item
+     */
+    @Nonnull
+    public static <C, T> ProcessorSupplier filterUsingContextAsyncP(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<Boolean>> filterAsyncFn
+    ) {
+        return AsyncTransformUsingContextP.<C, T, T>supplier(contextFactory, (context, item) ->
+                filterAsyncFn.apply(context, item).thenApply(pass -> pass ? Traverser.over(item) : null));
+    }
+
     /**
      * Returns a supplier of processors for a vertex that applies the provided
      * item-to-traverser mapping function to each received item and emits all
@@ -116,6 +116,11 @@ public final class TestOutbox implements Outbox {
         return outbox.offer(ordinals, item);
     }
 
+    @Override
+    public int offerAll(int ordinal, @Nonnull Object[] items, int from, int to) {
+        return outbox.offerAll(ordinal, items, from, to);
+    }
+
     @Override
     public boolean offerToSnapshot(@Nonnull Object key, @Nonnull Object value) {
         return outbox.offerToSnapshot(key, value);
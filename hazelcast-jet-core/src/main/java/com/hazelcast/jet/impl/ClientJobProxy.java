@@ -20,6 +20,7 @@ import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.JetCancelJobCodec;
 import com.hazelcast.client.impl.protocol.codec.JetGetJobConfigCodec;
+import com.hazelcast.client.impl.protocol.codec.JetGetJobMetricsCodec;
 import com.hazelcast.client.impl.protocol.codec.JetGetJobStatusCodec;
 import com.hazelcast.client.impl.protocol.codec.JetGetJobSubmissionTimeCodec;
 import com.hazelcast.client.impl.protocol.codec.JetJoinSubmittedJobCodec;
@@ -31,6 +32,7 @@ import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.Member;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.JobMetrics;
 import com.hazelcast.jet.core.JobStatus;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.Address;
@@ -71,6 +73,16 @@ public class ClientJobProxy extends AbstractJobProxy<HazelcastClientInstanceImpl
         });
     }
 
+    @Nonnull @Override
+    public JobMetrics getMetrics() {
+        ClientMessage request = JetGetJobMetricsCodec.encodeRequest(getId());
+        return uncheckCall(() -> {
+            ClientMessage response = invocation(request, masterAddress()).invoke().get();
+            Data metricsData = JetGetJobMetricsCodec.decodeResponse(response).response;
+            return serializationService().toObject(metricsData);
+        });
+    }
+
     @Override
     public boolean restart() {
         try {
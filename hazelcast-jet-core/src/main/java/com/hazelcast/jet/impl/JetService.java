@@ -41,8 +41,12 @@ import com.hazelcast.spi.MembershipServiceEvent;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PacketHandler;
+import com.hazelcast.spi.properties.GroupProperty;
 
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
@@ -93,7 +97,8 @@ public class JetService
 
         jetInstance = new JetInstanceImpl((HazelcastInstanceImpl) engine.getHazelcastInstance(), config);
         taskletExecutionService = new TaskletExecutionService(nodeEngine.getHazelcastInstance(),
-                config.getInstanceConfig().getCooperativeThreadCount());
+                config.getInstanceConfig());
+        taskletExecutionService.registerMetrics(this.nodeEngine.getMetricsRegistry());
 
         SnapshotRepository snapshotRepository = new SnapshotRepository(jetInstance);
         jobRepository = new JobRepository(jetInstance, snapshotRepository);
@@ -107,6 +112,7 @@ public class JetService
         ExceptionUtil.registerJetExceptions(clientEngine.getClientExceptionFactory());
 
         jobCoordinationService.init();
+        registerJobMetricsMBean();
 
         JetBuildInfo jetBuildInfo = BuildInfoProvider.getBuildInfo().getJetBuildInfo();
         logger.info(String.format("Starting Jet %s (%s - %s)",
@@ -128,6 +134,35 @@ public class JetService
         jobExecutionService.reset("shutdown", HazelcastInstanceNotActiveException::new);
         networking.shutdown();
         taskletExecutionService.shutdown();
+        nodeEngine.getMetricsRegistry().deregister(taskletExecutionService);
+        unregisterJobMetricsMBean();
+    }
+
+    private void registerJobMetricsMBean() {
+        if (!nodeEngine.getProperties().getBoolean(GroupProperty.ENABLE_JMX)) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new JobMetricsMBean(nodeEngine.getMetricsRegistry()), jobMetricsMBeanName());
+        } catch (Exception e) {
+            logger.warning("Failed to register the job metrics MBean", e);
+        }
+    }
+
+    private void unregisterJobMetricsMBean() {
+        if (!nodeEngine.getProperties().getBoolean(GroupProperty.ENABLE_JMX)) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(jobMetricsMBeanName());
+        } catch (Exception e) {
+            logger.fine("Failed to unregister the job metrics MBean", e);
+        }
+    }
+
+    private ObjectName jobMetricsMBeanName() throws MalformedObjectNameException {
+        return JobMetricsMBean.objectName(nodeEngine.getHazelcastInstance().getName());
     }
 
     @Override
@@ -23,6 +23,7 @@ import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.config.JetConfig;
 import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.JobMetrics;
 import com.hazelcast.jet.core.JobNotFoundException;
 import com.hazelcast.jet.core.JobStatus;
 import com.hazelcast.jet.core.TopologyChangedException;
@@ -400,6 +401,29 @@ public class JobCoordinationService {
         throw new JobNotFoundException(jobId);
     }
 
+    /**
+     * Returns a future completed with the metrics of the current execution of
+     * the given job, collected from all its participants. The metrics are
+     * empty if the job isn't running. Fails with {@link JobNotFoundException}
+     * if the requested job is not found.
+     */
+    public CompletableFuture<JobMetrics> getJobMetrics(long jobId) {
+        if (!isMaster()) {
+            throw new JetException("Cannot query metrics of Job " + idToString(jobId) + ". Master address: "
+                    + nodeEngine.getClusterService().getMasterAddress());
+        }
+
+        MasterContext masterContext = masterContexts.get(jobId);
+        if (masterContext != null) {
+            return masterContext.collectMetrics();
+        }
+
+        if (jobRepository.getJobRecord(jobId) == null && jobRepository.getJobResult(jobId) == null) {
+            throw new JobNotFoundException(jobId);
+        }
+        return CompletableFuture.completedFuture(JobMetrics.empty());
+    }
+
     /**
      * Restarts execution of the given job.
      *
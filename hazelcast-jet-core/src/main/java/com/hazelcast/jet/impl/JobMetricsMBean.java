@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl;
+
+import com.hazelcast.internal.metrics.MetricsRegistry;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * Exposes the metrics of the jobs executing on the member through JMX.
+ * Each metric registered under the {@code jet.job.} prefix is a read-only
+ * {@code long} attribute. The set of attributes changes as job executions
+ * start and complete.
+ */
+public class JobMetricsMBean implements DynamicMBean {
+
+    private static final String PREFIX = "jet.job.";
+
+    private final MetricsRegistry metricsRegistry;
+
+    JobMetricsMBean(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    static ObjectName objectName(String instanceName) throws MalformedObjectNameException {
+        return new ObjectName("com.hazelcast.jet:type=JobMetrics,instance=" + ObjectName.quote(instanceName));
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Long value = readMetric(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+        throw new UnsupportedOperationException("Job metrics are read-only");
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String name : attributes) {
+            Long value = readMetric(name);
+            if (value != null) {
+                list.add(new Attribute(name, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException(actionName);
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        MBeanAttributeInfo[] attributes = metricsRegistry.getNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .sorted()
+                .map(name -> new MBeanAttributeInfo(name, "long", name, true, false, false))
+                .toArray(MBeanAttributeInfo[]::new);
+        return new MBeanInfo(getClass().getName(), "Metrics of the jobs executing on this member", attributes,
+                null, new MBeanOperationInfo[0], new MBeanNotificationInfo[0]);
+    }
+
+    /**
+     * Reads a single metric without rendering the others, returns {@code
+     * null} if there's no such job metric.
+     */
+    private Long readMetric(String name) {
+        if (!name.startsWith(PREFIX) || !metricsRegistry.getNames().contains(name)) {
+            return null;
+        }
+        return metricsRegistry.newLongGauge(name).read();
+    }
+}
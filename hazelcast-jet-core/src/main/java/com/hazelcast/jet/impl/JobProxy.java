@@ -19,9 +19,11 @@ package com.hazelcast.jet.impl;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.JobMetrics;
 import com.hazelcast.jet.core.JobStatus;
 import com.hazelcast.jet.impl.operation.CancelJobOperation;
 import com.hazelcast.jet.impl.operation.GetJobConfigOperation;
+import com.hazelcast.jet.impl.operation.GetJobMetricsOperation;
 import com.hazelcast.jet.impl.operation.GetJobStatusOperation;
 import com.hazelcast.jet.impl.operation.GetJobSubmissionTimeOperation;
 import com.hazelcast.jet.impl.operation.JoinSubmittedJobOperation;
@@ -62,6 +64,15 @@ public class JobProxy extends AbstractJobProxy<NodeEngineImpl> {
         );
     }
 
+    @Nonnull @Override
+    public JobMetrics getMetrics() {
+        return uncheckCall(
+                () -> this.<JobMetrics>invokeOp(
+                        new GetJobMetricsOperation(getId())
+                ).get()
+        );
+    }
+
     @Override
     public boolean restart() {
         try {
@@ -24,6 +24,7 @@ import com.hazelcast.jet.config.JobConfig;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.DAG;
 import com.hazelcast.jet.core.Edge;
+import com.hazelcast.jet.core.JobMetrics;
 import com.hazelcast.jet.core.JobStatus;
 import com.hazelcast.jet.core.TopologyChangedException;
 import com.hazelcast.jet.core.Vertex;
@@ -31,6 +32,7 @@ import com.hazelcast.jet.impl.exception.JobRestartRequestedException;
 import com.hazelcast.jet.impl.execution.init.ExecutionPlan;
 import com.hazelcast.jet.impl.operation.CancelExecutionOperation;
 import com.hazelcast.jet.impl.operation.CompleteExecutionOperation;
+import com.hazelcast.jet.impl.operation.GetLocalJobMetricsOperation;
 import com.hazelcast.jet.impl.operation.InitExecutionOperation;
 import com.hazelcast.jet.impl.operation.SnapshotOperation;
 import com.hazelcast.jet.impl.operation.StartExecutionOperation;
@@ -380,6 +382,32 @@ public class MasterContext {
         return grouped;
     }
 
+    /**
+     * Collects the metrics of the current execution from all its participants.
+     * Completes the returned future with empty metrics if the job isn't
+     * running. Members that fail to respond are left out.
+     */
+    CompletableFuture<JobMetrics> collectMetrics() {
+        CompletableFuture<JobMetrics> future = new CompletableFuture<>();
+        if (jobStatus() != RUNNING) {
+            future.complete(JobMetrics.empty());
+            return future;
+        }
+        long executionId = this.executionId;
+        invoke(plan -> new GetLocalJobMetricsOperation(jobId, executionId), responses -> {
+            JobMetrics metrics = JobMetrics.empty();
+            for (Entry<MemberInfo, Object> e : responses.entrySet()) {
+                if (e.getValue() instanceof JobMetrics) {
+                    metrics = metrics.merge((JobMetrics) e.getValue());
+                } else {
+                    logger.fine("Cannot get metrics of " + jobIdString() + " from " + e.getKey() + ": " + e.getValue());
+                }
+            }
+            future.complete(metrics);
+        }, null);
+        return future;
+    }
+
     // If a participant leaves or the execution fails in a participant locally, executions are cancelled
     // on the remaining participants and the callback is completed after all invocations return.
     private void invokeStartExecution() {
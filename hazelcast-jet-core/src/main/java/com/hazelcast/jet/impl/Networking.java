@@ -20,6 +20,7 @@ import com.hazelcast.jet.impl.execution.ExecutionContext;
 import com.hazelcast.jet.impl.execution.SenderTasklet;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.Connection;
@@ -28,6 +29,7 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ScheduledFuture;
@@ -44,6 +46,14 @@ import static com.hazelcast.nio.Packet.FLAG_URGENT;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class Networking {
+
+    /**
+     * The size of the header {@link #createStreamPacketHeader} writes in
+     * front of the items in a stream packet: execution ID, destination vertex
+     * ID and ordinal.
+     */
+    public static final int STREAM_PACKET_HEADER_SIZE = Bits.LONG_SIZE_IN_BYTES + 2 * Bits.INT_SIZE_IN_BYTES;
+
     private static final byte[] EMPTY_BYTES = new byte[0];
 
     private final NodeEngineImpl nodeEngine;
@@ -71,13 +81,16 @@ public class Networking {
         handleFlowControlPacket(packet.getConn().getEndPoint(), packet.toByteArray());
     }
 
-    private void handleStreamPacket(Packet packet) throws IOException {
-        BufferObjectDataInput in = createObjectDataInput(nodeEngine, packet.toByteArray());
-        long executionId = in.readLong();
-        int vertexId = in.readInt();
-        int ordinal = in.readInt();
+    private void handleStreamPacket(Packet packet) {
+        // Read the header directly from the payload. The receiver tasklet
+        // deserializes the items using its own, reused, data input.
+        byte[] payload = packet.toByteArray();
+        boolean bigEndian = nodeEngine.getSerializationService().getByteOrder() == ByteOrder.BIG_ENDIAN;
+        long executionId = Bits.readLong(payload, 0, bigEndian);
+        int vertexId = Bits.readInt(payload, Bits.LONG_SIZE_IN_BYTES, bigEndian);
+        int ordinal = Bits.readInt(payload, Bits.LONG_SIZE_IN_BYTES + Bits.INT_SIZE_IN_BYTES, bigEndian);
         ExecutionContext executionContext = jobExecutionService.getExecutionContext(executionId);
-        executionContext.handlePacket(vertexId, ordinal, packet.getConn().getEndPoint(), in);
+        executionContext.handlePacket(vertexId, ordinal, packet.getConn().getEndPoint(), payload);
     }
 
     public static byte[] createStreamPacketHeader(NodeEngine nodeEngine, long executionId,
@@ -86,6 +99,7 @@ public class Networking {
             out.writeLong(executionId);
             out.writeInt(destinationVertexId);
             out.writeInt(ordinal);
+            assert out.position() == STREAM_PACKET_HEADER_SIZE : "unexpected header size: " + out.position();
             return out.toByteArray();
         } catch (IOException e) {
             throw sneakyThrow(e);
@@ -40,6 +40,8 @@ public final class SerializationConstants {
     public static final int EDGE = 2;
     /** Serialization ID of the {@link ApplyFnEntryProcessor} class. */
     public static final int APPLY_FN_ENTRY_PROCESSOR = 3;
+    /** Serialization ID of the {@link com.hazelcast.jet.core.JobMetrics} class. */
+    public static final int JOB_METRICS = 4;
 
     private SerializationConstants() {
 
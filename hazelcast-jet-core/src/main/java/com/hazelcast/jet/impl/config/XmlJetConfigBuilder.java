@@ -26,6 +26,7 @@ import com.hazelcast.instance.BuildInfo;
 import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.instance.JetBuildInfo;
 import com.hazelcast.jet.config.EdgeConfig;
+import com.hazelcast.jet.config.IdleStrategyType;
 import com.hazelcast.jet.config.InstanceConfig;
 import com.hazelcast.jet.config.JetConfig;
 import com.hazelcast.logging.ILogger;
@@ -46,6 +47,7 @@ import static com.hazelcast.jet.impl.config.XmlJetConfigLocator.getJetConfigStre
 import static com.hazelcast.jet.impl.config.XmlJetConfigLocator.getMemberConfigStream;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.util.StringUtil.LINE_SEPARATOR;
+import static com.hazelcast.util.StringUtil.upperCaseInternal;
 
 /**
  * Loads the {@link JetConfig} using XML.
@@ -192,6 +194,21 @@ public final class XmlJetConfigBuilder extends AbstractConfigBuilder {
                 case "backup-count":
                     instanceConfig.setBackupCount(intValue(node));
                     break;
+                case "grouping-spill-threshold":
+                    instanceConfig.setGroupingSpillThreshold(intValue(node));
+                    break;
+                case "sort-spill-threshold":
+                    instanceConfig.setSortSpillThreshold(intValue(node));
+                    break;
+                case "cooperative-idle-strategy":
+                    instanceConfig.setCooperativeIdleStrategy(idleStrategyValue(node));
+                    break;
+                case "non-cooperative-idle-strategy":
+                    instanceConfig.setNonCooperativeIdleStrategy(idleStrategyValue(node));
+                    break;
+                case "idle-spin-count":
+                    instanceConfig.setIdleSpinCount(intValue(node));
+                    break;
                 default:
                     throw new AssertionError("Unrecognized XML element: " + name);
             }
@@ -212,6 +229,9 @@ public final class XmlJetConfigBuilder extends AbstractConfigBuilder {
                 case "receive-window-multiplier":
                     config.setReceiveWindowMultiplier(intValue(child));
                     break;
+                case "compression-enabled":
+                    config.setCompressionEnabled(booleanValue(child));
+                    break;
                 default:
                     throw new AssertionError("Unrecognized XML element: " + name);
             }
@@ -222,6 +242,14 @@ public final class XmlJetConfigBuilder extends AbstractConfigBuilder {
         return Integer.parseInt(stringValue(node));
     }
 
+    private boolean booleanValue(Node node) {
+        return Boolean.parseBoolean(stringValue(node).trim());
+    }
+
+    private IdleStrategyType idleStrategyValue(Node node) {
+        return IdleStrategyType.valueOf(upperCaseInternal(stringValue(node).trim()).replace('-', '_'));
+    }
+
     private String stringValue(Node node) {
         return getTextContent(node);
     }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The named {@link ProcCtx#completionSignal completion signals} of one job
+ * execution on this member. A signal can be set either only on this member
+ * or on all the members of the execution.
+ */
+public class CompletionSignals {
+
+    private final ConcurrentMap<String, AtomicBoolean> signals = new ConcurrentHashMap<>();
+    private final Consumer<String> signalOtherMembersFn;
+
+    /**
+     * Creates signals for an execution that runs only on this member.
+     */
+    public CompletionSignals() {
+        this(name -> { });
+    }
+
+    /**
+     * @param signalOtherMembersFn called with the name of a signal when it's
+     *                             first set on all members, it must set the
+     *                             signal on the other members
+     */
+    public CompletionSignals(@Nonnull Consumer<String> signalOtherMembersFn) {
+        this.signalOtherMembersFn = signalOtherMembersFn;
+    }
+
+    /**
+     * Returns the signal with the given name on this member.
+     */
+    @Nonnull
+    public AtomicBoolean get(@Nonnull String name) {
+        return signals.computeIfAbsent(name, x -> new AtomicBoolean());
+    }
+
+    /**
+     * Sets the signal with the given name on this member and, if it wasn't
+     * set already, on the other members of the execution.
+     */
+    public void setOnAllMembers(@Nonnull String name) {
+        if (!get(name).getAndSet(true)) {
+            signalOtherMembersFn.accept(name);
+        }
+    }
+}
@@ -127,7 +127,7 @@ public class ConcurrentInboundEdgeStream implements InboundEdgeStream {
                 }
             } else if (itemDetector.item instanceof SnapshotBarrier) {
                 observeBarrier(queueIndex, ((SnapshotBarrier) itemDetector.item).snapshotId());
-            } else if (result.isMadeProgress()) {
+            } else if (itemDetector.eventSeen) {
                 watermarkCoalescer.observeEvent(queueIndex);
             }
 
@@ -172,6 +172,18 @@ public class ConcurrentInboundEdgeStream implements InboundEdgeStream {
         return numActiveQueues == 0;
     }
 
+    @Override
+    public int queueSize() {
+        int size = 0;
+        for (int i = 0; i < conveyor.queueCount(); i++) {
+            QueuedPipe<Object> q = conveyor.queue(i);
+            if (q != null) {
+                size += q.size();
+            }
+        }
+        return size;
+    }
+
     /**
      * Drains the supplied queue into a {@code dest} collection, up to the next
      * {@link Watermark} or {@link SnapshotBarrier}. Also updates the {@code tracker} with new status.
@@ -198,14 +210,18 @@ public class ConcurrentInboundEdgeStream implements InboundEdgeStream {
      * Drains a concurrent conveyor's queue while watching for {@link Watermark}s
      * and {@link SnapshotBarrier}s.
      * When encountering either of them it prevents draining more items.
+     * {@link LatencyMarker}s are passed to the {@code dest} like the events,
+     * but don't count as events for the watermark coalescing.
      */
     private static final class ItemDetector implements Predicate<Object> {
         Predicate<Object> dest;
         BroadcastItem item;
+        boolean eventSeen;
 
         void reset(Predicate<Object> newDest) {
             dest = newDest;
             item = null;
+            eventSeen = false;
         }
 
         @Override
@@ -215,6 +231,7 @@ public class ConcurrentInboundEdgeStream implements InboundEdgeStream {
                 item = (BroadcastItem) o;
                 return false;
             }
+            eventSeen |= !(o instanceof LatencyMarker);
             return dest.test(o);
         }
     }
@@ -41,6 +41,15 @@ public class ConveyorCollector implements OutboundCollector {
         return offerToConveyor(item);
     }
 
+    @Override
+    public int offerAll(Object[] items, int from, int to) {
+        int i = from;
+        while (i < to && conveyor.offer(queueIndex, items[i])) {
+            i++;
+        }
+        return i - from;
+    }
+
     @Override
     public int[] getPartitions() {
         return partitions;
@@ -35,4 +35,13 @@ public class ConveyorCollectorWithPartition extends ConveyorCollector {
     public ProgressState offer(Object item) {
         return offer(item, -1);
     }
+
+    @Override
+    public int offerAll(Object[] items, int from, int to) {
+        int i = from;
+        while (i < to && offer(items[i]).isDone()) {
+            i++;
+        }
+        return i - from;
+    }
 }
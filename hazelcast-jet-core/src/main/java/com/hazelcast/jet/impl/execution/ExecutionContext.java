@@ -21,9 +21,9 @@ import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.impl.JetService;
 import com.hazelcast.jet.impl.execution.init.ExecutionPlan;
+import com.hazelcast.jet.impl.operation.SignalCompletionOperation;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
-import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
@@ -64,7 +64,7 @@ public class ExecutionContext {
     private List<ProcessorSupplier> procSuppliers = emptyList();
     private List<Processor> processors = emptyList();
 
-    private List<Tasklet> tasklets;
+    private List<Tasklet> tasklets = emptyList();
 
     // future which is completed only after all tasklets are completed and contains execution result
     private volatile CompletableFuture<Void> executionFuture;
@@ -75,6 +75,7 @@ public class ExecutionContext {
     private final NodeEngine nodeEngine;
     private final TaskletExecutionService execService;
     private SnapshotContext snapshotContext;
+    private final CompletionSignals completionSignals = new CompletionSignals(this::signalCompletionOnOtherMembers);
 
     public ExecutionContext(NodeEngine nodeEngine, TaskletExecutionService execService,
                             long jobId, long executionId, Address coordinator, Set<Address> participants) {
@@ -95,7 +96,7 @@ public class ExecutionContext {
         processors = plan.getProcessors();
         snapshotContext = new SnapshotContext(nodeEngine.getLogger(SnapshotContext.class), jobId, executionId,
                 plan.lastSnapshotId(), plan.getJobConfig().getProcessingGuarantee());
-        plan.initialize(nodeEngine, jobId, executionId, snapshotContext);
+        plan.initialize(nodeEngine, jobId, executionId, snapshotContext, completionSignals);
         snapshotContext.initTaskletCount(plan.getStoreSnapshotTaskletCount(), plan.getHigherPriorityVertexCount());
         receiverMap = unmodifiableMap(plan.getReceiverMap());
         senderMap = unmodifiableMap(plan.getSenderMap());
@@ -152,8 +153,17 @@ public class ExecutionContext {
                         + " encountered an exception in ProcessorSupplier.complete(), ignoring it", e);
             }
         }
+        for (Tasklet tasklet : tasklets) {
+            try {
+                tasklet.close();
+            } catch (Throwable e) {
+                logger.severe(jobAndExecutionId(jobId, executionId)
+                        + " encountered an exception in Tasklet.close(), ignoring it", e);
+            }
+        }
         MetricsRegistry metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
         processors.forEach(metricsRegistry::deregister);
+        tasklets.forEach(metricsRegistry::deregister);
     }
 
     /**
@@ -183,11 +193,21 @@ public class ExecutionContext {
         }
     }
 
-    public void handlePacket(int vertexId, int ordinal, Address sender, BufferObjectDataInput in) {
+    private void signalCompletionOnOtherMembers(String signalName) {
+        Address thisAddress = nodeEngine.getThisAddress();
+        for (Address participant : participants) {
+            if (!participant.equals(thisAddress)) {
+                nodeEngine.getOperationService().invokeOnTarget(JetService.SERVICE_NAME,
+                        new SignalCompletionOperation(jobId, executionId, signalName), participant);
+            }
+        }
+    }
+
+    public void handlePacket(int vertexId, int ordinal, Address sender, byte[] payload) {
         receiverMap.get(vertexId)
                    .get(ordinal)
                    .get(sender)
-                   .receiveStreamPacket(in);
+                   .receiveStreamPacket(payload);
     }
 
     public boolean hasParticipant(Address member) {
@@ -214,6 +234,10 @@ public class ExecutionContext {
         return receiverMap;
     }
 
+    public CompletionSignals completionSignals() {
+        return completionSignals;
+    }
+
     // visible for testing only
     public SnapshotContext snapshotContext() {
         return snapshotContext;
@@ -36,4 +36,11 @@ public interface InboundEdgeStream {
     ProgressState drainTo(Predicate<Object> dest);
 
     boolean isDone();
+
+    /**
+     * Returns the total number of items currently waiting in the queues.
+     * Called from other than the consuming thread to report metrics, so the
+     * result is only approximate.
+     */
+    int queueSize();
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+/**
+ * Special item emitted periodically by the source processors when {@link
+ * com.hazelcast.jet.config.JobConfig#setLatencyMarkerIntervalMillis
+ * latency markers} are enabled. It carries the wall-clock time of its
+ * emission and travels along with the data items, so that each processor
+ * can record how long it took to reach it.
+ */
+public final class LatencyMarker implements BroadcastItem {
+    private final long timestamp;
+
+    public LatencyMarker(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Returns the wall-clock time when the marker was emitted by the source.
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyMarker{timestamp=" + timestamp + '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof LatencyMarker && timestamp == ((LatencyMarker) o).timestamp;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (timestamp ^ (timestamp >>> 32));
+    }
+}
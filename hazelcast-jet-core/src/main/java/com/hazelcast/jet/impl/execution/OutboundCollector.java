@@ -49,6 +49,24 @@ public interface OutboundCollector {
         return offer(item);
     }
 
+    /**
+     * Offers the items {@code items[from]} to {@code items[to - 1]} to this
+     * collector and returns the number of items it accepted. The item after
+     * the accepted ones may have been partially offered, it must be retried
+     * later.
+     */
+    default int offerAll(Object[] items, int from, int to) {
+        int i = from;
+        for (; i < to; i++) {
+            Object item = items[i];
+            ProgressState result = item instanceof BroadcastItem ? offerBroadcast((BroadcastItem) item) : offer(item);
+            if (!result.isDone()) {
+                break;
+            }
+        }
+        return i - from;
+    }
+
     /**
      * Returns the list of partitions handled by this collector.
      */
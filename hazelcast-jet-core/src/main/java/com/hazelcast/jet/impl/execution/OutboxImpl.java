@@ -22,6 +22,7 @@ import com.hazelcast.jet.impl.util.ProgressTracker;
 import com.hazelcast.jet.impl.util.Util;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.counters.Counter;
 
 import javax.annotation.Nonnull;
 import java.util.Arrays;
@@ -31,26 +32,34 @@ import java.util.stream.IntStream;
 
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 
 public class OutboxImpl implements Outbox {
 
     private final OutboundCollector[] outstreams;
     private final ProgressTracker progTracker;
     private final SerializationService serializationService;
-    private final int batchSize;
+    private int batchSize;
 
     private final int[] singleEdge = {0};
     private final int[] allEdges;
     private final int[] allEdgesAndSnapshot;
     private final int[] snapshotEdge;
     private final BitSet broadcastTracker;
+    private final Counter[] emittedCounts;
+    private final Counter snapshotBytes = newSwCounter();
     private Entry<Data, Data> pendingSnapshotEntry;
     private int numRemainingInBatch;
+    private boolean batchSizeReached;
 
     private Object unfinishedItem;
     private int[] unfinishedItemOrdinals;
     private Object unfinishedSnapshotKey;
     private Object unfinishedSnapshotValue;
+    private boolean unfinishedItemOffered;
+
+    private BroadcastItem injectedItem;
+    private final BitSet injectedItemTracker;
 
     /**
      * @param outstreams The output queues
@@ -72,6 +81,9 @@ public class OutboxImpl implements Outbox {
         allEdgesAndSnapshot = IntStream.range(0, outstreams.length).toArray();
         snapshotEdge = hasSnapshot ? new int[] {outstreams.length - 1} : null;
         broadcastTracker = new BitSet(outstreams.length);
+        injectedItemTracker = new BitSet(allEdges.length);
+        emittedCounts = new Counter[outstreams.length];
+        Arrays.setAll(emittedCounts, i -> newSwCounter());
     }
 
     @Override
@@ -100,6 +112,38 @@ public class OutboxImpl implements Outbox {
         return offerInternal(ordinals, item);
     }
 
+    @Override
+    public final int offerAll(int ordinal, @Nonnull Object[] items, int from, int to) {
+        if (ordinal == -1 && allEdges.length != 1) {
+            return Outbox.super.offerAll(ordinal, items, from, to);
+        }
+        if (ordinal == bucketCount()) {
+            throw new IllegalArgumentException("Illegal edge ordinal: " + ordinal);
+        }
+        int edge = ordinal == -1 ? 0 : ordinal;
+        assert numRemainingInBatch != -1 : "Outbox.offerAll() called again after it returned less than offered, " +
+                "without a call to reset(). You probably didn't return from Processor method after that";
+
+        int accepted = 0;
+        // A partially offered item must go through offerInternal(), it tracks the edges that already have it
+        if (unfinishedItem == null && injectedItem == null && numRemainingInBatch > 0) {
+            accepted = outstreams[edge].offerAll(items, from, Math.min(to, from + numRemainingInBatch));
+            if (accepted > 0) {
+                numRemainingInBatch -= accepted;
+                emittedCounts[edge].inc(accepted);
+                progTracker.madeProgress();
+            }
+        }
+        if (from + accepted < to) {
+            // the batch stopped short: retry the first rejected item one by one, which records it as unfinished
+            singleEdge[0] = edge;
+            if (offerInternal(singleEdge, items[from + accepted])) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
     private boolean offerInternal(@Nonnull int[] ordinals, @Nonnull Object item) {
         assert unfinishedItem == null || item.equals(unfinishedItem)
                 : "Different item offered after previous call returned false: expected=" + unfinishedItem
@@ -111,10 +155,19 @@ public class OutboxImpl implements Outbox {
         assert numRemainingInBatch != -1 : "Outbox.offer() called again after it returned false, without a " +
                 "call to reset(). You probably didn't return from Processor method after Outbox.offer() " +
                 "or AbstractProcessor.tryEmit() returned false";
+        if (injectedItem != null && !unfinishedItemOffered && !offerInjectedItem()) {
+            // nothing of the item was offered yet, the caller will offer it again
+            numRemainingInBatch = -1;
+            unfinishedItem = item;
+            //noinspection ConstantConditions,AssertWithSideEffects
+            assert (unfinishedItemOrdinals = Arrays.copyOf(ordinals, ordinals.length)) != null;
+            return false;
+        }
         numRemainingInBatch--;
         boolean done = true;
         if (numRemainingInBatch == -1) {
             done = false;
+            batchSizeReached = true;
         } else {
             for (int i = 0; i < ordinals.length; i++) {
                 if (broadcastTracker.get(i)) {
@@ -126,10 +179,14 @@ public class OutboxImpl implements Outbox {
                 }
                 if (result.isDone()) {
                     broadcastTracker.set(i);
+                    if (!(item instanceof BroadcastItem)) {
+                        emittedCounts[ordinals[i]].inc();
+                    }
                 } else {
                     done = false;
                 }
             }
+            unfinishedItemOffered = !done;
         }
         if (done) {
             broadcastTracker.clear();
@@ -175,6 +232,7 @@ public class OutboxImpl implements Outbox {
 
         boolean success = offerInternal(snapshotEdge, pendingSnapshotEntry);
         if (success) {
+            snapshotBytes.inc(pendingSnapshotEntry.getKey().totalSize() + pendingSnapshotEntry.getValue().totalSize());
             pendingSnapshotEntry = null;
             unfinishedSnapshotKey = null;
             unfinishedSnapshotValue = null;
@@ -185,6 +243,59 @@ public class OutboxImpl implements Outbox {
         return success;
     }
 
+    /**
+     * Injects a broadcast item into the stream of items offered by the
+     * processor. The item is sent to all edges before the next item the
+     * processor offers, but never between the edges of an item the outbox
+     * refused after offering it to some of them: that item's progress is
+     * tracked per edge and it must be completed first. Only one item can be
+     * pending, see {@link #hasInjectedItem()}.
+     */
+    void injectItem(@Nonnull BroadcastItem item) {
+        assert injectedItem == null : "Another item is already injected: " + injectedItem;
+        injectedItem = item;
+    }
+
+    /**
+     * Returns {@code true} if an item passed to {@link #injectItem} wasn't
+     * yet sent to all edges.
+     */
+    boolean hasInjectedItem() {
+        return injectedItem != null;
+    }
+
+    /**
+     * Sends the injected item now, if there is one and no item of the
+     * processor is half-sent. Returns {@code false} if the item is still
+     * pending after the call.
+     */
+    boolean tryFlushInjectedItem() {
+        return injectedItem == null || !unfinishedItemOffered && offerInjectedItem();
+    }
+
+    private boolean offerInjectedItem() {
+        boolean done = true;
+        for (int i = 0; i < allEdges.length; i++) {
+            if (injectedItemTracker.get(i)) {
+                continue;
+            }
+            ProgressState result = outstreams[allEdges[i]].offerBroadcast(injectedItem);
+            if (result.isMadeProgress()) {
+                progTracker.madeProgress();
+            }
+            if (result.isDone()) {
+                injectedItemTracker.set(i);
+            } else {
+                done = false;
+            }
+        }
+        if (done) {
+            injectedItemTracker.clear();
+            injectedItem = null;
+        }
+        return done;
+    }
+
     /**
      * Resets the outbox so that it is available to receive another batch of
      * items after any {@code offer()} method previously returned {@code
@@ -192,6 +303,41 @@ public class OutboxImpl implements Outbox {
      */
     public void reset() {
         numRemainingInBatch = batchSize;
+        batchSizeReached = false;
+    }
+
+    /**
+     * Sets the maximum number of items the outbox accepts until {@link
+     * #reset()} is called. Takes effect with the next {@code reset()}.
+     */
+    public void setBatchSize(int batchSize) {
+        checkPositive(batchSize, "batchSize must be positive");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns {@code true} if an item was refused since the last {@link
+     * #reset()} because the batch size was exhausted, as opposed to the
+     * downstream queues being full.
+     */
+    boolean batchSizeReached() {
+        return batchSizeReached;
+    }
+
+    /**
+     * Returns the number of items emitted to the outstream at the given index,
+     * not counting broadcast items such as watermarks and barriers.
+     */
+    long emittedCount(int outstreamIndex) {
+        return emittedCounts[outstreamIndex].get();
+    }
+
+    /**
+     * Returns the total size of the serialized keys and values saved to the
+     * snapshot.
+     */
+    long snapshotBytes() {
+        return snapshotBytes.get();
     }
 
     private ProgressState doOffer(OutboundCollector collector, Object item) {
@@ -16,6 +16,8 @@
 
 package com.hazelcast.jet.impl.execution;
 
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.Processor;
@@ -23,13 +25,17 @@ import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.util.ArrayDequeInbox;
 import com.hazelcast.jet.impl.util.CircularListCursor;
+import com.hazelcast.jet.impl.util.LatencyHistogram;
 import com.hazelcast.jet.impl.util.ProgressState;
 import com.hazelcast.jet.impl.util.ProgressTracker;
 import com.hazelcast.util.Preconditions;
+import com.hazelcast.util.counters.Counter;
+import com.hazelcast.util.function.Predicate;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.Map.Entry;
@@ -37,6 +43,7 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.TreeMap;
 
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
 import static com.hazelcast.jet.impl.execution.ProcessorState.COMPLETE;
 import static com.hazelcast.jet.impl.execution.ProcessorState.COMPLETE_EDGE;
@@ -50,13 +57,20 @@ import static com.hazelcast.jet.impl.execution.ProcessorState.SAVE_SNAPSHOT;
 import static com.hazelcast.jet.impl.execution.WatermarkCoalescer.IDLE_MESSAGE;
 import static com.hazelcast.jet.impl.execution.WatermarkCoalescer.NO_NEW_WM;
 import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toCollection;
 
 public class ProcessorTasklet implements Tasklet {
 
     private static final int OUTBOX_BATCH_SIZE = 2048;
+    private static final int MIN_OUTBOX_BATCH_SIZE = 64;
+    private static final int MAX_OUTBOX_BATCH_SIZE = 32768;
+    private static final long TARGET_CALL_NANOS = MILLISECONDS.toNanos(1);
+    private static final long GROW_CALL_NANOS = TARGET_CALL_NANOS / 4;
+
     private final ProgressTracker progTracker = new ProgressTracker();
     private final OutboundEdgeStream[] outstreams;
     private final OutboxImpl outbox;
@@ -67,6 +81,7 @@ public class ProcessorTasklet implements Tasklet {
     private final BitSet receivedBarriers; // indicates if current snapshot is received on the ordinal
 
     private final ArrayDequeInbox inbox = new ArrayDequeInbox(progTracker);
+    private final List<? extends InboundEdgeStream> instreams;
     private final Queue<ArrayList<InboundEdgeStream>> instreamGroupQueue;
     private final WatermarkCoalescer watermarkCoalescer;
 
@@ -76,6 +91,24 @@ public class ProcessorTasklet implements Tasklet {
     private ProcessorState state;
     private long pendingSnapshotId;
     private Watermark pendingWatermark;
+    @Probe(level = MANDATORY)
+    private int outboxBatchSize = OUTBOX_BATCH_SIZE;
+
+    // metrics, written only by the thread executing the tasklet
+    @Probe(level = MANDATORY)
+    private final Counter callCount = newSwCounter();
+    @Probe(level = MANDATORY)
+    private final Counter callNanos = newSwCounter();
+    @Probe(level = MANDATORY)
+    private final Counter idleCount = newSwCounter();
+    private final Counter[] receivedCounts;
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    // latency markers: the interval is only positive for the source processors
+    private final long latencyMarkerIntervalMillis;
+    private final Predicate<Object> addToInboxFn = this::addToInbox;
+    private LatencyMarker pendingLatencyMarker;
+    private long lastLatencyMarkerTimestamp;
 
     public ProcessorTasklet(@Nonnull ProcCtx context,
                             @Nonnull Processor processor,
@@ -83,11 +116,13 @@ public class ProcessorTasklet implements Tasklet {
                             @Nonnull List<? extends OutboundEdgeStream> outstreams,
                             @Nonnull SnapshotContext ssContext,
                             @Nonnull OutboundCollector ssCollector,
-                            int maxWatermarkRetainMillis) {
+                            int maxWatermarkRetainMillis,
+                            long latencyMarkerIntervalMillis) {
         Preconditions.checkNotNull(processor, "processor");
         this.context = context;
         this.processor = processor;
         this.numActiveOrdinals = instreams.size();
+        this.instreams = instreams;
         this.instreamGroupQueue = instreams
                 .stream()
                 .collect(groupingBy(InboundEdgeStream::priority, TreeMap::new,
@@ -99,6 +134,7 @@ public class ProcessorTasklet implements Tasklet {
                                     .sorted(comparing(OutboundEdgeStream::ordinal))
                                     .toArray(OutboundEdgeStream[]::new);
         this.ssContext = ssContext;
+        this.latencyMarkerIntervalMillis = instreams.isEmpty() ? latencyMarkerIntervalMillis : 0;
 
         instreamCursor = popInstreamGroup();
         currInstream = instreamCursor != null ? instreamCursor.value() : null;
@@ -108,6 +144,8 @@ public class ProcessorTasklet implements Tasklet {
         pendingSnapshotId = ssContext.lastSnapshotId() + 1;
 
         watermarkCoalescer = WatermarkCoalescer.create(maxWatermarkRetainMillis, instreams.size());
+        receivedCounts = new Counter[instreams.stream().mapToInt(InboundEdgeStream::ordinal).max().orElse(-1) + 1];
+        Arrays.setAll(receivedCounts, i -> newSwCounter());
     }
 
     private OutboxImpl createOutbox(OutboundCollector ssCollector) {
@@ -141,7 +179,81 @@ public class ProcessorTasklet implements Tasklet {
         progTracker.reset();
         outbox.reset();
         stateMachineStep(now);
-        return progTracker.toProgressState();
+        callCount.inc();
+        ProgressState result = progTracker.toProgressState();
+        if (!result.isMadeProgress()) {
+            idleCount.inc();
+        }
+        return result;
+    }
+
+    @Override
+    public void callCompleted(long callNanos) {
+        adjustOutboxBatchSize(callNanos);
+        this.callNanos.inc(callNanos);
+    }
+
+    /**
+     * Registers the metrics of this tasklet: the number of calls, the time
+     * spent in them and the number of calls that made no progress, items
+     * received and queued per inbound ordinal, items emitted per outbound
+     * ordinal, bytes saved to the snapshot, the outbox batch size and the
+     * percentiles of the latency measured by the latency markers.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void registerMetrics(MetricsRegistry registry, String prefix) {
+        registry.scanAndRegister(this, prefix);
+        for (InboundEdgeStream instream : instreams) {
+            String name = prefix + ".inbound." + instream.ordinal();
+            Counter receivedCount = receivedCounts[instream.ordinal()];
+            registry.register(this, name + ".receivedCount", MANDATORY, t -> receivedCount.get());
+            registry.register(this, name + ".queueSize", MANDATORY, t -> instream.queueSize());
+        }
+        for (int i = 0; i < outstreams.length; i++) {
+            int outboxIndex = i;
+            registry.register(this, prefix + ".outbound." + outstreams[i].ordinal() + ".emittedCount", MANDATORY,
+                    t -> t.outbox.emittedCount(outboxIndex));
+        }
+        registry.register(this, prefix + ".snapshotBytes", MANDATORY, t -> t.outbox.snapshotBytes());
+        registry.register(this, prefix + ".latency.count", MANDATORY, t -> t.latencyHistogram.count());
+        registry.register(this, prefix + ".latency.p50", MANDATORY, t -> t.latencyHistogram.percentile(0.5));
+        registry.register(this, prefix + ".latency.p99", MANDATORY, t -> t.latencyHistogram.percentile(0.99));
+        registry.register(this, prefix + ".latency.p999", MANDATORY, t -> t.latencyHistogram.percentile(0.999));
+        registry.register(this, prefix + ".latency.max", MANDATORY, t -> t.latencyHistogram.max());
+    }
+
+    /**
+     * Adapts the outbox batch size to the duration of the last call. The
+     * size is halved if the call took longer than the target, so that the
+     * tasklet doesn't hog its worker thread. It's doubled if the batch size
+     * stopped the processor although the downstream queues had room and
+     * the call was well within the target.
+     */
+    // package-visible for testing
+    void adjustOutboxBatchSize(long lastCallNanos) {
+        int newSize = outboxBatchSize;
+        if (lastCallNanos > TARGET_CALL_NANOS) {
+            newSize = Math.max(MIN_OUTBOX_BATCH_SIZE, outboxBatchSize / 2);
+        } else if (outbox.batchSizeReached() && lastCallNanos < GROW_CALL_NANOS) {
+            newSize = Math.min(MAX_OUTBOX_BATCH_SIZE, outboxBatchSize * 2);
+        }
+        if (newSize != outboxBatchSize) {
+            outboxBatchSize = newSize;
+            outbox.setBatchSize(newSize);
+        }
+    }
+
+    // package-visible for testing
+    LatencyHistogram latencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Returns the current outbox batch size, the maximum number of items
+     * the processor can emit in a single call.
+     */
+    public int outboxBatchSize() {
+        return outboxBatchSize;
     }
 
     @SuppressWarnings("checkstyle:returncount")
@@ -175,6 +287,9 @@ public class ProcessorTasklet implements Tasklet {
 
             case PROCESS_INBOX:
                 progTracker.notDone();
+                if (inbox.isEmpty()) {
+                    emitLatencyMarker();
+                }
                 if (inbox.isEmpty() && (isSnapshotInbox() || processor.tryProcess())) {
                     fillInbox(now);
                 }
@@ -250,6 +365,7 @@ public class ProcessorTasklet implements Tasklet {
                         return;
                     }
                 }
+                emitLatencyMarker();
                 if (processor.complete()) {
                     progTracker.madeProgress();
                     state = EMIT_DONE_ITEM;
@@ -289,7 +405,7 @@ public class ProcessorTasklet implements Tasklet {
                 instreamCursor.advance();
                 continue;
             }
-            result = currInstream.drainTo(inbox.queue()::add);
+            result = currInstream.drainTo(addToInboxFn);
             progTracker.madeProgress(result.isMadeProgress());
 
             // check if the last drained item is special
@@ -306,6 +422,7 @@ public class ProcessorTasklet implements Tasklet {
             } else if (lastItem != null && !(lastItem instanceof BroadcastItem)) {
                 watermarkCoalescer.observeEvent(currInstream.ordinal());
             }
+            receivedCounts[currInstream.ordinal()].inc(inbox.queue().size());
 
             if (result.isDone()) {
                 receivedBarriers.clear(currInstream.ordinal());
@@ -329,6 +446,50 @@ public class ProcessorTasklet implements Tasklet {
         } while (!result.isMadeProgress() && instreamCursor.value() != first);
     }
 
+    private boolean addToInbox(Object item) {
+        if (item instanceof LatencyMarker) {
+            observeLatencyMarker((LatencyMarker) item);
+            return true;
+        }
+        return inbox.queue().add(item);
+    }
+
+    /**
+     * Records the latency of a received marker and makes it pending for
+     * forwarding, unless a newer marker was already forwarded.
+     */
+    private void observeLatencyMarker(LatencyMarker marker) {
+        latencyHistogram.record(System.currentTimeMillis() - marker.timestamp());
+        if (pendingLatencyMarker == null && marker.timestamp() > lastLatencyMarkerTimestamp) {
+            pendingLatencyMarker = marker;
+            lastLatencyMarkerTimestamp = marker.timestamp();
+        }
+    }
+
+    /**
+     * Injects the pending latency marker into the outbox; in a source
+     * processor first creates a new marker if the interval elapsed. The
+     * marker isn't offered like the processor's items: if the processor's
+     * last item was refused, the outbox sends the marker only after that
+     * item, otherwise it would interleave with a half-sent item. If the
+     * outbox can't send the marker now, it sends it before the processor's
+     * next item.
+     */
+    private void emitLatencyMarker() {
+        if (latencyMarkerIntervalMillis > 0 && pendingLatencyMarker == null) {
+            long now = System.currentTimeMillis();
+            if (now - lastLatencyMarkerTimestamp >= latencyMarkerIntervalMillis) {
+                pendingLatencyMarker = new LatencyMarker(now);
+                lastLatencyMarkerTimestamp = now;
+            }
+        }
+        if (pendingLatencyMarker != null && !outbox.hasInjectedItem()) {
+            outbox.injectItem(pendingLatencyMarker);
+            pendingLatencyMarker = null;
+        }
+        outbox.tryFlushInjectedItem();
+    }
+
     private CircularListCursor<InboundEdgeStream> popInstreamGroup() {
         return Optional.ofNullable(instreamGroupQueue.poll())
                        .map(CircularListCursor::new)
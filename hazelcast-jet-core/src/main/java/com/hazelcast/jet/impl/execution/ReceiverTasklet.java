@@ -16,23 +16,34 @@
 
 package com.hazelcast.jet.impl.execution;
 
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.impl.Networking;
 import com.hazelcast.jet.impl.util.LoggingUtil;
 import com.hazelcast.jet.impl.util.ObjectWithPartitionId;
 import com.hazelcast.jet.impl.util.ProgressState;
 import com.hazelcast.jet.impl.util.ProgressTracker;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
+import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.util.concurrent.IdleStrategy;
+import com.hazelcast.util.counters.Counter;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Queue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.jet.impl.Networking.STREAM_PACKET_HEADER_SIZE;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.ceil;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
@@ -75,11 +86,24 @@ public class ReceiverTasklet implements Tasklet {
     private final int rwinMultiplier;
     private final double flowControlPeriodNs;
 
-    private final Queue<BufferObjectDataInput> incoming = new MPSCQueue<>((IdleStrategy) null);
+    private final Queue<byte[]> incoming = new MPSCQueue<>((IdleStrategy) null);
     private final ProgressTracker tracker = new ProgressTracker();
     private final ArrayDeque<ObjWithPtionIdAndSize> inbox = new ArrayDeque<>();
     private final OutboundCollector collector;
+    private final InternalSerializationService serializationService;
 
+    // reused to read all the received packets, created on the first packet
+    private BufferObjectDataInput input;
+    // null if compression is disabled
+    private final Inflater inflater;
+    private byte[] decompressBuffer;
+    // metrics, written by Jet thread
+    @Probe(level = MANDATORY)
+    private final Counter receivedCount = newSwCounter();
+    @Probe(level = MANDATORY)
+    private final Counter receivedBytes = newSwCounter();
+    @Probe(level = MANDATORY)
+    private volatile long decompressionNanos;
     private boolean receptionDone;
 
     //                    FLOW-CONTROL STATE
@@ -90,14 +114,23 @@ public class ReceiverTasklet implements Tasklet {
     private volatile int numWaitingInInbox;
 
     // read and written by updateAndGetSendSeqLimitCompressed(), which is invoked sequentially by a task scheduler
+    @Probe(level = MANDATORY)
     private int receiveWindowCompressed;
     private int prevAckedSeqCompressed;
     private long prevTimestamp;
 
     //                 END FLOW-CONTROL STATE
 
-    public ReceiverTasklet(OutboundCollector collector, int rwinMultiplier, int flowControlPeriodMs) {
+    public ReceiverTasklet(OutboundCollector collector, int rwinMultiplier, int flowControlPeriodMs,
+                           InternalSerializationService serializationService) {
+        this(collector, rwinMultiplier, flowControlPeriodMs, serializationService, false);
+    }
+
+    public ReceiverTasklet(OutboundCollector collector, int rwinMultiplier, int flowControlPeriodMs,
+                           InternalSerializationService serializationService, boolean compressionEnabled) {
         this.collector = collector;
+        this.serializationService = serializationService;
+        this.inflater = compressionEnabled ? new Inflater() : null;
         this.rwinMultiplier = rwinMultiplier;
         this.flowControlPeriodNs = (double) MILLISECONDS.toNanos(flowControlPeriodMs);
         this.receiveWindowCompressed = INITIAL_RECEIVE_WINDOW_COMPRESSED;
@@ -115,6 +148,7 @@ public class ReceiverTasklet implements Tasklet {
             final Object item = o.getItem();
             if (item == DONE_ITEM) {
                 receptionDone = true;
+                close();
                 inbox.remove();
                 assert inbox.peek() == null : "Found something in the queue beyond the DONE_ITEM: " + inbox.remove();
                 break;
@@ -134,8 +168,13 @@ public class ReceiverTasklet implements Tasklet {
         return tracker.toProgressState();
     }
 
-    void receiveStreamPacket(BufferObjectDataInput packetInput) {
-        incoming.add(packetInput);
+    /**
+     * Accepts the payload of a stream packet, including the header of
+     * {@link Networking#STREAM_PACKET_HEADER_SIZE} bytes. Called from a
+     * networking thread.
+     */
+    void receiveStreamPacket(byte[] payload) {
+        incoming.add(payload);
     }
 
     /**
@@ -241,15 +280,26 @@ public class ReceiverTasklet implements Tasklet {
 
     private void tryFillInbox() {
         try {
-            for (BufferObjectDataInput received; (received = incoming.poll()) != null; ) {
-                final int itemCount = received.readInt();
+            for (byte[] payload; (payload = incoming.poll()) != null; ) {
+                receivedBytes.inc(payload.length);
+                if (input == null) {
+                    input = serializationService.createObjectDataInput(payload);
+                }
+                if (inflater == null) {
+                    input.init(payload, STREAM_PACKET_HEADER_SIZE);
+                } else {
+                    input.init(decompress(payload), 0);
+                }
+                final int itemCount = input.readInt();
+                receivedCount.inc(itemCount);
                 for (int i = 0; i < itemCount; i++) {
-                    final int mark = received.position();
-                    final Object item = received.readObject();
-                    final int itemSize = received.position() - mark;
-                    inbox.add(new ObjWithPtionIdAndSize(item, received.readInt(), itemSize));
+                    final int mark = input.position();
+                    final Object item = input.readObject();
+                    final int itemSize = input.position() - mark;
+                    inbox.add(new ObjWithPtionIdAndSize(item, input.readInt(), itemSize));
                 }
-                received.close();
+                // release the payload for GC, keep the input for the next packet
+                input.clear();
                 tracker.madeProgress();
             }
         } catch (IOException e) {
@@ -257,6 +307,57 @@ public class ReceiverTasklet implements Tasklet {
         }
     }
 
+    /**
+     * Decompresses a payload compressed by {@link SenderTasklet} into a
+     * reused buffer and returns the buffer. The buffer starts with the item
+     * count, just like an uncompressed payload after the header.
+     */
+    // Only one thread writes to the metrics
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    private byte[] decompress(byte[] payload) {
+        final long start = System.nanoTime();
+        final int uncompressedLength = Bits.readIntB(payload, STREAM_PACKET_HEADER_SIZE);
+        final int dataStart = STREAM_PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES;
+        if (decompressBuffer == null || decompressBuffer.length < uncompressedLength) {
+            decompressBuffer = new byte[uncompressedLength];
+        }
+        inflater.reset();
+        inflater.setInput(payload, dataStart, payload.length - dataStart);
+        try {
+            for (int pos = 0; pos < uncompressedLength; ) {
+                final int n = inflater.inflate(decompressBuffer, pos, uncompressedLength - pos);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new JetException("Truncated compressed packet, expected " + uncompressedLength
+                            + " bytes, got " + pos);
+                }
+                pos += n;
+            }
+        } catch (DataFormatException e) {
+            throw new JetException("Corrupted compressed packet: " + e, e);
+        }
+        decompressionNanos += System.nanoTime() - start;
+        return decompressBuffer;
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    // package-visible for testing
+    Inflater inflater() {
+        return inflater;
+    }
+
+    /**
+     * Returns the total time spent decompressing the packets, in nanoseconds.
+     */
+    public long decompressionNanos() {
+        return decompressionNanos;
+    }
+
     private static class ObjWithPtionIdAndSize extends ObjectWithPartitionId {
         final long estimatedMemoryFootprint;
 
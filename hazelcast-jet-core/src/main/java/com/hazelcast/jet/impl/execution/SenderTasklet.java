@@ -16,6 +16,8 @@
 
 package com.hazelcast.jet.impl.execution;
 
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.jet.datamodel.TimestampedEntry;
 import com.hazelcast.jet.impl.util.ObjectWithPartitionId;
 import com.hazelcast.jet.impl.util.ProgressState;
 import com.hazelcast.jet.impl.util.ProgressTracker;
@@ -25,12 +27,22 @@ import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.counters.Counter;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.function.BiConsumer;
+import java.util.zip.Deflater;
 
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
 import static com.hazelcast.jet.impl.Networking.createStreamPacketHeader;
 import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
 import static com.hazelcast.jet.impl.execution.ReceiverTasklet.compressSeq;
@@ -39,6 +51,7 @@ import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
 import static com.hazelcast.jet.impl.util.Util.createObjectDataOutput;
 import static com.hazelcast.jet.impl.util.Util.getMemberConnection;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static com.hazelcast.util.counters.SwCounter.newSwCounter;
 
 public class SenderTasklet implements Tasklet {
 
@@ -49,6 +62,13 @@ public class SenderTasklet implements Tasklet {
     private final BufferObjectDataOutput outputBuffer;
     private final int bufPosPastHeader;
     private final int packetSizeLimit;
+    // null if compression is disabled
+    private final Deflater deflater;
+    private byte[] compressBuffer;
+    // null if the edge doesn't combine before sending
+    private final BiConsumer<Object, Object> combineFn;
+    // reused by combineInbox(), null if the edge doesn't combine before sending
+    private final Map<Object, Object> combineKeyToItem;
 
     private boolean instreamExhausted;
     // read and written by Jet thread
@@ -57,10 +77,33 @@ public class SenderTasklet implements Tasklet {
     // Written by HZ networking thread, read by Jet thread
     private volatile int sendSeqLimitCompressed;
 
+    // metrics, written by Jet thread
+    @Probe(level = MANDATORY)
+    private final Counter sentCount = newSwCounter();
+    @Probe(level = MANDATORY)
+    private final Counter sentBytes = newSwCounter();
+    @Probe(level = MANDATORY)
+    private volatile long bytesBeforeCompression;
+    @Probe(level = MANDATORY)
+    private volatile long bytesAfterCompression;
+    @Probe(level = MANDATORY)
+    private volatile long compressionNanos;
+
     public SenderTasklet(InboundEdgeStream inboundEdgeStream, NodeEngine nodeEngine, Address destinationAddress,
                          long executionId, int destinationVertexId, int packetSizeLimit) {
+        this(inboundEdgeStream, nodeEngine, destinationAddress, executionId, destinationVertexId, packetSizeLimit,
+                false, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public SenderTasklet(InboundEdgeStream inboundEdgeStream, NodeEngine nodeEngine, Address destinationAddress,
+                         long executionId, int destinationVertexId, int packetSizeLimit, boolean compressionEnabled,
+                         @Nullable BiConsumer<?, ?> combineFn) {
         this.inboundEdgeStream = inboundEdgeStream;
         this.packetSizeLimit = packetSizeLimit;
+        this.deflater = compressionEnabled ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.combineFn = (BiConsumer<Object, Object>) combineFn;
+        this.combineKeyToItem = combineFn != null ? new LinkedHashMap<>() : null;
         this.connection = getMemberConnection(nodeEngine, destinationAddress);
         this.outputBuffer = createObjectDataOutput(nodeEngine);
         uncheckRun(() -> outputBuffer.write(createStreamPacketHeader(
@@ -74,11 +117,14 @@ public class SenderTasklet implements Tasklet {
         progTracker.reset();
         tryFillInbox();
         if (progTracker.isDone()) {
+            close();
             return progTracker.toProgressState();
         }
         if (tryFillOutputBuffer()) {
             progTracker.madeProgress();
-            connection.write(new Packet(outputBuffer.toByteArray()).setPacketType(Packet.Type.JET));
+            final byte[] payload = deflater == null ? outputBuffer.toByteArray() : compress(outputBuffer.toByteArray());
+            sentBytes.inc(payload.length);
+            connection.write(new Packet(payload).setPacketType(Packet.Type.JET));
         }
         return progTracker.toProgressState();
     }
@@ -95,11 +141,58 @@ public class SenderTasklet implements Tasklet {
         final ProgressState result = inboundEdgeStream.drainTo(inbox::add);
         progTracker.madeProgress(result.isMadeProgress());
         instreamExhausted = result.isDone();
+        if (combineFn != null && inbox.size() > 1) {
+            combineInbox();
+        }
         if (instreamExhausted) {
             inbox.add(new ObjectWithPartitionId(DONE_ITEM, -1));
         }
     }
 
+    /**
+     * Merges the entries in the inbox which have equal keys using the {@link
+     * com.hazelcast.jet.core.Edge#combinedBeforeSending combineFn}. A {@link
+     * TimestampedEntry} is only merged with entries that have the same
+     * timestamp, because they hold the accumulators of different window
+     * frames. Items that aren't entries, such as watermarks and snapshot
+     * barriers, aren't merged and no entry is moved across them.
+     */
+    // package-visible for testing
+    @SuppressWarnings("unchecked")
+    void combineInbox() {
+        final Map<Object, Object> keyToItem = combineKeyToItem;
+        final int size = inbox.size();
+        for (int i = 0; i < size; i++) {
+            final Object item = inbox.poll();
+            final Object unwrapped = unwrap(item);
+            if (!(unwrapped instanceof Entry)) {
+                inbox.addAll(keyToItem.values());
+                keyToItem.clear();
+                inbox.add(item);
+                continue;
+            }
+            final Entry<Object, Object> entry = (Entry<Object, Object>) unwrapped;
+            final Object key = entry instanceof TimestampedEntry
+                    ? tuple2(((TimestampedEntry) entry).getTimestamp(), entry.getKey())
+                    : entry.getKey();
+            final Object existing = keyToItem.putIfAbsent(key, item);
+            if (existing != null) {
+                combineFn.accept(((Entry<Object, Object>) unwrap(existing)).getValue(), entry.getValue());
+            }
+        }
+        inbox.addAll(keyToItem.values());
+        keyToItem.clear();
+    }
+
+    // package-visible for testing
+    Queue<Object> inbox() {
+        return inbox;
+    }
+
+    private static Object unwrap(Object item) {
+        return item instanceof ObjectWithPartitionId ? ((ObjectWithPartitionId) item).getItem() : item;
+    }
+
     private boolean tryFillOutputBuffer() {
         try {
             // header size + slot for writtenCount
@@ -119,12 +212,76 @@ public class SenderTasklet implements Tasklet {
                 outputBuffer.writeInt(itemWithpId.getPartitionId());
             }
             outputBuffer.writeInt(bufPosPastHeader, writtenCount);
+            sentCount.inc(writtenCount);
             return writtenCount > 0;
         } catch (IOException e) {
             throw rethrow(e);
         }
     }
 
+    /**
+     * Compresses the part of the payload after the header. The result
+     * consists of the original header, the uncompressed length of the rest
+     * as a big-endian int and the compressed rest. The flow-control
+     * accounting isn't affected because it's based on the uncompressed
+     * sizes of the items, which the receiver sees after decompressing.
+     */
+    // Only one thread writes to the metrics
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    private byte[] compress(byte[] payload) {
+        final long start = System.nanoTime();
+        final int uncompressedLength = payload.length - bufPosPastHeader;
+        final int dataStart = bufPosPastHeader + Bits.INT_SIZE_IN_BYTES;
+        if (compressBuffer == null || compressBuffer.length < payload.length + Bits.INT_SIZE_IN_BYTES) {
+            compressBuffer = new byte[payload.length + Bits.INT_SIZE_IN_BYTES];
+        }
+        System.arraycopy(payload, 0, compressBuffer, 0, bufPosPastHeader);
+        Bits.writeIntB(compressBuffer, bufPosPastHeader, uncompressedLength);
+        deflater.reset();
+        deflater.setInput(payload, bufPosPastHeader, uncompressedLength);
+        deflater.finish();
+        int pos = dataStart;
+        while (!deflater.finished()) {
+            if (pos == compressBuffer.length) {
+                compressBuffer = Arrays.copyOf(compressBuffer, compressBuffer.length * 2);
+            }
+            pos += deflater.deflate(compressBuffer, pos, compressBuffer.length - pos);
+        }
+        bytesBeforeCompression += uncompressedLength;
+        bytesAfterCompression += pos - dataStart;
+        compressionNanos += System.nanoTime() - start;
+        return Arrays.copyOf(compressBuffer, pos);
+    }
+
+    @Override
+    public void close() {
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    // package-visible for testing
+    Deflater deflater() {
+        return deflater;
+    }
+
+    /**
+     * Returns the ratio of the compressed to the uncompressed size of all the
+     * packets sent so far, or 1 if compression is disabled or nothing was
+     * sent.
+     */
+    public double compressionRatio() {
+        long before = bytesBeforeCompression;
+        return before == 0 ? 1 : (double) bytesAfterCompression / before;
+    }
+
+    /**
+     * Returns the total time spent compressing the packets, in nanoseconds.
+     */
+    public long compressionNanos() {
+        return compressionNanos;
+    }
+
     /**
      * Updates the upper limit on {@link #sentSeq}, which constrains how much more data this tasklet can send.
      *
@@ -32,4 +32,20 @@ public interface Tasklet extends Callable<ProgressState> {
     default boolean isCooperative() {
         return true;
     }
+
+    /**
+     * Called by the worker thread after each {@link #call()} with the
+     * duration of the call. The worker measures it anyway, so the tasklet
+     * doesn't have to read the clock itself.
+     */
+    default void callCompleted(long callNanos) {
+    }
+
+    /**
+     * Releases the resources held by the tasklet. Called after the
+     * execution completed on this member, whether the tasklet finished,
+     * failed or was cancelled.
+     */
+    default void close() {
+    }
 }
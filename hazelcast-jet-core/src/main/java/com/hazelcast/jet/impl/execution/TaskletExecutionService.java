@@ -17,7 +17,11 @@
 package com.hazelcast.jet.impl.execution;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.DoubleProbeFunction;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.config.IdleStrategyType;
+import com.hazelcast.jet.config.InstanceConfig;
 import com.hazelcast.jet.impl.util.NonCompletableFuture;
 import com.hazelcast.jet.impl.util.ProgressState;
 import com.hazelcast.logging.ILogger;
@@ -40,6 +44,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
 
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.withTryCatch;
 import static com.hazelcast.jet.impl.util.LoggingUtil.logFinest;
 import static com.hazelcast.jet.impl.util.Util.uncheckRun;
@@ -48,6 +53,7 @@ import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.regex.Matcher.quoteReplacement;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.partitioningBy;
@@ -55,10 +61,22 @@ import static java.util.stream.Collectors.toList;
 
 public class TaskletExecutionService {
 
-    private static final IdleStrategy IDLER_COOPERATIVE =
-            new BackoffIdleStrategy(0, 0, MICROSECONDS.toNanos(1), MILLISECONDS.toNanos(1));
-    private static final IdleStrategy IDLER_NON_COOPERATIVE =
-            new BackoffIdleStrategy(0, 0, MICROSECONDS.toNanos(1), MILLISECONDS.toNanos(5));
+    private static final long MAX_PARK_NANOS_COOPERATIVE = MILLISECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS_NON_COOPERATIVE = MILLISECONDS.toNanos(5);
+
+    /**
+     * The length of the window over which a cooperative worker measures its
+     * load. At the end of each window the worker publishes its load and tries
+     * to take over a tasklet from an overloaded colleague.
+     */
+    private static final long LOAD_WINDOW_NANOS = SECONDS.toNanos(1);
+
+    /**
+     * The minimum difference between the loads of two workers for a tasklet
+     * to be migrated between them. It prevents tasklets from bouncing between
+     * workers with similar loads.
+     */
+    private static final double REBALANCE_LOAD_DIFFERENCE = 0.2;
 
     private final ExecutorService blockingTaskletExecutor = newCachedThreadPool(new BlockingTaskThreadFactory());
     private final CooperativeWorker[] cooperativeWorkers;
@@ -66,14 +84,63 @@ public class TaskletExecutionService {
     private final String hzInstanceName;
     private final ILogger logger;
     private final AtomicInteger cooperativeThreadIndex = new AtomicInteger();
+    private final IdleStrategy idlerCooperative;
+    private final IdleStrategy idlerNonCooperative;
 
     private volatile boolean isShutdown;
 
     public TaskletExecutionService(HazelcastInstance hz, int threadCount) {
+        this(hz, new InstanceConfig().setCooperativeThreadCount(threadCount));
+    }
+
+    public TaskletExecutionService(HazelcastInstance hz, InstanceConfig config) {
         this.hzInstanceName = hz.getName();
-        this.cooperativeWorkers = new CooperativeWorker[threadCount];
-        this.cooperativeThreadPool = new Thread[threadCount];
+        this.cooperativeWorkers = new CooperativeWorker[config.getCooperativeThreadCount()];
+        this.cooperativeThreadPool = new Thread[config.getCooperativeThreadCount()];
         this.logger = hz.getLoggingService().getLogger(TaskletExecutionService.class);
+        this.idlerCooperative = createIdleStrategy(
+                config.getCooperativeIdleStrategy(), config.getIdleSpinCount(), MAX_PARK_NANOS_COOPERATIVE);
+        this.idlerNonCooperative = createIdleStrategy(
+                config.getNonCooperativeIdleStrategy(), config.getIdleSpinCount(), MAX_PARK_NANOS_NON_COOPERATIVE);
+    }
+
+    static IdleStrategy createIdleStrategy(IdleStrategyType type, int spinCount, long maxParkNanos) {
+        switch (type) {
+            case BUSY_SPIN:
+                return n -> false;
+            case YIELD:
+                return n -> {
+                    Thread.yield();
+                    return false;
+                };
+            case BACKOFF:
+                return new BackoffIdleStrategy(0, 0, MICROSECONDS.toNanos(1), maxParkNanos);
+            case SPIN_THEN_PARK:
+                return new BackoffIdleStrategy(spinCount, 0, MICROSECONDS.toNanos(1), maxParkNanos);
+            default:
+                throw new IllegalArgumentException("Unknown idle strategy: " + type);
+        }
+    }
+
+    /**
+     * Registers the load of each cooperative worker thread under {@code
+     * jet.cooperativeWorker.<index>.load}. It's measured over the last
+     * completed window of about one second and it's the fraction of the time
+     * the worker spent inside the tasklets' {@code call()} methods, so it
+     * ranges from 0 (idle) to 1 (fully busy). It's 0 until the cooperative
+     * threads are started.
+     */
+    public void registerMetrics(MetricsRegistry registry) {
+        for (int i = 0; i < cooperativeWorkers.length; i++) {
+            int index = i;
+            registry.register(this, "jet.cooperativeWorker." + i + ".load", MANDATORY,
+                    (DoubleProbeFunction<TaskletExecutionService>) s -> s.workerLoad(index));
+        }
+    }
+
+    private double workerLoad(int index) {
+        CooperativeWorker worker = cooperativeWorkers[index];
+        return worker == null ? 0 : worker.load;
     }
 
     /**
@@ -139,7 +206,7 @@ public class TaskletExecutionService {
         Arrays.setAll(trackersByThread, i -> new ArrayList());
         for (Tasklet t : tasklets) {
             t.init();
-            trackersByThread[cooperativeThreadIndex.getAndUpdate(i -> (i + 1) % trackersByThread.length)]
+            trackersByThread[leastLoadedWorkerIndex(trackersByThread)]
                     .add(new TaskletTracker(t, executionTracker, jobClassLoader));
         }
         for (int i = 0; i < trackersByThread.length; i++) {
@@ -148,6 +215,30 @@ public class TaskletExecutionService {
         Arrays.stream(cooperativeThreadPool).forEach(LockSupport::unpark);
     }
 
+    /**
+     * Returns the index of the worker with the fewest tasklets, counting also
+     * the ones about to be added. Among workers with equal tasklet count, the
+     * one with the lowest measured load wins. The search starts at a rotating
+     * index so that ties are broken round-robin.
+     */
+    private int leastLoadedWorkerIndex(List<TaskletTracker>[] trackersByThread) {
+        int start = cooperativeThreadIndex.getAndUpdate(i -> (i + 1) % cooperativeWorkers.length);
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        double bestLoad = Double.MAX_VALUE;
+        for (int n = 0; n < cooperativeWorkers.length; n++) {
+            int i = (start + n) % cooperativeWorkers.length;
+            int count = cooperativeWorkers[i].trackers.size() + trackersByThread[i].size();
+            double load = cooperativeWorkers[i].load;
+            if (count < bestCount || count == bestCount && load < bestLoad) {
+                best = i;
+                bestCount = count;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
     private synchronized void ensureThreadsStarted() {
         if (cooperativeWorkers[0] != null) {
             return;
@@ -192,15 +283,20 @@ public class TaskletExecutionService {
                 t.init();
                 long idleCount = 0;
                 ProgressState result;
+                long start = System.nanoTime();
                 do {
                     result = t.call();
+                    final long end = System.nanoTime();
+                    t.callCompleted(end - start);
+                    start = end;
                     if (result.isMadeProgress()) {
                         idleCount = 0;
                     } else {
                         if (idleCount < Integer.MAX_VALUE) {
                             idleCount++;
                         }
-                        IDLER_NON_COOPERATIVE.idle(idleCount);
+                        idlerNonCooperative.idle(idleCount);
+                        start = System.nanoTime();
                     }
                 } while (!result.isDone()
                         && !tracker.executionTracker.executionCompletedExceptionally()
@@ -222,6 +318,14 @@ public class TaskletExecutionService {
         private final List<TaskletTracker> trackers;
         private final CooperativeWorker[] colleagues;
 
+        /**
+         * The fraction of time spent in tasklet calls during the last load
+         * window, see {@link #LOAD_WINDOW_NANOS}.
+         */
+        private volatile double load;
+        private long busyNanos;
+        private long windowStart = System.nanoTime();
+
         CooperativeWorker(CooperativeWorker[] colleagues) {
             this.colleagues = colleagues;
             this.trackers = new CopyOnWriteArrayList<>();
@@ -234,11 +338,10 @@ public class TaskletExecutionService {
             long idleCount = 0;
             while (!isShutdown) {
                 boolean madeProgress = false;
+                // the clock is read once per tasklet call: the end of one
+                // call is the start of the next one
+                long lastNanos = System.nanoTime();
                 for (TaskletTracker t : trackers) {
-                    long start = 0;
-                    if (logger.isFinestEnabled()) {
-                        start = System.nanoTime();
-                    }
                     final CooperativeWorker stealingWorker = t.stealingWorker.get();
                     if (stealingWorker != null) {
                         t.stealingWorker.set(null);
@@ -259,18 +362,25 @@ public class TaskletExecutionService {
                         logger.warning("Exception in " + t.tasklet, e);
                         t.executionTracker.exception(new JetException("Exception in " + t.tasklet + ": " + e, e));
                     }
+                    final long now = System.nanoTime();
+                    final long elapsed = now - lastNanos;
+                    lastNanos = now;
+                    t.tasklet.callCompleted(elapsed);
+                    t.busyNanos += elapsed;
+                    busyNanos += elapsed;
                     if (t.executionTracker.executionCompletedExceptionally()) {
                         dismissTasklet(t);
                     }
 
                     if (logger.isFinestEnabled()) {
-                        long elapsedMs = NANOSECONDS.toMillis((System.nanoTime() - start));
+                        long elapsedMs = NANOSECONDS.toMillis(elapsed);
                         if (elapsedMs > COOPERATIVE_LOGGING_THRESHOLD) {
                             logger.finest("Cooperative tasklet call of '" + t.tasklet + "' took more than "
                                     + COOPERATIVE_LOGGING_THRESHOLD + " ms: " + elapsedMs + "ms");
                         }
                     }
                 }
+                updateLoad(lastNanos);
                 if (madeProgress) {
                     idleCount = 0;
                 } else {
@@ -278,7 +388,7 @@ public class TaskletExecutionService {
                     if (idleCount < Integer.MAX_VALUE) {
                         idleCount++;
                     }
-                    IDLER_COOPERATIVE.idle(idleCount);
+                    idlerCooperative.idle(idleCount);
                 }
             }
             // Best-effort attempt to release all tasklets. A tasklet can still be added
@@ -287,6 +397,60 @@ public class TaskletExecutionService {
             trackers.clear();
         }
 
+        /**
+         * Publishes the load of this worker and its tasklets if the current
+         * load window has elapsed and then tries to rebalance.
+         */
+        private void updateLoad(long now) {
+            final long windowLength = now - windowStart;
+            if (windowLength < LOAD_WINDOW_NANOS) {
+                return;
+            }
+            load = (double) busyNanos / windowLength;
+            for (TaskletTracker t : trackers) {
+                t.load = (double) t.busyNanos / windowLength;
+                t.busyNanos = 0;
+            }
+            busyNanos = 0;
+            windowStart = now;
+            rebalance();
+        }
+
+        /**
+         * Takes over a tasklet from the most loaded colleague, if its load
+         * exceeds ours by at least {@link #REBALANCE_LOAD_DIFFERENCE}. We pick
+         * the tasklet whose load is closest to half the difference, which
+         * equalizes the two loads best. A tasklet whose load isn't lower than
+         * the difference is never picked as moving it wouldn't help. A worker
+         * with a single tasklet is never robbed of it.
+         */
+        private void rebalance() {
+            CooperativeWorker busiest = this;
+            for (CooperativeWorker w : colleagues) {
+                if (w.load > busiest.load && w.trackers.size() > 1) {
+                    busiest = w;
+                }
+            }
+            final double difference = busiest.load - load;
+            if (difference < REBALANCE_LOAD_DIFFERENCE) {
+                return;
+            }
+            TaskletTracker candidate = null;
+            double candidateDistance = Double.MAX_VALUE;
+            for (TaskletTracker t : busiest.trackers) {
+                final double distance = Math.abs(difference / 2 - t.load);
+                if (t.load > 0 && t.load < difference && distance < candidateDistance
+                        && t.stealingWorker.get() == null) {
+                    candidate = t;
+                    candidateDistance = distance;
+                }
+            }
+            if (candidate != null && candidate.stealingWorker.compareAndSet(null, this)) {
+                logFinest(logger, "Tasklet %s was migrated from a worker with load %.2f to this worker with load %.2f",
+                        candidate.tasklet, busiest.load, load);
+            }
+        }
+
         private void dismissTasklet(TaskletTracker t) {
             t.executionTracker.taskletDone();
             trackers.remove(t);
@@ -322,6 +486,18 @@ public class TaskletExecutionService {
         final ClassLoader jobClassLoader;
         final AtomicReference<CooperativeWorker> stealingWorker = new AtomicReference<>();
 
+        /**
+         * Time spent in {@code tasklet.call()} in the current load window of
+         * the owning worker. Only accessed by the owning worker.
+         */
+        long busyNanos;
+
+        /**
+         * The fraction of time spent in {@code tasklet.call()} in the last
+         * completed load window of the owning worker.
+         */
+        volatile double load;
+
         TaskletTracker(Tasklet tasklet, ExecutionTracker executionTracker, ClassLoader jobClassLoader) {
             this.tasklet = tasklet;
             this.executionTracker = executionTracker;
@@ -21,10 +21,12 @@ import com.hazelcast.jet.config.ProcessingGuarantee;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.impl.execution.CompletionSignals;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.serialization.SerializationService;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class Contexts {
 
@@ -104,14 +106,23 @@ public final class Contexts {
         private final int index;
         private final SerializationService serService;
         private final ProcessingGuarantee processingGuarantee;
+        private final CompletionSignals completionSignals;
 
         public ProcCtx(JetInstance instance, SerializationService serService, ILogger logger, String vertexName,
                        int index, ProcessingGuarantee processingGuarantee, int localParallelism, int totalParallelism,
                        int memberIndex, int memberCount) {
+            this(instance, serService, logger, vertexName, index, processingGuarantee, localParallelism,
+                    totalParallelism, memberIndex, memberCount, new CompletionSignals());
+        }
+
+        public ProcCtx(JetInstance instance, SerializationService serService, ILogger logger, String vertexName,
+                       int index, ProcessingGuarantee processingGuarantee, int localParallelism, int totalParallelism,
+                       int memberIndex, int memberCount, CompletionSignals completionSignals) {
             super(instance, logger, vertexName, localParallelism, totalParallelism, memberIndex, memberCount);
             this.serService = serService;
             this.index = index;
             this.processingGuarantee = processingGuarantee;
+            this.completionSignals = completionSignals;
         }
 
         @Override
@@ -127,5 +138,29 @@ public final class Contexts {
         public SerializationService getSerializationService() {
             return serService;
         }
+
+        /**
+         * Returns the completion signal with the given name. It's a flag
+         * shared by all processors of the job execution on this member, a
+         * downstream processor can set it to tell the upstream ones that it
+         * doesn't need any more input. Setting the returned flag affects only
+         * this member, use {@link #signalCompletionOnAllMembers} if the
+         * upstream processors on the other members can stop too.
+         */
+        public AtomicBoolean completionSignal(String name) {
+            return completionSignals.get(name);
+        }
+
+        /**
+         * Sets the completion signal with the given name on all members of
+         * the job execution. The other members are notified asynchronously.
+         */
+        public void signalCompletionOnAllMembers(String name) {
+            completionSignals.setOnAllMembers(name);
+        }
+
+        public CompletionSignals completionSignals() {
+            return completionSignals;
+        }
     }
 }
@@ -20,6 +20,7 @@ import com.hazelcast.jet.core.Edge;
 import com.hazelcast.jet.core.Edge.RoutingPolicy;
 import com.hazelcast.jet.config.EdgeConfig;
 import com.hazelcast.jet.core.Partitioner;
+import com.hazelcast.jet.function.DistributedBiConsumer;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -37,6 +38,7 @@ public class EdgeDef implements IdentifiedDataSerializable {
     private RoutingPolicy routingPolicy;
     private Partitioner partitioner;
     private EdgeConfig config;
+    private DistributedBiConsumer<?, ?> senderCombineFn;
 
     // transient fields populated and used after deserialization
     private transient String id;
@@ -56,6 +58,7 @@ public class EdgeDef implements IdentifiedDataSerializable {
         this.routingPolicy = edge.getRoutingPolicy();
         this.partitioner = edge.getPartitioner();
         this.config = config;
+        this.senderCombineFn = edge.getSenderCombineFn();
     }
 
     void initTransientFields(Map<Integer, VertexDef> vMap, VertexDef nearVertex, boolean isOutbound) {
@@ -105,6 +108,10 @@ public class EdgeDef implements IdentifiedDataSerializable {
         return config;
     }
 
+    DistributedBiConsumer<?, ?> senderCombineFn() {
+        return senderCombineFn;
+    }
+
 
     // IdentifiedDataSerializable implementation
 
@@ -128,6 +135,7 @@ public class EdgeDef implements IdentifiedDataSerializable {
         out.writeObject(routingPolicy);
         CustomClassLoadedObject.write(out, partitioner);
         out.writeObject(config);
+        CustomClassLoadedObject.write(out, senderCombineFn);
     }
 
     @Override
@@ -140,6 +148,7 @@ public class EdgeDef implements IdentifiedDataSerializable {
         routingPolicy = in.readObject();
         partitioner = CustomClassLoadedObject.read(in);
         config = in.readObject();
+        senderCombineFn = CustomClassLoadedObject.read(in);
     }
 
     @Override public String toString() {
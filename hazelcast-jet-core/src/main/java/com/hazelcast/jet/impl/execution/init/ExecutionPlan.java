@@ -16,6 +16,8 @@
 
 package com.hazelcast.jet.impl.execution.init;
 
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.util.concurrent.ConcurrentConveyor;
 import com.hazelcast.internal.util.concurrent.OneToOneConcurrentArrayQueue;
 import com.hazelcast.internal.util.concurrent.QueuedPipe;
@@ -28,6 +30,7 @@ import com.hazelcast.jet.core.Edge.RoutingPolicy;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.impl.JetService;
+import com.hazelcast.jet.impl.execution.CompletionSignals;
 import com.hazelcast.jet.impl.execution.ConcurrentInboundEdgeStream;
 import com.hazelcast.jet.impl.execution.ConveyorCollector;
 import com.hazelcast.jet.impl.execution.ConveyorCollectorWithPartition;
@@ -126,7 +129,8 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
         this.memberCount = memberCount;
     }
 
-    public void initialize(NodeEngine nodeEngine, long jobId, long executionId, SnapshotContext snapshotContext) {
+    public void initialize(NodeEngine nodeEngine, long jobId, long executionId, SnapshotContext snapshotContext,
+                           CompletionSignals completionSignals) {
         this.nodeEngine = nodeEngine;
         this.executionId = executionId;
         initProcSuppliers();
@@ -163,7 +167,8 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                         vertex.localParallelism(),
                         memberCount * vertex.localParallelism(),
                         memberIndex,
-                        memberCount
+                        memberCount,
+                        completionSignals
                 );
 
                  String probePrefix = String.format("jet.job.%s.%s#%d", idToString(executionId), vertex.name(),
@@ -178,7 +183,9 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                 OutboundCollector snapshotCollector = new ConveyorCollector(ssConveyor, localProcessorIdx, null);
 
                 ProcessorTasklet processorTasklet = new ProcessorTasklet(context, p, inboundStreams, outboundStreams,
-                        snapshotContext, snapshotCollector, jobConfig.getMaxWatermarkRetainMillis());
+                        snapshotContext, snapshotCollector, jobConfig.getMaxWatermarkRetainMillis(),
+                        jobConfig.getLatencyMarkerIntervalMillis());
+                processorTasklet.registerMetrics(((NodeEngineImpl) nodeEngine).getMetricsRegistry(), probePrefix);
                 tasklets.add(processorTasklet);
                 this.processors.add(p);
                 localProcessorIdx++;
@@ -190,6 +197,24 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                                                         .collect(toList());
 
         tasklets.addAll(allReceivers);
+        registerSenderAndReceiverMetrics();
+    }
+
+    /**
+     * Registers the metrics of the sender and receiver tasklets under {@code
+     * jet.job.<executionId>.sender.<destVertex>#<destOrdinal>.<destAddress>}
+     * and {@code jet.job.<executionId>.receiver.<destVertex>#<destOrdinal>.<srcAddress>}.
+     */
+    private void registerSenderAndReceiverMetrics() {
+        MetricsRegistry metricsRegistry = ((NodeEngineImpl) nodeEngine).getMetricsRegistry();
+        Map<Integer, String> vertexNames = vertices.stream().collect(toMap(VertexDef::vertexId, VertexDef::name));
+        String prefix = "jet.job." + idToString(executionId);
+        senderMap.forEach((vertexId, ordinalToSenders) -> ordinalToSenders.forEach((ordinal, addrToSender) ->
+                addrToSender.forEach((addr, sender) -> metricsRegistry.scanAndRegister(sender,
+                        prefix + ".sender." + vertexNames.get(vertexId) + '#' + ordinal + '.' + addr))));
+        receiverMap.forEach((vertexId, ordinalToReceivers) -> ordinalToReceivers.forEach((ordinal, addrToReceiver) ->
+                addrToReceiver.forEach((addr, receiver) -> metricsRegistry.scanAndRegister(receiver,
+                        prefix + ".receiver." + vertexNames.get(vertexId) + '#' + ordinal + '.' + addr))));
     }
 
     public static String createLoggerName(String processorClassName, String vertexName, int processorIndex) {
@@ -337,7 +362,8 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                                 + destAddr.toString().replace('.', '-'));
                 final int destVertexId = edge.destVertex().vertexId();
                 final SenderTasklet t = new SenderTasklet(inboundEdgeStream, nodeEngine,
-                        destAddr, executionId, destVertexId, edge.getConfig().getPacketSizeLimit());
+                        destAddr, executionId, destVertexId, edge.getConfig().getPacketSizeLimit(),
+                        edge.getConfig().isCompressionEnabled(), edge.senderCombineFn());
                 senderMap.computeIfAbsent(destVertexId, xx -> new HashMap<>())
                          .computeIfAbsent(edge.destOrdinal(), xx -> new HashMap<>())
                          .put(destAddr, t);
@@ -457,7 +483,9 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                            final OutboundCollector collector = compositeCollector(collectors, edge, totalPtionCount);
                            ReceiverTasklet receiverTasklet = new ReceiverTasklet(
                                    collector, edge.getConfig().getReceiveWindowMultiplier(),
-                                   getConfig().getInstanceConfig().getFlowControlPeriodMs());
+                                   getConfig().getInstanceConfig().getFlowControlPeriodMs(),
+                                   (InternalSerializationService) nodeEngine.getSerializationService(),
+                                   edge.getConfig().isCompressionEnabled());
                            addrToTasklet.put(addr, receiverTasklet);
                        }
                        return addrToTasklet;
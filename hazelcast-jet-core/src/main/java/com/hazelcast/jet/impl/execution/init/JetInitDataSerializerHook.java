@@ -32,8 +32,11 @@ import com.hazelcast.jet.impl.operation.CancelJobOperation;
 import com.hazelcast.jet.impl.operation.CompleteExecutionOperation;
 import com.hazelcast.jet.impl.operation.GetJobConfigOperation;
 import com.hazelcast.jet.impl.operation.GetJobIdsByNameOperation;
+import com.hazelcast.jet.impl.operation.GetJobMetricsOperation;
 import com.hazelcast.jet.impl.operation.GetJobSubmissionTimeOperation;
+import com.hazelcast.jet.impl.operation.GetLocalJobMetricsOperation;
 import com.hazelcast.jet.impl.operation.RestartJobOperation;
+import com.hazelcast.jet.impl.operation.SignalCompletionOperation;
 import com.hazelcast.jet.impl.operation.StartExecutionOperation;
 import com.hazelcast.jet.impl.operation.GetJobIdsOperation;
 import com.hazelcast.jet.impl.operation.GetJobStatusOperation;
@@ -43,6 +46,7 @@ import com.hazelcast.jet.impl.operation.SnapshotOperation;
 import com.hazelcast.jet.impl.operation.SubmitJobOperation;
 import com.hazelcast.jet.impl.processor.SessionWindowP;
 import com.hazelcast.jet.impl.processor.SnapshotKey;
+import com.hazelcast.jet.impl.processor.StreamJoinP;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -82,6 +86,10 @@ public final class JetInitDataSerializerHook implements DataSerializerHook {
     public static final int RESTART_JOB_OP = 27;
     public static final int ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_KEY = 28;
     public static final int ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TERMINATOR = 29;
+    public static final int GET_JOB_METRICS_OP = 30;
+    public static final int GET_LOCAL_JOB_METRICS_OP = 31;
+    public static final int STREAM_JOIN_P_BUFFERS = 32;
+    public static final int SIGNAL_COMPLETION_OP = 33;
 
     public static final int FACTORY_ID = FactoryIdHelper.getFactoryId(JET_IMPL_DS_FACTORY, JET_IMPL_DS_FACTORY_ID);
 
@@ -161,6 +169,14 @@ public final class JetInitDataSerializerHook implements DataSerializerHook {
                     return new AsyncSnapshotWriterImpl.SnapshotDataKey();
                 case ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TERMINATOR:
                     return AsyncSnapshotWriterImpl.SnapshotDataValueTerminator.INSTANCE;
+                case GET_JOB_METRICS_OP:
+                    return new GetJobMetricsOperation();
+                case GET_LOCAL_JOB_METRICS_OP:
+                    return new GetLocalJobMetricsOperation();
+                case STREAM_JOIN_P_BUFFERS:
+                    return new StreamJoinP.Buffers();
+                case SIGNAL_COMPLETION_OP:
+                    return new SignalCompletionOperation();
                 default:
                     throw new IllegalArgumentException("Unknown type id " + typeId);
             }
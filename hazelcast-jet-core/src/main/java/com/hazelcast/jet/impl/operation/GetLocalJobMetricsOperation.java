@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.operation;
+
+import com.hazelcast.jet.core.JobMetrics;
+import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.jet.impl.util.Util.idToString;
+import static com.hazelcast.jet.impl.util.Util.readMetrics;
+
+/**
+ * Returns the metrics of the given job execution registered on the member
+ * it runs on. Sent by the master to all the participants of the execution.
+ */
+public class GetLocalJobMetricsOperation extends AbstractJobOperation {
+
+    private long executionId;
+    private JobMetrics response;
+
+    public GetLocalJobMetricsOperation() {
+    }
+
+    public GetLocalJobMetricsOperation(long jobId, long executionId) {
+        super(jobId);
+        this.executionId = executionId;
+    }
+
+    @Override
+    public void run() throws Exception {
+        String prefix = "jet.job." + idToString(executionId) + '.';
+        String memberPrefix = getNodeEngine().getThisAddress().toString() + '/';
+        Map<String, Long> metrics = new HashMap<>();
+        readMetrics(((NodeEngineImpl) getNodeEngine()).getMetricsRegistry(), prefix)
+                .forEach((name, value) -> metrics.put(memberPrefix + name, value));
+        response = JobMetrics.of(metrics);
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    public int getId() {
+        return JetInitDataSerializerHook.GET_LOCAL_JOB_METRICS_OP;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(executionId);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        executionId = in.readLong();
+    }
+}
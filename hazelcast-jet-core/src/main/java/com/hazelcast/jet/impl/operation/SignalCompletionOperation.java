@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.operation;
+
+import com.hazelcast.jet.impl.JetService;
+import com.hazelcast.jet.impl.execution.ExecutionContext;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Sets a {@link ProcCtx#completionSignal completion signal} of a job
+ * execution on the target member. Sent by a member to all other members
+ * of the execution when a processor on it {@link
+ * ProcCtx#signalCompletionOnAllMembers sets the signal on all members}.
+ */
+public class SignalCompletionOperation extends AbstractJobOperation {
+
+    private long executionId;
+    private String signalName;
+
+    // for deserialization
+    public SignalCompletionOperation() {
+    }
+
+    public SignalCompletionOperation(long jobId, long executionId, String signalName) {
+        super(jobId);
+        this.executionId = executionId;
+        this.signalName = signalName;
+    }
+
+    @Override
+    public void run() throws Exception {
+        JetService service = getService();
+        ExecutionContext ctx = service.getJobExecutionService().getExecutionContext(executionId);
+        // the execution might have already completed on this member
+        if (ctx != null && ctx.jobId() == jobId() && ctx.hasParticipant(getCallerAddress())) {
+            ctx.completionSignals().get(signalName).set(true);
+        }
+    }
+
+    @Override
+    public int getId() {
+        return JetInitDataSerializerHook.SIGNAL_COMPLETION_OP;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeLong(executionId);
+        out.writeUTF(signalName);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        executionId = in.readLong();
+        signalName = in.readUTF();
+    }
+}
@@ -36,6 +36,7 @@ import com.hazelcast.jet.pipeline.JoinClause;
 import com.hazelcast.jet.pipeline.StageWithGrouping;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -100,6 +101,22 @@ public class BatchStageImpl<T> extends ComputeStageImplBase<T> implements BatchS
         return attachFlatMapUsingContext(contextFactory, flatMapFn);
     }
 
+    @Nonnull @Override
+    public <C, R> BatchStage<R> mapUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<R>> mapAsyncFn
+    ) {
+        return attachMapUsingContextAsync(contextFactory, mapAsyncFn);
+    }
+
+    @Nonnull @Override
+    public <C> BatchStage<T> filterUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<Boolean>> filterAsyncFn
+    ) {
+        return attachFilterUsingContextAsync(contextFactory, filterAsyncFn);
+    }
+
     @Nonnull @Override
     public <K, T1_IN, T1, R> BatchStage<R> hashJoin(
             @Nonnull BatchStage<T1_IN> stage1,
@@ -30,11 +30,13 @@ import com.hazelcast.jet.function.DistributedToLongFunction;
 import com.hazelcast.jet.function.DistributedTriFunction;
 import com.hazelcast.jet.impl.pipeline.transform.AbstractTransform;
 import com.hazelcast.jet.impl.pipeline.transform.FilterTransform;
+import com.hazelcast.jet.impl.pipeline.transform.FilterUsingContextAsyncTransform;
 import com.hazelcast.jet.impl.pipeline.transform.FilterUsingContextTransform;
 import com.hazelcast.jet.impl.pipeline.transform.FlatMapTransform;
 import com.hazelcast.jet.impl.pipeline.transform.FlatMapUsingContextTransform;
 import com.hazelcast.jet.impl.pipeline.transform.HashJoinTransform;
 import com.hazelcast.jet.impl.pipeline.transform.MapTransform;
+import com.hazelcast.jet.impl.pipeline.transform.MapUsingContextAsyncTransform;
 import com.hazelcast.jet.impl.pipeline.transform.MapUsingContextTransform;
 import com.hazelcast.jet.impl.pipeline.transform.PeekTransform;
 import com.hazelcast.jet.impl.pipeline.transform.ProcessorTransform;
@@ -50,6 +52,7 @@ import com.hazelcast.jet.pipeline.SinkStage;
 import com.hazelcast.jet.pipeline.StreamStage;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
 
 import static com.hazelcast.jet.core.WatermarkGenerationParams.DEFAULT_IDLE_TIMEOUT;
 import static com.hazelcast.jet.core.WatermarkGenerationParams.wmGenParams;
@@ -124,6 +127,16 @@ public abstract class ComputeStageImplBase<T> extends AbstractStage {
                 fnAdapter.adaptMapUsingContextFn(mapFn)), fnAdapter);
     }
 
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    <C, R, RET> RET attachMapUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<R>> mapAsyncFn
+    ) {
+        return (RET) attach(new MapUsingContextAsyncTransform(this.transform, contextFactory,
+                fnAdapter.adaptMapUsingContextAsyncFn(mapAsyncFn)), fnAdapter);
+    }
+
     @Nonnull
     @SuppressWarnings("unchecked")
     <RET> RET attachFilter(@Nonnull DistributedPredicate<T> filterFn) {
@@ -140,6 +153,16 @@ public abstract class ComputeStageImplBase<T> extends AbstractStage {
                 fnAdapter.adaptFilterUsingContextFn(filterFn)), fnAdapter);
     }
 
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    <C, RET> RET attachFilterUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<Boolean>> filterAsyncFn
+    ) {
+        return (RET) attach(new FilterUsingContextAsyncTransform(transform, contextFactory,
+                fnAdapter.adaptFilterUsingContextAsyncFn(filterAsyncFn)), fnAdapter);
+    }
+
     @Nonnull
     <R, RET> RET attachFlatMap(
             @Nonnull DistributedFunction<? super T, ? extends Traverser<? extends R>> flatMapFn
@@ -39,6 +39,7 @@ import com.hazelcast.jet.pipeline.JoinClause;
 import javax.annotation.Nonnull;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -60,6 +61,12 @@ public class FunctionAdapter {
         return mapFn;
     }
 
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    DistributedBiFunction<?, ?, ?> adaptMapUsingContextAsyncFn(@Nonnull DistributedBiFunction mapAsyncFn) {
+        return mapAsyncFn;
+    }
+
     @Nonnull
     @SuppressWarnings("unchecked")
     DistributedPredicate<?> adaptFilterFn(@Nonnull DistributedPredicate filterFn) {
@@ -72,6 +79,12 @@ public class FunctionAdapter {
         return filterFn;
     }
 
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    DistributedBiFunction<?, ?, ?> adaptFilterUsingContextAsyncFn(@Nonnull DistributedBiFunction filterAsyncFn) {
+        return filterAsyncFn;
+    }
+
     @Nonnull
     @SuppressWarnings("unchecked")
     <R, T> DistributedFunction<Object, ? extends Traverser<?>> adaptFlatMapFn(
@@ -206,6 +219,13 @@ class JetEventFunctionAdapter extends FunctionAdapter {
         };
     }
 
+    @Nonnull @Override
+    @SuppressWarnings("unchecked")
+    DistributedBiFunction adaptMapUsingContextAsyncFn(@Nonnull DistributedBiFunction mapAsyncFn) {
+        return (context, e) -> ((CompletableFuture<Object>) mapAsyncFn.apply(context, ((JetEvent) e).payload()))
+                .thenApply(result -> result != null ? jetEvent(result, ((JetEvent) e).timestamp()) : null);
+    }
+
     @Nonnull @Override
     @SuppressWarnings("unchecked")
     DistributedPredicate adaptFilterFn(@Nonnull DistributedPredicate filterFn) {
@@ -218,6 +238,12 @@ class JetEventFunctionAdapter extends FunctionAdapter {
         return (context, e) -> filterFn.test(context, ((JetEvent) e).payload());
     }
 
+    @Nonnull @Override
+    @SuppressWarnings("unchecked")
+    DistributedBiFunction adaptFilterUsingContextAsyncFn(@Nonnull DistributedBiFunction filterAsyncFn) {
+        return (context, e) -> filterAsyncFn.apply(context, ((JetEvent) e).payload());
+    }
+
     @Nonnull @Override
     @SuppressWarnings("unchecked")
     <R, T> DistributedFunction<? super Object, ? extends Traverser<?>> adaptFlatMapFn(
@@ -246,8 +272,15 @@ class JetEventFunctionAdapter extends FunctionAdapter {
     @Nonnull @Override
     @SuppressWarnings("unchecked")
     public JoinClause adaptJoinClause(@Nonnull JoinClause joinClause) {
-        return onKeys(adaptKeyFn(joinClause.leftKeyFn()), joinClause.rightKeyFn())
+        JoinClause adapted = onKeys(adaptKeyFn(joinClause.leftKeyFn()), joinClause.rightKeyFn())
                 .projecting(joinClause.rightProjectFn());
+        if (joinClause.isOneToMany()) {
+            adapted = adapted.oneToMany();
+        }
+        if (joinClause.isPartitioned()) {
+            adapted = adapted.partitioned();
+        }
+        return adapted;
     }
 
     @Override
@@ -336,6 +369,14 @@ class JetEventFunctionAdapter extends FunctionAdapter {
         return e -> keyFn.apply(e.payload());
     }
 
+    @Nonnull
+    static <T, T1, R> DistributedBiFunction<JetEvent<T>, JetEvent<T1>, JetEvent<R>> adaptStreamJoinOutputFn(
+            @Nonnull DistributedBiFunction<? super T, ? super T1, ? extends R> mapToOutputFn
+    ) {
+        return (e, e1) -> jetEvent(mapToOutputFn.apply(e.payload(), e1.payload()),
+                Math.max(e.timestamp(), e1.timestamp()));
+    }
+
     @Nonnull
     @SuppressWarnings("unchecked")
     private static <A, T> DistributedBiConsumer<? super A, ? super JetEvent<T>> adaptAccumulateFn(
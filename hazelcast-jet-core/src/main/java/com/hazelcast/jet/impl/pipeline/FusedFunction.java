@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.pipeline;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.jet.function.DistributedPredicate;
+import com.hazelcast.jet.function.DistributedSupplier;
+
+import javax.annotation.Nonnull;
+
+import static com.hazelcast.jet.core.processor.Processors.flatMapP;
+import static com.hazelcast.jet.core.processor.Processors.mapP;
+
+/**
+ * The function of a chain of stateless map, filter and flat-map transforms
+ * which the {@link Planner} fuses into a single vertex. As long as the
+ * chain contains no flat-map, it's a single map function which returns
+ * {@code null} to filter out an item. Otherwise it's a flat-map function
+ * and the stages after the first flat-map are applied to the traverser it
+ * returns.
+ */
+public final class FusedFunction {
+
+    private final DistributedFunction<Object, Object> mapFn;
+    private final DistributedFunction<Object, Traverser<Object>> flatMapFn;
+
+    private FusedFunction(
+            DistributedFunction<Object, Object> mapFn,
+            DistributedFunction<Object, Traverser<Object>> flatMapFn
+    ) {
+        assert mapFn == null ^ flatMapFn == null : "exactly one function must be given";
+        this.mapFn = mapFn;
+        this.flatMapFn = flatMapFn;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static FusedFunction map(@Nonnull DistributedFunction<?, ?> mapFn) {
+        return new FusedFunction((DistributedFunction<Object, Object>) mapFn, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static FusedFunction filter(@Nonnull DistributedPredicate<?> filterFn) {
+        DistributedPredicate<Object> filterFn1 = (DistributedPredicate<Object>) filterFn;
+        return new FusedFunction(t -> filterFn1.test(t) ? t : null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static FusedFunction flatMap(@Nonnull DistributedFunction<?, ? extends Traverser<?>> flatMapFn) {
+        return new FusedFunction(null, (DistributedFunction<Object, Traverser<Object>>) flatMapFn);
+    }
+
+    /**
+     * Returns a function that applies this function and then the given one
+     * to its results.
+     */
+    @Nonnull
+    FusedFunction andThen(@Nonnull FusedFunction next) {
+        DistributedFunction<Object, Object> mapFn1 = mapFn;
+        DistributedFunction<Object, Traverser<Object>> flatMapFn1 = flatMapFn;
+        DistributedFunction<Object, Object> mapFn2 = next.mapFn;
+        DistributedFunction<Object, Traverser<Object>> flatMapFn2 = next.flatMapFn;
+        if (mapFn1 != null) {
+            return mapFn2 != null
+                    ? new FusedFunction(t -> {
+                        Object r = mapFn1.apply(t);
+                        return r != null ? mapFn2.apply(r) : null;
+                    }, null)
+                    : new FusedFunction(null, t -> {
+                        Object r = mapFn1.apply(t);
+                        return r != null ? flatMapFn2.apply(r) : Traversers.empty();
+                    });
+        }
+        return mapFn2 != null
+                ? new FusedFunction(null, t -> flatMapFn1.apply(t).map(mapFn2))
+                : new FusedFunction(null, t -> flatMapFn1.apply(t).flatMap(flatMapFn2));
+    }
+
+    @Nonnull
+    DistributedSupplier<Processor> processorSupplier() {
+        return mapFn != null ? mapP(mapFn) : flatMapP(flatMapFn);
+    }
+}
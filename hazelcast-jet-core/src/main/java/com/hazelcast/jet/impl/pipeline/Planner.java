@@ -55,13 +55,15 @@ public class Planner {
 
     private final PipelineImpl pipeline;
     private final Set<String> vertexNames = new HashSet<>();
+    private final Map<Transform, FusedFunction> xform2fusedFn = new HashMap<>();
+    private Map<Transform, List<Transform>> adjacencyMap;
 
     Planner(PipelineImpl pipeline) {
         this.pipeline = pipeline;
     }
 
     DAG createDag() {
-        Map<Transform, List<Transform>> adjacencyMap = pipeline.adjacencyMap();
+        adjacencyMap = pipeline.adjacencyMap();
         validateNoLeakage(adjacencyMap);
 
         // Calculate greatest common denominator of frame lengths from all transforms in the pipeline
@@ -123,6 +125,33 @@ public class Planner {
         return pv;
     }
 
+    /**
+     * Adds the vertex for a stateless map, filter or flat-map transform. If
+     * the upstream transform is also such a transform, has the same local
+     * parallelism and this transform is its only downstream, it doesn't add
+     * a new vertex but fuses this transform's function into the upstream's
+     * vertex. This saves a queue hop per item between the two vertices.
+     */
+    public void addFusibleVertex(Transform transform, FusedFunction fusedFn) {
+        Transform upstream = transform.upstream().get(0);
+        FusedFunction upstreamFn = xform2fusedFn.get(upstream);
+        if (upstreamFn != null
+                && upstream.localParallelism() == transform.localParallelism()
+                && adjacencyMap.get(upstream).size() == 1
+        ) {
+            FusedFunction composedFn = upstreamFn.andThen(fusedFn);
+            PlannerVertex pv = xform2vertex.get(upstream);
+            pv.v.updateMetaSupplier(sup -> ProcessorMetaSupplier.of(composedFn.processorSupplier()));
+            xform2vertex.put(transform, pv);
+            xform2fusedFn.put(transform, composedFn);
+            return;
+        }
+        PlannerVertex pv = addVertex(transform, uniqueVertexName(transform.name(), ""), transform.localParallelism(),
+                fusedFn.processorSupplier());
+        addEdges(transform, pv.v);
+        xform2fusedFn.put(transform, fusedFn);
+    }
+
     public void addEdges(Transform transform, Vertex toVertex, BiConsumer<Edge, Integer> configureEdgeFn) {
         int destOrdinal = 0;
         for (Transform fromTransform : transform.upstream()) {
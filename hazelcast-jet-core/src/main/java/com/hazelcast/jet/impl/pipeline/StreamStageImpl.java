@@ -25,6 +25,7 @@ import com.hazelcast.jet.function.DistributedPredicate;
 import com.hazelcast.jet.function.DistributedSupplier;
 import com.hazelcast.jet.function.DistributedTriFunction;
 import com.hazelcast.jet.impl.pipeline.transform.AbstractTransform;
+import com.hazelcast.jet.impl.pipeline.transform.StreamJoinTransform;
 import com.hazelcast.jet.impl.pipeline.transform.Transform;
 import com.hazelcast.jet.pipeline.BatchStage;
 import com.hazelcast.jet.pipeline.ContextFactory;
@@ -35,6 +36,12 @@ import com.hazelcast.jet.pipeline.StreamStageWithGrouping;
 import com.hazelcast.jet.pipeline.WindowDefinition;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.jet.impl.pipeline.JetEventFunctionAdapter.adaptKeyFn;
+import static com.hazelcast.jet.impl.pipeline.JetEventFunctionAdapter.adaptStreamJoinOutputFn;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static java.util.Arrays.asList;
 
 public class StreamStageImpl<T> extends ComputeStageImplBase<T> implements StreamStage<T> {
 
@@ -97,6 +104,22 @@ public class StreamStageImpl<T> extends ComputeStageImplBase<T> implements Strea
         return attachFlatMapUsingContext(contextFactory, flatMapFn);
     }
 
+    @Nonnull @Override
+    public <C, R> StreamStage<R> mapUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<R>> mapAsyncFn
+    ) {
+        return attachMapUsingContextAsync(contextFactory, mapAsyncFn);
+    }
+
+    @Nonnull @Override
+    public <C> StreamStage<T> filterUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<Boolean>> filterAsyncFn
+    ) {
+        return attachFilterUsingContextAsync(contextFactory, filterAsyncFn);
+    }
+
     @Nonnull @Override
     public <K, T1_IN, T1, R> StreamStage<R> hashJoin(
             @Nonnull BatchStage<T1_IN> stage1,
@@ -117,6 +140,27 @@ public class StreamStageImpl<T> extends ComputeStageImplBase<T> implements Strea
         return attachHashJoin2(stage1, joinClause1, stage2, joinClause2, mapToOutputFn);
     }
 
+    @Nonnull @Override
+    @SuppressWarnings("unchecked")
+    public <K, T1, R> StreamStage<R> windowJoin(
+            @Nonnull StreamStage<T1> stage1,
+            @Nonnull DistributedFunction<? super T, ? extends K> leftKeyFn,
+            @Nonnull DistributedFunction<? super T1, ? extends K> rightKeyFn,
+            long maxTimeDifference,
+            @Nonnull DistributedBiFunction<? super T, ? super T1, ? extends R> mapToOutputFn
+    ) {
+        checkNotNegative(maxTimeDifference, "maxTimeDifference must not be negative");
+        ComputeStageImplBase stageImpl1 = (ComputeStageImplBase) stage1;
+        ensureJetEvents(this, "This pipeline stage");
+        ensureJetEvents(stageImpl1, "stage1");
+        return attach(new StreamJoinTransform<K, JetEvent<R>>(
+                asList(transform, stageImpl1.transform),
+                asList(adaptKeyFn(leftKeyFn), adaptKeyFn(rightKeyFn)),
+                maxTimeDifference,
+                adaptStreamJoinOutputFn(mapToOutputFn)
+        ), ADAPT_TO_JET_EVENT);
+    }
+
     @Nonnull @Override
     public StreamStage<T> peek(
             @Nonnull DistributedPredicate<? super T> shouldLogFn,
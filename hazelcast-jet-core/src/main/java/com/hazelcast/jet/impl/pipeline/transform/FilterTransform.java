@@ -17,13 +17,11 @@
 package com.hazelcast.jet.impl.pipeline.transform;
 
 import com.hazelcast.jet.function.DistributedPredicate;
+import com.hazelcast.jet.impl.pipeline.FusedFunction;
 import com.hazelcast.jet.impl.pipeline.Planner;
-import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
 
 import javax.annotation.Nonnull;
 
-import static com.hazelcast.jet.core.processor.Processors.filterP;
-
 public class FilterTransform<T> extends AbstractTransform {
     @Nonnull
     private DistributedPredicate<? super T> filterFn;
@@ -42,7 +40,6 @@ public class FilterTransform<T> extends AbstractTransform {
 
     @Override
     public void addToDag(Planner p) {
-        PlannerVertex pv = p.addVertex(this, p.uniqueVertexName(name(), ""), localParallelism(), filterP(filterFn()));
-        p.addEdges(this, pv.v);
+        p.addFusibleVertex(this, FusedFunction.filter(filterFn()));
     }
 }
@@ -18,13 +18,11 @@ package com.hazelcast.jet.impl.pipeline.transform;
 
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.jet.impl.pipeline.FusedFunction;
 import com.hazelcast.jet.impl.pipeline.Planner;
-import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
 
 import javax.annotation.Nonnull;
 
-import static com.hazelcast.jet.core.processor.Processors.flatMapP;
-
 public class FlatMapTransform<T, R> extends AbstractTransform {
     @Nonnull
     private DistributedFunction<? super T, ? extends Traverser<? extends R>> flatMapFn;
@@ -44,7 +42,6 @@ public class FlatMapTransform<T, R> extends AbstractTransform {
 
     @Override
     public void addToDag(Planner p) {
-        PlannerVertex pv = p.addVertex(this, p.uniqueVertexName(name(), ""), localParallelism(), flatMapP(flatMapFn()));
-        p.addEdges(this, pv.v);
+        p.addFusibleVertex(this, FusedFunction.flatMap(flatMapFn()));
     }
 }
@@ -16,10 +16,13 @@
 
 package com.hazelcast.jet.impl.pipeline.transform;
 
+import com.hazelcast.jet.core.Edge;
+import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.datamodel.Tag;
 import com.hazelcast.jet.function.DistributedBiFunction;
 import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.jet.function.DistributedSupplier;
 import com.hazelcast.jet.function.DistributedTriFunction;
 import com.hazelcast.jet.impl.pipeline.Planner;
 import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
@@ -32,9 +35,18 @@ import javax.annotation.Nullable;
 
 import static com.hazelcast.jet.core.Edge.from;
 import static com.hazelcast.jet.impl.pipeline.Planner.tailList;
+import static com.hazelcast.util.Preconditions.checkTrue;
 import static java.util.stream.Collectors.toList;
 
 public class HashJoinTransform<T0, R> extends AbstractTransform {
+    /**
+     * Partitioning key used instead of a {@code null} join key, which the
+     * partitioner can't handle. Any fixed value works: it only makes the
+     * {@code null} keys of both streams meet on the same processor, the
+     * joiner still matches them by the original key.
+     */
+    private static final String NULL_KEY_PARTITIONING_KEY = "null-join-key";
+
     @Nonnull
     private final List<JoinClause<?, ? super T0, ?, ?>> clauses;
     @Nonnull
@@ -51,6 +63,7 @@ public class HashJoinTransform<T0, R> extends AbstractTransform {
             @Nonnull DistributedBiFunction mapToOutputBiFn
     ) {
         super(upstream.size() + "-way hash-join", upstream);
+        checkOnePartitionedClause(clauses);
         this.clauses = clauses;
         this.tags = tags;
         this.mapToOutputBiFn = mapToOutputBiFn;
@@ -64,12 +77,18 @@ public class HashJoinTransform<T0, R> extends AbstractTransform {
             @Nonnull DistributedTriFunction<T0, T1, T2, R> mapToOutputTriFn
     ) {
         super(upstream.size() + "-way hash-join", upstream);
+        checkOnePartitionedClause(clauses);
         this.clauses = clauses;
         this.tags = tags;
         this.mapToOutputBiFn = null;
         this.mapToOutputTriFn = mapToOutputTriFn;
     }
 
+    private static void checkOnePartitionedClause(List<? extends JoinClause<?, ?, ?, ?>> clauses) {
+        checkTrue(clauses.stream().filter(JoinClause::isPartitioned).count() <= 1,
+                "At most one clause of a hash-join can be partitioned");
+    }
+
     //         ---------           ----------           ----------
     //        | primary |         | joined-1 |         | joined-2 |
     //         ---------           ----------           ----------
@@ -91,6 +110,23 @@ public class HashJoinTransform<T0, R> extends AbstractTransform {
     //                              --------
     //                             | joiner |
     //                              --------
+    //
+    // A partitioned clause has no collector. Its joined stream goes to the
+    // joiner over a distributed edge partitioned by the right-hand key and
+    // the primary stream over one partitioned by the left-hand key:
+    //
+    //         ---------           ----------
+    //        | primary |         | joined-1 |
+    //         ---------           ----------
+    //             |                   |
+    //        distributed         distributed
+    //        partitioned         partitioned
+    //         ordinal 0          prioritized
+    //             |               ordinal 1
+    //             v                   v
+    //              --------------------
+    //             |       joiner       |
+    //              --------------------
     @Override
     @SuppressWarnings("unchecked")
     public void addToDag(Planner p) {
@@ -103,9 +139,26 @@ public class HashJoinTransform<T0, R> extends AbstractTransform {
         List<Tag> tags = this.tags;
         DistributedBiFunction mapToOutputBiFn = this.mapToOutputBiFn;
         DistributedTriFunction mapToOutputTriFn = this.mapToOutputTriFn;
-        Vertex joiner = p.addVertex(this, namePrefix + "-joiner", localParallelism(),
-                () -> new HashJoinP<>(keyFns, tags, mapToOutputBiFn, mapToOutputTriFn)).v;
-        p.dag.edge(from(primary.v, primary.nextAvailableOrdinal()).to(joiner, 0));
+        int partitionedOrdinal = partitionedOrdinal();
+        DistributedSupplier<Processor> joinerSupplier;
+        if (partitionedOrdinal == 0) {
+            joinerSupplier = () -> new HashJoinP<>(keyFns, tags, mapToOutputBiFn, mapToOutputTriFn);
+        } else {
+            JoinClause<?, ?, ?, ?> clause = this.clauses.get(partitionedOrdinal - 1);
+            DistributedFunction<Object, Object> getKeyFn = (DistributedFunction<Object, Object>) clause.rightKeyFn();
+            DistributedFunction<Object, Object> projectFn =
+                    (DistributedFunction<Object, Object>) clause.rightProjectFn();
+            boolean oneToMany = clause.isOneToMany();
+            joinerSupplier = () -> new HashJoinP<>(keyFns, tags, mapToOutputBiFn, mapToOutputTriFn,
+                    partitionedOrdinal, new HashJoinCollectP<>(getKeyFn, projectFn, oneToMany));
+        }
+        Vertex joiner = p.addVertex(this, namePrefix + "-joiner", localParallelism(), joinerSupplier).v;
+        Edge primaryEdge = from(primary.v, primary.nextAvailableOrdinal()).to(joiner, 0);
+        if (partitionedOrdinal != 0) {
+            primaryEdge.distributed().partitioned(nullSafePartitioningKeyFn(
+                    (DistributedFunction<Object, Object>) clauses.get(partitionedOrdinal - 1).leftKeyFn()));
+        }
+        p.dag.edge(primaryEdge);
 
         String collectorName = namePrefix + "-collector";
         int collectorOrdinal = 1;
@@ -114,10 +167,18 @@ public class HashJoinTransform<T0, R> extends AbstractTransform {
             JoinClause<?, ?, ?, ?> clause = this.clauses.get(collectorOrdinal - 1);
             DistributedFunction<Object, Object> getKeyFn =
                     (DistributedFunction<Object, Object>) clause.rightKeyFn();
+            if (collectorOrdinal == partitionedOrdinal) {
+                p.dag.edge(from(fromPv.v, fromPv.nextAvailableOrdinal())
+                        .to(joiner, collectorOrdinal)
+                        .distributed().partitioned(nullSafePartitioningKeyFn(getKeyFn)).priority(-1));
+                collectorOrdinal++;
+                continue;
+            }
             DistributedFunction<Object, Object> projectFn =
                     (DistributedFunction<Object, Object>) clause.rightProjectFn();
+            boolean oneToMany = clause.isOneToMany();
             Vertex collector = p.dag.newVertex(collectorName + collectorOrdinal,
-                    () -> new HashJoinCollectP(getKeyFn, projectFn));
+                    () -> new HashJoinCollectP(getKeyFn, projectFn, oneToMany));
             collector.localParallelism(1);
             p.dag.edge(from(fromPv.v, fromPv.nextAvailableOrdinal())
                     .to(collector, 0)
@@ -128,4 +189,26 @@ public class HashJoinTransform<T0, R> extends AbstractTransform {
             collectorOrdinal++;
         }
     }
+
+    private static DistributedFunction<Object, Object> nullSafePartitioningKeyFn(
+            DistributedFunction<Object, Object> keyFn
+    ) {
+        return item -> {
+            Object key = keyFn.apply(item);
+            return key != null ? key : NULL_KEY_PARTITIONING_KEY;
+        };
+    }
+
+    /**
+     * Returns the joiner's ordinal of the partitioned clause, or 0 if there's
+     * none.
+     */
+    private int partitionedOrdinal() {
+        for (int i = 0; i < clauses.size(); i++) {
+            if (clauses.get(i).isPartitioned()) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
 }
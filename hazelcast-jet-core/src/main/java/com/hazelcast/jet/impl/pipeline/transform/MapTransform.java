@@ -17,13 +17,11 @@
 package com.hazelcast.jet.impl.pipeline.transform;
 
 import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.jet.impl.pipeline.FusedFunction;
 import com.hazelcast.jet.impl.pipeline.Planner;
-import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
 
 import javax.annotation.Nonnull;
 
-import static com.hazelcast.jet.core.processor.Processors.mapP;
-
 public class MapTransform<T, R> extends AbstractTransform {
     @Nonnull
     private DistributedFunction<? super T, ? extends R> mapFn;
@@ -42,7 +40,6 @@ public class MapTransform<T, R> extends AbstractTransform {
 
     @Override
     public void addToDag(Planner p) {
-        PlannerVertex pv = p.addVertex(this, p.uniqueVertexName(name(), ""), localParallelism(), mapP(mapFn()));
-        p.addEdges(this, pv.v);
+        p.addFusibleVertex(this, FusedFunction.map(mapFn()));
     }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.pipeline.transform;
+
+import com.hazelcast.jet.function.DistributedBiFunction;
+import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.jet.function.DistributedToLongFunction;
+import com.hazelcast.jet.impl.pipeline.JetEvent;
+import com.hazelcast.jet.impl.pipeline.Planner;
+import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
+import com.hazelcast.jet.impl.processor.StreamJoinP;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+import static java.util.Collections.nCopies;
+
+public class StreamJoinTransform<K, OUT> extends AbstractTransform {
+    @Nonnull
+    private final List<DistributedFunction<?, ? extends K>> keyFns;
+    private final long maxTimeDifference;
+    @Nonnull
+    private final DistributedBiFunction<?, ?, ? extends OUT> mapToOutputFn;
+
+    public StreamJoinTransform(
+            @Nonnull List<Transform> upstream,
+            @Nonnull List<DistributedFunction<?, ? extends K>> keyFns,
+            long maxTimeDifference,
+            @Nonnull DistributedBiFunction<?, ?, ? extends OUT> mapToOutputFn
+    ) {
+        super("stream-join", upstream);
+        this.keyFns = keyFns;
+        this.maxTimeDifference = maxTimeDifference;
+        this.mapToOutputFn = mapToOutputFn;
+    }
+
+    //               ---------       ---------
+    //              | source0 |     | source1 |
+    //               ---------       ---------
+    //                   |              |
+    //              distributed    distributed
+    //              partitioned    partitioned
+    //                   \              /
+    //                    ---\    /-----
+    //                        v  v
+    //                    -------------
+    //                   | StreamJoinP |
+    //                    -------------
+    @Override
+    public void addToDag(Planner p) {
+        List<DistributedToLongFunction<JetEvent>> timestampFns =
+                nCopies(keyFns.size(), (DistributedToLongFunction<JetEvent>) JetEvent::timestamp);
+        List<DistributedFunction<?, ? extends K>> keyFns = this.keyFns;
+        long maxTimeDifference = this.maxTimeDifference;
+        DistributedBiFunction<?, ?, ? extends OUT> mapToOutputFn = this.mapToOutputFn;
+        PlannerVertex pv = p.addVertex(this, p.uniqueVertexName(name(), ""), localParallelism(),
+                () -> new StreamJoinP<>(maxTimeDifference, timestampFns, keyFns, mapToOutputFn));
+        p.addEdges(this, pv.v, (e, ord) -> e.distributed().partitioned(keyFns.get(ord)));
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.internal.util.concurrent.ManyToOneConcurrentArrayQueue;
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.function.DistributedBiFunction;
+import com.hazelcast.jet.pipeline.ContextFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+
+import static com.hazelcast.jet.impl.util.ExceptionUtil.peel;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Processor which, for each received item, starts an asynchronous call
+ * using the given function and a context object and, when the call
+ * completes, emits all the items from the traverser it produced.
+ * <p>
+ * At most {@link ContextFactory#maxPendingCallsPerProcessor()} calls are
+ * in flight at a time, the processor doesn't take more items from the
+ * inbox while at the limit. The results are emitted in the order of the
+ * input items, unless {@link ContextFactory#hasOrderedAsyncResponses()} is
+ * {@code false}. In that case each result is emitted as soon as its call
+ * completes.
+ * <p>
+ * Watermarks and snapshot barriers must not overtake the items received
+ * before them, but the tasklet forwards them as soon as the processor
+ * accepts them. Therefore the processor waits until all the pending calls
+ * complete and their results are emitted before it accepts a watermark
+ * and before it reports its snapshot as saved.
+ *
+ * @param <C> context object type
+ * @param <T> received item type
+ * @param <R> emitted item type
+ */
+public final class AsyncTransformUsingContextP<C, T, R> extends AbstractProcessor {
+
+    // package-visible for test
+    C contextObject;
+
+    private final ContextFactory<C> contextFactory;
+    private final DistributedBiFunction<? super C, ? super T,
+            ? extends CompletableFuture<? extends Traverser<? extends R>>> callAsyncFn;
+    private final int maxPendingCalls;
+
+    // in ordered mode all the pending futures in the order of the input items,
+    // in unordered mode the completed futures in the order of completion
+    private final Queue<CompletableFuture<? extends Traverser<? extends R>>> queue;
+    private int pendingCount;
+    private Traverser<? extends R> outputTraverser;
+
+    /**
+     * Constructs a processor with the given async calling function.
+     */
+    private AsyncTransformUsingContextP(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T,
+                    ? extends CompletableFuture<? extends Traverser<? extends R>>> callAsyncFn,
+            @Nullable C contextObject
+    ) {
+        this.contextFactory = contextFactory;
+        this.callAsyncFn = callAsyncFn;
+        this.contextObject = contextObject;
+        this.maxPendingCalls = contextFactory.maxPendingCallsPerProcessor();
+        this.queue = contextFactory.hasOrderedAsyncResponses()
+                ? new ArrayDeque<>(maxPendingCalls)
+                : new ManyToOneConcurrentArrayQueue<>(maxPendingCalls);
+
+        assert contextObject == null ^ contextFactory.isSharedLocally()
+                : "if contextObject is shared, it must be non-null, or vice versa";
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        if (!contextFactory.isSharedLocally()) {
+            assert contextObject == null : "contextObject is not null: " + contextObject;
+            contextObject = contextFactory.createFn().apply(context.jetInstance());
+        }
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return contextFactory.isCooperative();
+    }
+
+    @Override
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+        tryFlushQueue();
+        // the outbox refused an item, we must not process another one
+        if (outputTraverser != null || pendingCount == maxPendingCalls) {
+            return false;
+        }
+        @SuppressWarnings("unchecked")
+        CompletableFuture<? extends Traverser<? extends R>> future = callAsyncFn.apply(contextObject, (T) item);
+        if (future == null) {
+            throw new JetException("The async function returned null future for " + item);
+        }
+        pendingCount++;
+        if (contextFactory.hasOrderedAsyncResponses()) {
+            queue.add(future);
+        } else {
+            // the queue can't overflow: it's sized for maxPendingCalls
+            future.whenComplete((r, e) -> queue.add(future));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tryProcess() {
+        tryFlushQueue();
+        return outputTraverser == null;
+    }
+
+    @Override
+    public boolean tryProcessWatermark(@Nonnull Watermark watermark) {
+        return tryFlushQueue();
+    }
+
+    @Override
+    public boolean saveToSnapshot() {
+        return tryFlushQueue();
+    }
+
+    @Override
+    public boolean complete() {
+        return tryFlushQueue();
+    }
+
+    /**
+     * Emits the results of the completed calls, in ordered mode only up to
+     * the first call that isn't yet completed. Returns {@code true} if there
+     * are no more pending calls and all the results were emitted.
+     */
+    private boolean tryFlushQueue() {
+        for (;;) {
+            if (outputTraverser == null) {
+                CompletableFuture<? extends Traverser<? extends R>> future = queue.peek();
+                if (future == null || !future.isDone()) {
+                    return pendingCount == 0;
+                }
+                queue.poll();
+                pendingCount--;
+                outputTraverser = getResult(future);
+            }
+            if (!emitFromTraverser(outputTraverser)) {
+                return false;
+            }
+            outputTraverser = null;
+        }
+    }
+
+    private Traverser<? extends R> getResult(CompletableFuture<? extends Traverser<? extends R>> future) {
+        try {
+            Traverser<? extends R> result = future.get();
+            return result != null ? result : Traversers.empty();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new JetException("Async operation completed exceptionally", peel(e));
+        }
+    }
+
+    @Override
+    public void close(@Nullable Throwable error) {
+        // close() might be called even if init() was not called.
+        // Only destroy the context if is not shared (i.e. it is our own).
+        if (contextObject != null && !contextFactory.isSharedLocally()) {
+            contextFactory.destroyFn().accept(contextObject);
+        }
+        contextObject = null;
+    }
+
+    private static final class Supplier<C, T, R> implements ProcessorSupplier {
+
+        static final long serialVersionUID = 1L;
+
+        private final ContextFactory<C> contextFactory;
+        private final DistributedBiFunction<? super C, ? super T,
+                ? extends CompletableFuture<? extends Traverser<? extends R>>> callAsyncFn;
+        private transient C contextObject;
+
+        private Supplier(
+                @Nonnull ContextFactory<C> contextFactory,
+                @Nonnull DistributedBiFunction<? super C, ? super T,
+                        ? extends CompletableFuture<? extends Traverser<? extends R>>> callAsyncFn
+        ) {
+            this.contextFactory = contextFactory;
+            this.callAsyncFn = callAsyncFn;
+        }
+
+        @Override
+        public void init(@Nonnull Context context) {
+            if (contextFactory.isSharedLocally()) {
+                contextObject = contextFactory.createFn().apply(context.jetInstance());
+            }
+        }
+
+        @Nonnull @Override
+        public Collection<? extends Processor> get(int count) {
+            return Stream.generate(() -> new AsyncTransformUsingContextP<>(contextFactory, callAsyncFn, contextObject))
+                         .limit(count)
+                         .collect(toList());
+        }
+
+        @Override
+        public void close(Throwable error) {
+            if (contextObject != null) {
+                contextFactory.destroyFn().accept(contextObject);
+            }
+        }
+    }
+
+    /**
+     * The future returned by {@code callAsyncFn} must not be {@code null}.
+     * It may complete with a {@code null} traverser if there's nothing to
+     * emit for the item.
+     */
+    public static <C, T, R> ProcessorSupplier supplier(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T,
+                    ? extends CompletableFuture<? extends Traverser<? extends R>>> callAsyncFn
+    ) {
+        return new Supplier<>(contextFactory, callAsyncFn);
+    }
+}
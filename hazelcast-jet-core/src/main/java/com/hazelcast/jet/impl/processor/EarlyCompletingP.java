@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.Outbox;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.jet.impl.util.WrappingProcessorMetaSupplier;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps a source processor so that it completes as soon as the named
+ * {@link ProcCtx#completionSignal completion signal} is set by a downstream
+ * processor, instead of reading all its data. The signal is set either on
+ * this member only or, using {@link ProcCtx#signalCompletionOnAllMembers},
+ * on all members of the execution. Only the
+ * {@link #complete()} method is affected, therefore it's meant for
+ * processors without inbound edges.
+ * <p>
+ * If the outbox refused the wrapped processor's last item, the item may
+ * already be on some of the edges. The wrapper then offers that item
+ * again itself and completes only after the outbox accepted it.
+ */
+public final class EarlyCompletingP extends ProcessorWrapper {
+
+    private final String signalName;
+    private AtomicBoolean signal;
+    private TrackingOutbox outbox;
+
+    private EarlyCompletingP(Processor wrapped, String signalName) {
+        super(wrapped);
+        this.signalName = signalName;
+    }
+
+    /**
+     * Wraps the processors of all source vertices currently in the DAG, that
+     * is of those without inbound edges.
+     */
+    public static void wrapSources(@Nonnull DAG dag, @Nonnull String signalName) {
+        for (Vertex vertex : dag) {
+            if (dag.getInboundEdges(vertex.getName()).isEmpty()) {
+                vertex.updateMetaSupplier(metaSupplier -> new WrappingProcessorMetaSupplier(
+                        metaSupplier, p -> new EarlyCompletingP(p, signalName)));
+            }
+        }
+    }
+
+    @Override
+    public void init(@Nonnull Outbox outbox, @Nonnull Context context) {
+        if (context instanceof ProcCtx) {
+            signal = ((ProcCtx) context).completionSignal(signalName);
+        }
+        this.outbox = new TrackingOutbox(outbox);
+        super.init(this.outbox, context);
+    }
+
+    @Override
+    public boolean complete() {
+        if (signal != null && signal.get()) {
+            return outbox.offerRefusedItem();
+        }
+        return super.complete();
+    }
+
+    /**
+     * Remembers the item the outbox refused in the last offer.
+     */
+    private static final class TrackingOutbox implements Outbox {
+        private final Outbox wrappedOutbox;
+        private Object refusedItem;
+        private int refusedOrdinal;
+        private int[] refusedOrdinals;
+
+        private TrackingOutbox(Outbox wrappedOutbox) {
+            this.wrappedOutbox = wrappedOutbox;
+        }
+
+        @Override
+        public int bucketCount() {
+            return wrappedOutbox.bucketCount();
+        }
+
+        @Override
+        public boolean offer(int ordinal, @Nonnull Object item) {
+            boolean accepted = wrappedOutbox.offer(ordinal, item);
+            track(accepted, item, ordinal, null);
+            return accepted;
+        }
+
+        @Override
+        public boolean offer(@Nonnull int[] ordinals, @Nonnull Object item) {
+            boolean accepted = wrappedOutbox.offer(ordinals, item);
+            track(accepted, item, -1, ordinals);
+            return accepted;
+        }
+
+        @Override
+        public int offerAll(int ordinal, @Nonnull Object[] items, int from, int to) {
+            int accepted = wrappedOutbox.offerAll(ordinal, items, from, to);
+            if (from + accepted < to) {
+                track(false, items[from + accepted], ordinal, null);
+            } else {
+                refusedItem = null;
+            }
+            return accepted;
+        }
+
+        @Override
+        public boolean offerToSnapshot(@Nonnull Object key, @Nonnull Object value) {
+            // not tracked: the processor saves to snapshot only outside of complete()
+            return wrappedOutbox.offerToSnapshot(key, value);
+        }
+
+        /**
+         * Offers the item refused in the last offer again, returns {@code
+         * true} if there's no refused item after the call.
+         */
+        boolean offerRefusedItem() {
+            if (refusedItem == null) {
+                return true;
+            }
+            if (refusedOrdinals != null
+                    ? wrappedOutbox.offer(refusedOrdinals, refusedItem)
+                    : wrappedOutbox.offer(refusedOrdinal, refusedItem)) {
+                refusedItem = null;
+                return true;
+            }
+            return false;
+        }
+
+        private void track(boolean accepted, Object item, int ordinal, int[] ordinals) {
+            if (accepted) {
+                refusedItem = null;
+                return;
+            }
+            refusedItem = item;
+            refusedOrdinal = ordinal;
+            // the caller can reuse the array
+            refusedOrdinals = ordinals != null ? ordinals.clone() : null;
+        }
+    }
+}
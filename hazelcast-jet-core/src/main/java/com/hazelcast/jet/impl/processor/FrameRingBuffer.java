@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.Traverser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+import static java.lang.Math.floorDiv;
+
+/**
+ * Stores the per-frame state of {@link SlidingWindowP}, indexed by the
+ * frame timestamp.
+ * <p>
+ * A frame is mapped to a slot in a circular array by its sequence number,
+ * {@code floorDiv(frameTs, frameSize)}, modulo the array length. All the
+ * frames stored in the array lie within a range of sequence numbers
+ * shorter than the array length, so each frame has its own slot and the
+ * lookup, insertion and removal of a frame are O(1) and don't box the
+ * timestamp. The array doubles when a new frame would extend the range
+ * beyond the current length. Frames which would extend the range beyond
+ * {@link #MAX_CAPACITY} (for example, a single event with a timestamp far
+ * in the future) go to an overflow map instead.
+ * <p>
+ * The class tracks the lowest and highest frame in the array so that
+ * {@link #bottomTs()} doesn't have to scan the frames. When the bottom
+ * frame is removed, the lower bound advances to the next occupied slot.
+ * Since windows are completed in the order of frame timestamps, the cost
+ * of this is amortized to O(1) per frame.
+ *
+ * @param <F> type of the frame object
+ */
+final class FrameRingBuffer<F> {
+
+    static final int INITIAL_CAPACITY = 16;
+    static final int MAX_CAPACITY = 1 << 16;
+
+    private final long frameSize;
+    private final Supplier<F> createFrameFn;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private F[] frames = newArray(INITIAL_CAPACITY);
+    private int mask = INITIAL_CAPACITY - 1;
+    private int size;
+    private long bottomSeq;
+    private long topSeq;
+
+    // Frames that couldn't be put into the ring without growing it beyond
+    // MAX_CAPACITY. It's null until first needed.
+    private Map<Long, F> overflow;
+
+    FrameRingBuffer(long frameSize, @Nonnull Supplier<F> createFrameFn) {
+        checkPositive(frameSize, "frameSize must be positive");
+        this.frameSize = frameSize;
+        this.createFrameFn = createFrameFn;
+    }
+
+    boolean isEmpty() {
+        return size == 0 && (overflow == null || overflow.isEmpty());
+    }
+
+    /**
+     * Returns the frame for the given timestamp or {@code null}, if there's
+     * no such frame.
+     */
+    @Nullable
+    F get(long frameTs) {
+        if (size != 0) {
+            long seq = floorDiv(frameTs, frameSize);
+            if (seq >= bottomSeq && seq <= topSeq) {
+                int slot = (int) seq & mask;
+                F frame = frames[slot];
+                if (frame != null && timestamps[slot] == frameTs) {
+                    return frame;
+                }
+            }
+        }
+        return overflow != null ? overflow.get(frameTs) : null;
+    }
+
+    /**
+     * Returns the frame for the given timestamp, creating it if it doesn't
+     * exist yet.
+     */
+    @Nonnull
+    F getOrCreate(long frameTs) {
+        F frame = get(frameTs);
+        if (frame == null) {
+            frame = createFrameFn.get();
+            put(frameTs, frame);
+        }
+        return frame;
+    }
+
+    /**
+     * Removes the frame for the given timestamp and returns it. Returns
+     * {@code null} if there was no such frame.
+     */
+    @Nullable
+    F remove(long frameTs) {
+        if (size != 0) {
+            long seq = floorDiv(frameTs, frameSize);
+            if (seq >= bottomSeq && seq <= topSeq) {
+                int slot = (int) seq & mask;
+                F frame = frames[slot];
+                if (frame != null && timestamps[slot] == frameTs) {
+                    frames[slot] = null;
+                    if (--size != 0) {
+                        while (frames[(int) bottomSeq & mask] == null) {
+                            bottomSeq++;
+                        }
+                        while (frames[(int) topSeq & mask] == null) {
+                            topSeq--;
+                        }
+                    }
+                    return frame;
+                }
+            }
+        }
+        return overflow != null ? overflow.remove(frameTs) : null;
+    }
+
+    /**
+     * Returns the lowest timestamp of all frames. Must not be called when
+     * the buffer is empty.
+     */
+    long bottomTs() {
+        assert !isEmpty() : "bottomTs() called on an empty buffer";
+        long bottomTs = size != 0 ? timestamps[(int) bottomSeq & mask] : Long.MAX_VALUE;
+        if (overflow != null) {
+            for (long ts : overflow.keySet()) {
+                bottomTs = Math.min(bottomTs, ts);
+            }
+        }
+        return bottomTs;
+    }
+
+    /**
+     * Returns a traverser over all the frames, keyed by frame timestamp. The
+     * order of the frames is undefined. The buffer must not be modified
+     * while the traverser is in use.
+     */
+    @Nonnull
+    Traverser<Entry<Long, F>> traverse() {
+        Iterator<Entry<Long, F>> overflowIterator = overflow != null
+                ? overflow.entrySet().iterator()
+                : Collections.emptyIterator();
+        return new Traverser<Entry<Long, F>>() {
+            private int slot;
+
+            @Override
+            public Entry<Long, F> next() {
+                for (; slot < frames.length; slot++) {
+                    if (frames[slot] != null) {
+                        Entry<Long, F> result = entry(timestamps[slot], frames[slot]);
+                        slot++;
+                        return result;
+                    }
+                }
+                return overflowIterator.hasNext() ? overflowIterator.next() : null;
+            }
+        };
+    }
+
+    private void put(long frameTs, F frame) {
+        long seq = floorDiv(frameTs, frameSize);
+        if (size == 0) {
+            bottomSeq = seq;
+            topSeq = seq;
+        } else {
+            long newBottomSeq = Math.min(bottomSeq, seq);
+            long newTopSeq = Math.max(topSeq, seq);
+            long span = newTopSeq - newBottomSeq;
+            // a negative span means the subtraction overflowed
+            if (span < 0 || span >= MAX_CAPACITY) {
+                if (overflow == null) {
+                    overflow = new HashMap<>();
+                }
+                overflow.put(frameTs, frame);
+                return;
+            }
+            if (span >= frames.length) {
+                grow((int) span + 1);
+            }
+            bottomSeq = newBottomSeq;
+            topSeq = newTopSeq;
+        }
+        int slot = (int) seq & mask;
+        timestamps[slot] = frameTs;
+        frames[slot] = frame;
+        size++;
+    }
+
+    private void grow(int minCapacity) {
+        int newCapacity = nextPowerOfTwo(minCapacity);
+        int newMask = newCapacity - 1;
+        long[] newTimestamps = new long[newCapacity];
+        F[] newFrames = newArray(newCapacity);
+        for (long seq = bottomSeq; seq <= topSeq; seq++) {
+            int oldSlot = (int) seq & mask;
+            if (frames[oldSlot] != null) {
+                int newSlot = (int) seq & newMask;
+                newTimestamps[newSlot] = timestamps[oldSlot];
+                newFrames[newSlot] = frames[oldSlot];
+            }
+        }
+        timestamps = newTimestamps;
+        frames = newFrames;
+        mask = newMask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F[] newArray(int length) {
+        return (F[]) new Object[length];
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner(", ", getClass().getSimpleName() + '{', "}");
+        Traverser<Entry<Long, F>> t = traverse();
+        for (Entry<Long, F> e; (e = t.next()) != null; ) {
+            sj.add(e.getKey() + "=" + e.getValue());
+        }
+        return sj.toString();
+    }
+}
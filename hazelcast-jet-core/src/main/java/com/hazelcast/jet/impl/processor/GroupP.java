@@ -16,35 +16,85 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.jet.JetInstance;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.config.InstanceConfig;
 import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.function.DistributedBiConsumer;
 import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.spi.serialization.SerializationService;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
-import static com.hazelcast.jet.Traversers.traverseStream;
+import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.impl.util.ExceptionUtil.rethrow;
+import static com.hazelcast.jet.impl.util.Util.uncheckCall;
+import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.HashUtil.hashToIndex;
 import static com.hazelcast.util.Preconditions.checkTrue;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 /**
  * Batch processor that groups items by key and computes the supplied
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * If the {@link InstanceConfig#setGroupingSpillThreshold grouping spill
+ * threshold} is configured and the aggregate operation has a {@code
+ * combineFn}, the processor bounds the number of accumulators it keeps in
+ * memory. When the threshold is reached, it hash-partitions the
+ * accumulators by key into {@value #SPILL_PARTITION_COUNT} files in the
+ * temp directory and starts over with an empty map. On completion it
+ * loads the files one at a time, merges the accumulators for each key
+ * with {@code combineFn} and emits the results.
+ * <p>
+ * The processor is cooperative, so it does the file I/O on the member's
+ * I/O executor. While a spill is being written it keeps accumulating into
+ * a new map and only stops taking items if that map reaches the threshold
+ * too. While it emits one partition, it loads the next one. Therefore it
+ * holds at most twice the threshold of accumulators, or two partitions'
+ * keys, in memory.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
+    static final int SPILL_PARTITION_COUNT = 32;
+
     @Nonnull private final List<DistributedFunction<?, ? extends K>> groupKeyFns;
     @Nonnull private final AggregateOperation<A, R> aggrOp;
+    @Nonnull private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
+
+    private Map<K, A> keyToAcc = new HashMap<>();
+    private Traverser<OUT> resultTraverser;
 
-    private final Map<K, A> keyToAcc = new HashMap<>();
-    private final Traverser<OUT> resultTraverser;
+    private int spillThreshold;
+    private File spillDir;
+    private SerializationService serializationService;
+    private Executor ioExecutor;
+    // accessed by the I/O tasks, or after pendingIo completed
+    private SpillFile[] spillFiles;
+    private boolean spilled;
+    // the last spill or load task, the tasks never run concurrently
+    private CompletableFuture<?> pendingIo;
+    private CompletableFuture<Map<K, A>> loadingPartition;
+    private int nextPartition;
 
     public GroupP(
             @Nonnull List<DistributedFunction<?, ? extends K>> groupKeyFns,
@@ -55,9 +105,7 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
                 "provided for " + aggrOp.arity() + "-arity aggregate operation");
         this.groupKeyFns = groupKeyFns;
         this.aggrOp = aggrOp;
-        this.resultTraverser = traverseStream(keyToAcc
-                .entrySet().stream()
-                .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue()))));
+        this.mapToOutputFn = mapToOutputFn;
     }
 
     public <T> GroupP(
@@ -68,9 +116,25 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
         this(singletonList(groupKeyFn), aggrOp, mapToOutputFn);
     }
 
+    @Override
+    protected void init(@Nonnull Context context) {
+        JetInstance instance = context.jetInstance();
+        if (instance == null || aggrOp.combineFn() == null) {
+            return;
+        }
+        InstanceConfig instanceConfig = instance.getConfig().getInstanceConfig();
+        spillThreshold = instanceConfig.getGroupingSpillThreshold();
+        spillDir = new File(instanceConfig.getTempDir());
+        serializationService = SpillFile.serializationService(context);
+        ioExecutor = SpillFile.ioExecutor(context);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) throws Exception {
+        if (spillThreshold > 0 && keyToAcc.size() >= spillThreshold && !tryStartSpill()) {
+            return false;
+        }
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
         A acc = keyToAcc.computeIfAbsent(key, k -> aggrOp.createFn().get());
@@ -80,6 +144,125 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
     @Override
     public boolean complete() {
-        return emitFromTraverser(resultTraverser);
+        if (!spilled) {
+            if (resultTraverser == null) {
+                resultTraverser = traverseIterable(keyToAcc.entrySet()).map(this::toOutput);
+            }
+            return emitFromTraverser(resultTraverser);
+        }
+        if (!keyToAcc.isEmpty() && !tryStartSpill()) {
+            return false;
+        }
+        for (;;) {
+            if (resultTraverser != null) {
+                if (!emitFromTraverser(resultTraverser)) {
+                    return false;
+                }
+                resultTraverser = null;
+            }
+            if (loadingPartition == null) {
+                if (nextPartition == SPILL_PARTITION_COUNT) {
+                    return true;
+                }
+                // wait for the last spill
+                if (!isIoDone()) {
+                    return false;
+                }
+                startLoadingPartition();
+            }
+            if (!isIoDone()) {
+                return false;
+            }
+            Map<K, A> partition = loadingPartition.join();
+            loadingPartition = null;
+            if (nextPartition < SPILL_PARTITION_COUNT) {
+                startLoadingPartition();
+            }
+            resultTraverser = traverseIterable(partition.entrySet()).map(this::toOutput);
+        }
+    }
+
+    @Override
+    public void close(@Nullable Throwable error) {
+        if (pendingIo != null) {
+            // a task might still be using the files
+            pendingIo.whenComplete((r, e) -> closeSpillFiles());
+        }
+    }
+
+    /**
+     * Hands the current accumulators over to a spill task and starts with an
+     * empty map. Returns {@code false} if the previous spill isn't done yet.
+     */
+    private boolean tryStartSpill() {
+        if (pendingIo != null && !isIoDone()) {
+            return false;
+        }
+        Map<K, A> toSpill = keyToAcc;
+        keyToAcc = new HashMap<>();
+        spilled = true;
+        pendingIo = runAsync(() -> uncheckRun(() -> spill(toSpill)), ioExecutor);
+        return true;
+    }
+
+    private void startLoadingPartition() {
+        SpillFile file = spillFiles[nextPartition++];
+        loadingPartition = supplyAsync(() -> uncheckCall(() -> mergePartition(file)), ioExecutor);
+        pendingIo = loadingPartition;
+    }
+
+    private boolean isIoDone() {
+        if (!pendingIo.isDone()) {
+            return false;
+        }
+        try {
+            pendingIo.join();
+        } catch (CompletionException e) {
+            throw rethrow(e);
+        }
+        return true;
+    }
+
+    private void spill(Map<K, A> toSpill) throws IOException {
+        if (spillFiles == null) {
+            spillFiles = new SpillFile[SPILL_PARTITION_COUNT];
+            for (int i = 0; i < spillFiles.length; i++) {
+                spillFiles[i] = new SpillFile(spillDir, serializationService);
+            }
+        }
+        for (Entry<K, A> e : toSpill.entrySet()) {
+            // the key can be null, as in the in-memory map
+            SpillFile file = spillFiles[hashToIndex(Objects.hashCode(e.getKey()), SPILL_PARTITION_COUNT)];
+            file.write(e.getKey());
+            file.write(e.getValue());
+        }
+    }
+
+    private Map<K, A> mergePartition(SpillFile file) throws IOException {
+        DistributedBiConsumer<? super A, ? super A> combineFn = aggrOp.combineFn();
+        assert combineFn != null : "spilled without combineFn";
+        Map<K, A> partition = new HashMap<>();
+        while (file.count() > 0) {
+            K key = file.read();
+            A acc = file.read();
+            A existing = partition.putIfAbsent(key, acc);
+            if (existing != null) {
+                combineFn.accept(existing, acc);
+            }
+        }
+        file.close();
+        return partition;
+    }
+
+    private void closeSpillFiles() {
+        if (spillFiles != null) {
+            for (SpillFile file : spillFiles) {
+                closeResource(file);
+            }
+        }
+    }
+
+    private OUT toOutput(Entry<K, A> e) {
+        return mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue()));
     }
 }
@@ -19,41 +19,59 @@ package com.hazelcast.jet.impl.processor;
 import com.hazelcast.jet.core.AbstractProcessor;
 
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Function;
 
 /**
  * Implements the "collector" pipeline in a hash join transformation. This
- * pipeline collects the entire joined stream into a hashmap and then
- * broadcasts it to all local second-pipeline processors.
+ * pipeline collects the entire joined stream into a {@link HashJoinTable}
+ * and then broadcasts it to all local second-pipeline processors. Unless
+ * the join is one-to-many, a duplicate key fails the job.
+ * <p>
+ * In a partitioned hash join there is no collector vertex, each {@link
+ * HashJoinP} uses an instance of this class to {@link #collect} its share
+ * of the joined stream itself.
  */
 public class HashJoinCollectP<K, E, V> extends AbstractProcessor {
-    private final Map<K, V> map = new HashMap<>();
+    private final HashJoinTable<K, V> table = new HashJoinTable<>();
     @Nonnull private final Function<E, K> keyFn;
     @Nonnull private final Function<E, V> projectFn;
+    private final boolean oneToMany;
 
-    public HashJoinCollectP(@Nonnull Function<E, K> keyFn, @Nonnull Function<E, V> projectFn) {
+    public HashJoinCollectP(@Nonnull Function<E, K> keyFn, @Nonnull Function<E, V> projectFn, boolean oneToMany) {
         this.keyFn = keyFn;
         this.projectFn = projectFn;
+        this.oneToMany = oneToMany;
     }
 
     @Override
+    protected boolean tryProcess0(@Nonnull Object item) {
+        collect(item);
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        return tryEmit(table);
+    }
+
+    /**
+     * Adds the item to the table.
+     */
     @SuppressWarnings("unchecked")
-    protected boolean tryProcess0(@Nonnull Object item) throws Exception {
+    void collect(@Nonnull Object item) {
         E e = (E) item;
         K key = keyFn.apply(e);
         V value = projectFn.apply(e);
-        V previous = map.put(key, value);
-        if (previous != null) {
-            throw new IllegalStateException("Duplicate values for key '" + key + "': '" + previous + "' and '" + value
-                    + "'");
+        if (oneToMany) {
+            table.add(key, value);
+        } else if (!table.putIfAbsent(key, value)) {
+            throw new IllegalStateException("Duplicate values for key '" + key + "': '" + table.get(key) + "' and '"
+                    + value + "'");
         }
-        return true;
     }
 
-    @Override
-    public boolean complete() {
-        return tryEmit(map);
+    @Nonnull
+    HashJoinTable<K, V> table() {
+        return table;
     }
 }
@@ -16,18 +16,20 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.datamodel.ItemsByTag;
 import com.hazelcast.jet.datamodel.Tag;
 import com.hazelcast.jet.function.TriFunction;
+import com.hazelcast.jet.impl.processor.HashJoinTable.Values;
 import com.hazelcast.jet.pipeline.BatchStage;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -37,8 +39,9 @@ import static java.util.Collections.singletonList;
 /**
  * Implements the {@link com.hazelcast.jet.impl.pipeline.transform.HashJoinTransform
  * hash-join transform}. On all edges except 0 it will receive a single
- * item &mdash; the lookup table for that edge (a {@code Map}) and then it
- * will process edge 0 by joining to each item the data from lookup tables.
+ * item &mdash; the lookup table for that edge (a {@link HashJoinTable}, one
+ * instance shared by all the joiners on the member) and then it will
+ * process edge 0 by joining to each item the data from lookup tables.
  * It will extract a separate key for each of the lookup tables using the
  * functions supplied in the {@code keyFns} argument. Element 0 in that list
  * corresponds to the lookup table received at ordinal 1 and so on.
@@ -54,36 +57,81 @@ import static java.util.Collections.singletonList;
  * In the latter case the function must expect {@code ItemsByTag} as the
  * second argument.
  * <p>
+ * A lookup table of a one-to-many join can hold several values for a key.
+ * If any lookup finds several values, the processor emits an output item
+ * for each combination of the matches.
+ * <p>
+ * In a partitioned hash join, the processor receives the raw items of one
+ * of the joined streams, partitioned by the join key, at {@code
+ * partitionedOrdinal} and builds the lookup table for that ordinal itself.
+ * The primary stream is partitioned by the same key, so the processor
+ * finds the matches of its primary items in its own share of the table.
+ * <p>
  * Note that internally the processor stores the lists with a {@code null}
  * element prepended to remove the mismatch between list index and ordinal.
  */
 public class HashJoinP<E0> extends AbstractProcessor {
 
     private final List<Function<E0, Object>> keyFns;
-    private final List<Map<Object, Object>> lookupTables;
+    private final List<HashJoinTable<Object, Object>> lookupTables;
     private final List<Tag> tags;
     private final BiFunction mapToOutputBiFn;
     private final TriFunction mapToOutputTriFn;
+    // the looked-up matches of the current item, index 0 is unused
+    private final Object[] matches;
+    private final MatchCombinations combinations;
+    private final int partitionedOrdinal;
+    private final HashJoinCollectP<Object, Object, Object> partitionedCollector;
     private boolean ordinal0consumed;
+    private boolean emittingCombinations;
 
     public HashJoinP(
             @Nonnull List<Function<E0, Object>> keyFns,
             @Nonnull List<Tag> tags,
             @Nullable BiFunction mapToOutputBiFn,
             @Nullable TriFunction mapToOutputTriFn
+    ) {
+        this(keyFns, tags, mapToOutputBiFn, mapToOutputTriFn, 0, null);
+    }
+
+    /**
+     * @param partitionedOrdinal the ordinal of the partitioned joined stream
+     *                           or 0, if the join isn't partitioned
+     * @param partitionedCollector collects the items received at {@code
+     *                             partitionedOrdinal}
+     */
+    public HashJoinP(
+            @Nonnull List<Function<E0, Object>> keyFns,
+            @Nonnull List<Tag> tags,
+            @Nullable BiFunction mapToOutputBiFn,
+            @Nullable TriFunction mapToOutputTriFn,
+            int partitionedOrdinal,
+            @Nullable HashJoinCollectP<Object, Object, Object> partitionedCollector
     ) {
         this.keyFns = prependNull(keyFns);
         this.lookupTables = prependNull(Collections.nCopies(keyFns.size(), null));
         this.tags = tags.isEmpty() ? emptyList() : prependNull(tags);
         this.mapToOutputBiFn = mapToOutputBiFn;
         this.mapToOutputTriFn = mapToOutputTriFn;
+        this.matches = new Object[this.keyFns.size()];
+        this.combinations = new MatchCombinations();
+        this.partitionedOrdinal = partitionedOrdinal;
+        this.partitionedCollector = partitionedCollector;
+        if (partitionedCollector != null) {
+            // the table is complete once the items at ordinal 0 start to arrive
+            lookupTables.set(partitionedOrdinal, partitionedCollector.table());
+        }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
         assert !ordinal0consumed : "Edge 0 must have a lower priority than all other edges";
-        lookupTables.set(ordinal, (Map) item);
+        if (ordinal == partitionedOrdinal) {
+            partitionedCollector.collect(item);
+        } else {
+            lookupTables.set(ordinal, (HashJoinTable<Object, Object>) item);
+        }
         return true;
     }
 
@@ -92,16 +140,23 @@ public class HashJoinP<E0> extends AbstractProcessor {
     protected boolean tryProcess0(@Nonnull Object item) {
         E0 e0 = (E0) item;
         ordinal0consumed = true;
-        if (tags.isEmpty()) {
-            return tryEmit(keyFns.size() == 2
-                    ? mapToOutputBiFn.apply(e0, lookupJoined(1, e0))
-                    : mapToOutputTriFn.apply(e0, lookupJoined(1, e0), lookupJoined(2, e0)));
+        if (!emittingCombinations) {
+            boolean hasMultipleMatches = false;
+            for (int i = 1; i < keyFns.size(); i++) {
+                matches[i] = lookupJoined(i, e0);
+                hasMultipleMatches |= matches[i] instanceof Values;
+            }
+            if (!hasMultipleMatches) {
+                return tryEmit(mapToOutput(e0, matches));
+            }
+            combinations.reset(e0);
+            emittingCombinations = true;
         }
-        ItemsByTag map = new ItemsByTag();
-        for (int i = 1; i < keyFns.size(); i++) {
-            map.put(tags.get(i), lookupJoined(i, e0));
+        if (!emitFromTraverser(combinations)) {
+            return false;
         }
-        return tryEmit(mapToOutputBiFn.apply(e0, map));
+        emittingCombinations = false;
+        return true;
     }
 
     @Nullable
@@ -109,9 +164,61 @@ public class HashJoinP<E0> extends AbstractProcessor {
         return lookupTables.get(ordinal).get(keyFns.get(ordinal).apply(item));
     }
 
+    @SuppressWarnings("unchecked")
+    private Object mapToOutput(E0 e0, Object[] joined) {
+        if (tags.isEmpty()) {
+            return keyFns.size() == 2
+                    ? mapToOutputBiFn.apply(e0, joined[1])
+                    : mapToOutputTriFn.apply(e0, joined[1], joined[2]);
+        }
+        ItemsByTag map = new ItemsByTag();
+        for (int i = 1; i < keyFns.size(); i++) {
+            map.put(tags.get(i), joined[i]);
+        }
+        return mapToOutputBiFn.apply(e0, map);
+    }
+
     private static <E> List<E> prependNull(List<E> in) {
         List<E> result = new ArrayList<>(singletonList(null));
         result.addAll(in);
         return result;
     }
+
+    /**
+     * Traverses the output items for all the combinations of the matches
+     * of the current primary item. The match from the last lookup table
+     * changes the fastest.
+     */
+    private final class MatchCombinations implements Traverser<Object> {
+        private final int[] positions = new int[matches.length];
+        private final Object[] joined = new Object[matches.length];
+        private E0 e0;
+        private boolean exhausted;
+
+        void reset(E0 e0) {
+            this.e0 = e0;
+            Arrays.fill(positions, 0);
+            exhausted = false;
+        }
+
+        @Override
+        public Object next() {
+            if (exhausted) {
+                return null;
+            }
+            for (int i = 1; i < joined.length; i++) {
+                joined[i] = matches[i] instanceof Values ? ((Values) matches[i]).get(positions[i]) : matches[i];
+            }
+            int i = joined.length - 1;
+            for (; i > 0 && ++positions[i] == matchCount(matches[i]); i--) {
+                positions[i] = 0;
+            }
+            exhausted = i == 0;
+            return mapToOutput(e0, joined);
+        }
+
+        private int matchCount(Object match) {
+            return match instanceof Values ? ((Values) match).size() : 1;
+        }
+    }
 }
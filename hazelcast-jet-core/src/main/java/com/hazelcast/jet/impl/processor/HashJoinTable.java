@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * The build-side table of a hash join. {@link HashJoinCollectP} fills it
+ * with the items of a joined stream and emits it to the local {@link
+ * HashJoinP} instances, which then only {@link #get look up} the items.
+ * <p>
+ * The collector runs with local parallelism 1 and the table travels over
+ * a local broadcast edge, so there is one table per member and all the
+ * local joiners probe that same instance. Once emitted, the table is
+ * never modified, therefore the joiners can read it concurrently.
+ * <p>
+ * The table uses open addressing with linear probing. The keys and values
+ * are stored next to each other in a single array, so a lookup usually
+ * touches a single cache line and no entry object is allocated per
+ * mapping, as it would be in a {@code HashMap}. Removal isn't supported.
+ * <p>
+ * A key can be mapped to several values with {@link #add}. The first
+ * value is stored directly in the slot, only when a second value is added
+ * the slot is switched to a {@link Values} array.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public final class HashJoinTable<K, V> {
+
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private static final int MAX_LOAD_PERCENT = 60;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    /**
+     * Stands for the {@code null} key, a {@code null} in the key position
+     * marks an empty slot.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    // keys at even indices, their values at the following odd index
+    private Object[] slots;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public HashJoinTable() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public HashJoinTable(int initialCapacity) {
+        checkPositive(initialCapacity, "initialCapacity must be positive");
+        allocate(nextPowerOfTwo(initialCapacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value mapped to the key or {@code null}, if there's none.
+     * If several values were {@link #add added} for the key, returns them as
+     * a {@link Values} instance.
+     */
+    @Nullable
+    public Object get(@Nullable Object key) {
+        Object k = maskNull(key);
+        for (int i = slot(k); slots[i] != null; i = (i + 2) & mask) {
+            if (slots[i].equals(k)) {
+                return slots[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the key to the value, if the key isn't mapped yet. Returns
+     * {@code false} if it is, the existing mapping is then left intact.
+     */
+    public boolean putIfAbsent(@Nullable K key, @Nullable V value) {
+        Object k = maskNull(key);
+        int i = slot(k);
+        for (; slots[i] != null; i = (i + 2) & mask) {
+            if (slots[i].equals(k)) {
+                return false;
+            }
+        }
+        insertAt(i, k, value);
+        return true;
+    }
+
+    /**
+     * Adds the value to the values mapped to the key.
+     */
+    public void add(@Nullable K key, @Nullable V value) {
+        Object k = maskNull(key);
+        int i = slot(k);
+        for (; slots[i] != null; i = (i + 2) & mask) {
+            if (slots[i].equals(k)) {
+                Object existing = slots[i + 1];
+                if (existing instanceof Values) {
+                    ((Values) existing).add(value);
+                } else {
+                    slots[i + 1] = new Values(existing, value);
+                }
+                return;
+            }
+        }
+        insertAt(i, k, value);
+    }
+
+    private void insertAt(int i, Object k, Object value) {
+        slots[i] = k;
+        slots[i + 1] = value;
+        if (++size > resizeThreshold) {
+            // there are two slots per entry, this doubles the capacity
+            rehash(slots.length);
+        }
+    }
+
+    /**
+     * Returns the index of the slot where the probing for the key starts.
+     * It is always even, the index of a key.
+     */
+    private int slot(Object k) {
+        int h = k.hashCode() * HASH_MULTIPLIER;
+        return (h ^ (h >>> Short.SIZE)) << 1 & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        Object[] oldSlots = slots;
+        allocate(newCapacity);
+        for (int j = 0; j < oldSlots.length; j += 2) {
+            if (oldSlots[j] != null) {
+                int i = slot(oldSlots[j]);
+                while (slots[i] != null) {
+                    i = (i + 2) & mask;
+                }
+                slots[i] = oldSlots[j];
+                slots[i + 1] = oldSlots[j + 1];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new Object[capacity << 1];
+        // the mask keeps the index even and within the array
+        mask = slots.length - 2;
+        resizeThreshold = (int) ((long) capacity * MAX_LOAD_PERCENT / 100);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner(", ", "{", "}");
+        for (int i = 0; i < slots.length; i += 2) {
+            if (slots[i] != null) {
+                sj.add((slots[i] == NULL_KEY ? null : slots[i]) + "=" + slots[i + 1]);
+            }
+        }
+        return sj.toString();
+    }
+
+    /**
+     * The values of a key which has more than one value.
+     */
+    public static final class Values {
+        private static final int INITIAL_LENGTH = 4;
+
+        private Object[] values = new Object[INITIAL_LENGTH];
+        private int size;
+
+        private Values(Object value1, Object value2) {
+            values[0] = value1;
+            values[1] = value2;
+            size = 2;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @Nullable
+        public Object get(int index) {
+            return values[index];
+        }
+
+        private void add(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(Arrays.copyOf(values, size));
+        }
+    }
+}
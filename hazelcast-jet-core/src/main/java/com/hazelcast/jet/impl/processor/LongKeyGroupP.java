@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.function.DistributedToLongFunction;
+import com.hazelcast.jet.impl.util.LongObjectHashMap;
+import com.hazelcast.jet.impl.util.LongObjectHashMap.Cursor;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static java.util.Collections.singletonList;
+
+/**
+ * A variant of {@link GroupP} specialized for primitive {@code long}
+ * grouping keys. It keeps the accumulators in a {@link LongObjectHashMap},
+ * so it doesn't box the key of each item and doesn't allocate a map entry
+ * per key. The key is boxed only once per key, when emitting the result.
+ */
+public class LongKeyGroupP<A, R, OUT> extends AbstractProcessor {
+    @Nonnull private final List<? extends ToLongFunction<?>> groupKeyFns;
+    @Nonnull private final AggregateOperation<A, R> aggrOp;
+    @Nonnull private final BiFunction<? super Long, ? super R, OUT> mapToOutputFn;
+    @Nonnull private final LongFunction<A> createAccFn;
+
+    private final LongObjectHashMap<A> keyToAcc = new LongObjectHashMap<>();
+    private Traverser<OUT> resultTraverser;
+
+    public LongKeyGroupP(
+            @Nonnull List<? extends ToLongFunction<?>> groupKeyFns,
+            @Nonnull AggregateOperation<A, R> aggrOp,
+            @Nonnull BiFunction<? super Long, ? super R, OUT> mapToOutputFn
+    ) {
+        checkTrue(groupKeyFns.size() == aggrOp.arity(), groupKeyFns.size() + " key functions " +
+                "provided for " + aggrOp.arity() + "-arity aggregate operation");
+        this.groupKeyFns = groupKeyFns;
+        this.aggrOp = aggrOp;
+        this.mapToOutputFn = mapToOutputFn;
+        this.createAccFn = x -> aggrOp.createFn().get();
+    }
+
+    public <T> LongKeyGroupP(
+            @Nonnull DistributedToLongFunction<? super T> groupKeyFn,
+            @Nonnull AggregateOperation1<? super T, A, R> aggrOp,
+            @Nonnull BiFunction<? super Long, ? super R, OUT> mapToOutputFn
+    ) {
+        this(singletonList(groupKeyFn), aggrOp, mapToOutputFn);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+        ToLongFunction<Object> keyFn = (ToLongFunction<Object>) groupKeyFns.get(ordinal);
+        A acc = keyToAcc.computeIfAbsent(keyFn.applyAsLong(item), createAccFn);
+        aggrOp.accumulateFn(ordinal).accept(acc, item);
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        if (resultTraverser == null) {
+            Cursor<A> cursor = keyToAcc.cursor();
+            resultTraverser = () -> cursor.advance()
+                    ? mapToOutputFn.apply(cursor.key(), aggrOp.finishFn().apply(cursor.value()))
+                    : null;
+        }
+        return emitFromTraverser(resultTraverser);
+    }
+}
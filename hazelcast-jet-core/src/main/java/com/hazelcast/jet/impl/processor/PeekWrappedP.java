@@ -81,7 +81,7 @@ public final class PeekWrappedP<T> extends ProcessorWrapper {
                     createLoggerName(wrapped.getClass().getName(), c.vertexName(), c.globalProcessorIndex()));
             context = new ProcCtx(c.jetInstance(), c.getSerializationService(), newLogger, c.vertexName(),
                     c.globalProcessorIndex(), c.processingGuarantee(), c.localParallelism(), c.totalParallelism(),
-                    c.memberIndex(), c.memberCount());
+                    c.memberIndex(), c.memberCount(), c.completionSignals());
         }
         super.init(outbox, context);
     }
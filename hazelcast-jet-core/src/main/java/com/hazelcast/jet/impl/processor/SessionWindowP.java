@@ -26,6 +26,8 @@ import com.hazelcast.jet.core.BroadcastKey;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.function.KeyedWindowResultFunction;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.jet.impl.util.TimerWheel;
+import com.hazelcast.jet.impl.util.TimerWheel.Timer;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -36,14 +38,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.SortedMap;
 import java.util.StringJoiner;
-import java.util.TreeMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.ToLongFunction;
@@ -57,10 +55,10 @@ import static com.hazelcast.jet.impl.util.LoggingUtil.logFine;
 import static com.hazelcast.jet.impl.util.Util.logLateEvent;
 import static com.hazelcast.jet.impl.util.Util.toLocalDateTime;
 import static com.hazelcast.util.Preconditions.checkTrue;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.lang.System.arraycopy;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 
 /**
  * Session window processor. See {@link
@@ -75,8 +73,9 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
     private static final Watermark COMPLETING_WM = new Watermark(Long.MAX_VALUE);
 
     // exposed for testing, to check for memory leaks
-    final Map<K, Windows<A>> keyToWindows = new HashMap<>();
-    final SortedMap<Long, Set<K>> deadlineToKeys = new TreeMap<>();
+    final Map<K, Windows<K, A>> keyToWindows = new HashMap<>();
+    // each key's timer is scheduled at the end of its earliest window
+    final TimerWheel<K> deadlines = new TimerWheel<>();
     long currentWatermark = Long.MIN_VALUE;
 
     private final long sessionTimeout;
@@ -130,8 +129,9 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
             return true;
         }
         K key = keyFns.get(ordinal).apply(item);
-        addItem(ordinal, keyToWindows.computeIfAbsent(key, k -> new Windows<>()),
-                key, timestamp, item);
+        Windows<K, A> w = keyToWindows.computeIfAbsent(key, k -> new Windows<>());
+        addItem(ordinal, w, timestamp, item);
+        scheduleDeadline(key, w);
         return true;
     }
 
@@ -147,31 +147,23 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
     }
 
     private Traverser<OUT> traverseClosedWindows(Watermark wm) {
-        SortedMap<Long, Set<K>> windowsToClose = deadlineToKeys.headMap(wm.timestamp());
-        List<K> distinctKeys = windowsToClose
-                .values().stream()
-                .flatMap(Set::stream)
-                .distinct()
-                .collect(toList());
-        windowsToClose.clear();
-
-        Stream<OUT> closedWindows = distinctKeys
+        // A key's timer is scheduled at its earliest deadline, so each
+        // expired timer has a distinct key with at least one window to close
+        List<K> keysToClose = new ArrayList<>();
+        deadlines.advance(wm.timestamp(), timer -> keysToClose.add(timer.item()));
+
+        Stream<OUT> closedWindows = keysToClose
                 .stream()
                 .map(key -> closeWindows(keyToWindows.get(key), key, wm.timestamp()))
                 .flatMap(List::stream);
         return traverseStream(closedWindows);
     }
 
-    private void addToDeadlines(K key, long deadline) {
-        deadlineToKeys.computeIfAbsent(deadline, x -> new HashSet<>()).add(key);
-    }
-
-    private void removeFromDeadlines(K key, long deadline) {
-        Set<K> ks = deadlineToKeys.get(deadline);
-        ks.remove(key);
-        if (ks.isEmpty()) {
-            deadlineToKeys.remove(deadline);
+    private void scheduleDeadline(K key, Windows<K, A> w) {
+        if (w.timer == null) {
+            w.timer = new Timer<>(key);
         }
+        deadlines.schedule(w.timer, w.ends[0]);
     }
 
     @Override
@@ -207,23 +199,21 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
 
     @Override
     public boolean finishSnapshotRestore() {
-        assert deadlineToKeys.isEmpty();
-        // populate deadlineToKeys
-        for (Entry<K, Windows<A>> entry : keyToWindows.entrySet()) {
-            for (long end : entry.getValue().ends) {
-                addToDeadlines(entry.getKey(), end);
-            }
+        assert deadlines.isEmpty();
+        // populate deadlines
+        for (Entry<K, Windows<K, A>> entry : keyToWindows.entrySet()) {
+            scheduleDeadline(entry.getKey(), entry.getValue());
         }
         currentWatermark = minRestoredCurrentWatermark;
         logFine(getLogger(), "Restored currentWatermark from snapshot to: %s", currentWatermark);
         return true;
     }
 
-    private void addItem(int ordinal, Windows<A> w, K key, long timestamp, Object item) {
-        aggrOp.accumulateFn(ordinal).accept(resolveAcc(w, key, timestamp), item);
+    private void addItem(int ordinal, Windows<K, A> w, long timestamp, Object item) {
+        aggrOp.accumulateFn(ordinal).accept(resolveAcc(w, timestamp), item);
     }
 
-    private List<OUT> closeWindows(Windows<A> w, K key, long wm) {
+    private List<OUT> closeWindows(Windows<K, A> w, K key, long wm) {
         List<OUT> results = new ArrayList<>();
         int i = 0;
         for (; i < w.size && w.ends[i] < wm; i++) {
@@ -231,13 +221,14 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
         }
         if (i != w.size) {
             w.removeHead(i);
+            scheduleDeadline(key, w);
         } else {
             keyToWindows.remove(key);
         }
         return results;
     }
 
-    private A resolveAcc(Windows<A> w, K key, long timestamp) {
+    private A resolveAcc(Windows<K, A> w, long timestamp) {
         long eventEnd = timestamp + sessionTimeout;
         int i = 0;
         for (; i < w.size && w.starts[i] <= eventEnd; i++) {
@@ -256,25 +247,19 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
             if (i + 1 == w.size || w.starts[i + 1] > eventEnd) {
                 // the window `i + 1` doesn't overlap the event interval
                 w.starts[i] = min(w.starts[i], timestamp);
-                if (w.ends[i] < eventEnd) {
-                    removeFromDeadlines(key, w.ends[i]);
-                    w.ends[i] = eventEnd;
-                    addToDeadlines(key, w.ends[i]);
-                }
+                w.ends[i] = max(w.ends[i], eventEnd);
                 return w.accs[i];
             }
             // both `i` and `i + 1` windows overlap the event interval
-            removeFromDeadlines(key, w.ends[i]);
             w.ends[i] = w.ends[i + 1];
             combineFn.accept(w.accs[i], w.accs[i + 1]);
             w.removeWindow(i + 1);
             return w.accs[i];
         }
-        addToDeadlines(key, eventEnd);
         return insertWindow(w, i, timestamp, eventEnd);
     }
 
-    private A insertWindow(Windows<A> w, int idx, long windowStart, long windowEnd) {
+    private A insertWindow(Windows<K, A> w, int idx, long windowStart, long windowEnd) {
         w.expandIfNeeded();
         w.copy(idx, idx + 1, w.size - idx);
         w.size++;
@@ -284,7 +269,9 @@ public class SessionWindowP<K, A, R, OUT> extends AbstractProcessor {
         return w.accs[idx];
     }
 
-    public static class Windows<A> implements IdentifiedDataSerializable {
+    public static class Windows<K, A> implements IdentifiedDataSerializable {
+        // not serialized, recreated after restoring from the snapshot
+        private Timer<K> timer;
         private int size;
         private long[] starts = new long[2];
         private long[] ends = new long[2];
@@ -44,7 +44,6 @@ import static com.hazelcast.jet.Traversers.traverseStream;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.config.ProcessingGuarantee.EXACTLY_ONCE;
 import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
-import static com.hazelcast.jet.function.DistributedComparator.naturalOrder;
 import static com.hazelcast.jet.impl.util.LoggingUtil.logFine;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkTrue;
@@ -62,7 +61,7 @@ import static java.util.Collections.emptyMap;
 public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
 
     // package-visible for testing
-    final Map<Long, Map<K, A>> tsToKeyToAcc = new HashMap<>();
+    final FrameRingBuffer<Map<K, A>> tsToKeyToAcc;
     Map<K, A> slidingWindow;
     long nextWinToEmit = Long.MIN_VALUE;
 
@@ -78,6 +77,9 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     private final KeyedWindowResultFunction<? super K, ? super R, OUT> mapToOutputFn;
     @Nullable
     private final BiConsumer<? super A, ? super A> combineFn;
+    // used instead of `slidingWindow` when the aggregate operation has no deductFn
+    @Nullable
+    private final TwoStacksWindow<K, A> twoStacksWindow;
     private final boolean isLastStage;
 
     @Nonnull
@@ -112,6 +114,10 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             checkNotNull(aggrOp.combineFn(), "combine primitive of AggregateOperation is required for sliding windows");
         }
         this.winPolicy = winPolicy;
+        this.tsToKeyToAcc = new FrameRingBuffer<>(winPolicy.frameSize(), HashMap::new);
+        this.twoStacksWindow = !winPolicy.isTumbling() && aggrOp.deductFn() == null
+                ? new TwoStacksWindow<>(tsToKeyToAcc, winPolicy, aggrOp)
+                : null;
         this.frameTimestampFns = (List<ToLongFunction<Object>>) frameTimestampFns;
         this.keyFns = (List<Function<Object, ? extends K>>) keyFns;
         this.aggrOp = aggrOp;
@@ -146,7 +152,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return true;
         }
         final K key = keyFns.get(ordinal).apply(item);
-        A acc = tsToKeyToAcc.computeIfAbsent(frameTs, x -> new HashMap<>())
+        A acc = tsToKeyToAcc.getOrCreate(frameTs)
                             .computeIfAbsent(key, k -> aggrOp.createFn().get());
         aggrOp.accumulateFn(ordinal).accept(acc, item);
         topTs = max(topTs, frameTs);
@@ -169,7 +175,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return flushBuffers();
         }
         if (snapshotTraverser == null) {
-            snapshotTraverser = traverseIterable(tsToKeyToAcc.entrySet())
+            snapshotTraverser = tsToKeyToAcc.traverse()
                     .<Entry>flatMap(e -> traverseIterable(e.getValue().entrySet())
                             .map(e2 -> entry(new SnapshotKey(e.getKey(), e2.getKey()), e2.getValue()))
                     )
@@ -197,7 +203,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return;
         }
         SnapshotKey k = (SnapshotKey) key;
-        if (tsToKeyToAcc.computeIfAbsent(k.timestamp, x -> new HashMap<>())
+        if (tsToKeyToAcc.getOrCreate(k.timestamp)
                         .put((K) k.key, (A) value) != null) {
             throw new JetException("Duplicate key in snapshot: " + k);
         }
@@ -233,11 +239,7 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             // initialized using the "add leading/deduct trailing" approach because we
             // start from a window that covers at most one existing frame -- the lowest
             // one on record.
-            long bottomTs = tsToKeyToAcc
-                    .keySet().stream()
-                    .min(naturalOrder())
-                    .orElseThrow(() -> new AssertionError("Failed to find the min key in a non-empty map"));
-            rangeStart = min(bottomTs, winPolicy.floorFrameTs(wm));
+            rangeStart = min(tsToKeyToAcc.bottomTs(), winPolicy.floorFrameTs(wm));
         }
         return traverseStream(range(rangeStart, wm, winPolicy.frameSize()).boxed())
                 .flatMap(winEnd -> traverseIterable(computeWindow(winEnd).entrySet())
@@ -249,10 +251,11 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
 
     private Map<K, A> computeWindow(long frameTs) {
         if (winPolicy.isTumbling()) {
-            return tsToKeyToAcc.getOrDefault(frameTs, emptyMap());
+            Map<K, A> frame = tsToKeyToAcc.get(frameTs);
+            return frame != null ? frame : emptyMap();
         }
-        if (aggrOp.deductFn() == null) {
-            return recomputeWindow(frameTs);
+        if (twoStacksWindow != null) {
+            return twoStacksWindow.compute(frameTs);
         }
         if (slidingWindow == null) {
             slidingWindow = recomputeWindow(frameTs);
@@ -269,10 +272,12 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
              ts <= frameTs;
              ts += winPolicy.frameSize()
         ) {
-            tsToKeyToAcc.getOrDefault(ts, emptyMap())
-                        .forEach((key, currAcc) -> combineFn.accept(
-                                window.computeIfAbsent(key, k -> aggrOp.createFn().get()),
-                                currAcc));
+            Map<K, A> frame = tsToKeyToAcc.get(ts);
+            if (frame != null) {
+                frame.forEach((key, currAcc) -> combineFn.accept(
+                        window.computeIfAbsent(key, k -> aggrOp.createFn().get()),
+                        currAcc));
+            }
         }
         return window;
     }
@@ -293,6 +298,9 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     private void completeWindow(long frameTs) {
         long frameToEvict = frameTs - winPolicy.windowSize() + winPolicy.frameSize();
         Map<K, A> evictedFrame = tsToKeyToAcc.remove(frameToEvict);
+        if (twoStacksWindow != null) {
+            twoStacksWindow.evict(frameToEvict);
+        }
         if (!winPolicy.isTumbling() && aggrOp.deductFn() != null) {
             // deduct trailing-edge frame
             patchSlidingWindow(aggrOp.deductFn(), evictedFrame);
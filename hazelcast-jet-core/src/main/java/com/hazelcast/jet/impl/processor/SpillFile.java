@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.instance.HazelcastInstanceImpl;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.util.Preconditions.checkState;
+
+/**
+ * A temporary file to which a processor spills the part of its state that
+ * doesn't fit into memory. The objects are serialized with Hazelcast
+ * serialization. First all the objects are {@link #write written}, then
+ * they are {@link #read read} back in the same order. The file is deleted
+ * when closed.
+ * <p>
+ * The class is not thread-safe.
+ */
+public final class SpillFile implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NULL_LENGTH = -1;
+
+    private final File file;
+    private final SerializationService serializationService;
+    private DataOutputStream out;
+    private DataInputStream in;
+    private long count;
+
+    public SpillFile(@Nonnull File dir, @Nonnull SerializationService serializationService) throws IOException {
+        this.serializationService = serializationService;
+        this.file = File.createTempFile("jet-spill-", ".bin", dir);
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * Returns the serialization service to use for the spill files of the
+     * processor with the given context. The job's own service is preferred
+     * because it uses the job's class loader.
+     */
+    @Nonnull
+    public static SerializationService serializationService(@Nonnull Processor.Context context) {
+        return context instanceof ProcCtx
+                ? ((ProcCtx) context).getSerializationService()
+                : ((HazelcastInstanceImpl) context.jetInstance().getHazelcastInstance()).getSerializationService();
+    }
+
+    /**
+     * Returns the executor on which a cooperative processor with the given
+     * context should do the spill file I/O, so that it doesn't block the
+     * cooperative worker thread.
+     */
+    @Nonnull
+    public static Executor ioExecutor(@Nonnull Processor.Context context) {
+        NodeEngine nodeEngine = ((HazelcastInstanceImpl) context.jetInstance().getHazelcastInstance()).node.nodeEngine;
+        return nodeEngine.getExecutionService().getExecutor(ExecutionService.IO_EXECUTOR);
+    }
+
+    /**
+     * Appends the object to the file. Must not be called after {@link #read}.
+     * A {@code null} object is read back as {@code null}, a reader that
+     * writes nulls must use {@link #count()} to detect the end of the file.
+     */
+    public void write(@Nullable Object item) throws IOException {
+        checkState(out != null, "already reading");
+        count++;
+        if (item == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = serializationService.toData(item).toByteArray();
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Returns the number of objects written and not yet read.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the next object or {@code null}, if all were read. The first
+     * call finishes the writing.
+     */
+    @Nullable
+    public <T> T read() throws IOException {
+        if (in == null) {
+            out.close();
+            out = null;
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+        }
+        if (count == 0) {
+            return null;
+        }
+        int length = in.readInt();
+        count--;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return serializationService.toObject(new HeapData(bytes));
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeResource(out);
+        closeResource(in);
+        out = null;
+        in = null;
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Override
+    public String toString() {
+        return "SpillFile{file=" + file + ", count=" + count + '}';
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.JetException;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.config.ProcessingGuarantee;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.BroadcastKey;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.jet.impl.util.TimerWheel;
+import com.hazelcast.jet.impl.util.TimerWheel.Timer;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.config.ProcessingGuarantee.EXACTLY_ONCE;
+import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
+import static com.hazelcast.jet.impl.util.LoggingUtil.logFine;
+import static com.hazelcast.jet.impl.util.Util.addClamped;
+import static com.hazelcast.jet.impl.util.Util.logLateEvent;
+import static com.hazelcast.jet.impl.util.Util.subtractClamped;
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+
+/**
+ * Windowed stream-to-stream join processor. Joins each item received on
+ * ordinal 0 with each item received on ordinal 1 that has the same key
+ * and whose timestamp differs by at most {@code maxTimeDifference}. The
+ * pair is passed to {@code mapToOutputFn} with the ordinal-0 item first,
+ * the function must not return {@code null}.
+ * <p>
+ * Both inputs are buffered per key, sorted by timestamp. An item with
+ * timestamp {@code t} can't match any item that isn't late once the
+ * watermark exceeds {@code t + maxTimeDifference}, that's when it's
+ * evicted. Late items are dropped.
+ *
+ * @param <K> type of the join key
+ * @param <OUT> type of the output item
+ */
+public class StreamJoinP<K, OUT> extends AbstractProcessor {
+
+    // exposed for testing, to check for memory leaks
+    final Map<K, Buffers<K>> keyToBuffers = new HashMap<>();
+    // each key's timer is scheduled at the eviction time of its earliest item
+    final TimerWheel<K> evictions = new TimerWheel<>();
+    long currentWatermark = Long.MIN_VALUE;
+
+    private final long maxTimeDifference;
+    @Nonnull
+    private final List<ToLongFunction<Object>> timestampFns;
+    @Nonnull
+    private final List<Function<Object, K>> keyFns;
+    @Nonnull
+    private final BiFunction<Object, Object, OUT> mapToOutputFn;
+    @Nonnull
+    private final List<FlatMapper<Object, OUT>> joinFlatMappers = new ArrayList<>();
+    private final Matches matches = new Matches();
+    private ProcessingGuarantee processingGuarantee;
+
+    private Traverser snapshotTraverser;
+    private long minRestoredCurrentWatermark = Long.MAX_VALUE;
+
+    @SuppressWarnings("unchecked")
+    public StreamJoinP(
+            long maxTimeDifference,
+            @Nonnull List<? extends ToLongFunction<?>> timestampFns,
+            @Nonnull List<? extends Function<?, ? extends K>> keyFns,
+            @Nonnull BiFunction<?, ?, ? extends OUT> mapToOutputFn
+    ) {
+        checkNotNegative(maxTimeDifference, "maxTimeDifference must not be negative");
+        checkTrue(timestampFns.size() == 2 && keyFns.size() == 2,
+                "stream join needs exactly two timestamp and two key functions");
+        this.maxTimeDifference = maxTimeDifference;
+        this.timestampFns = (List<ToLongFunction<Object>>) timestampFns;
+        this.keyFns = (List<Function<Object, K>>) keyFns;
+        this.mapToOutputFn = (BiFunction<Object, Object, OUT>) mapToOutputFn;
+        joinFlatMappers.add(flatMapper(item -> join(0, item)));
+        joinFlatMappers.add(flatMapper(item -> join(1, item)));
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        processingGuarantee = context.processingGuarantee();
+    }
+
+    @Override
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) {
+        return joinFlatMappers.get(ordinal).tryProcess(item);
+    }
+
+    @Override
+    public boolean tryProcessWatermark(@Nonnull Watermark wm) {
+        currentWatermark = wm.timestamp();
+        // A key's timer is scheduled at the eviction time of its earliest
+        // item, so each expired timer has a distinct key with items to evict
+        List<K> keysToEvict = new ArrayList<>();
+        evictions.advance(currentWatermark, timer -> keysToEvict.add(timer.item()));
+        for (K key : keysToEvict) {
+            evict(key, keyToBuffers.get(key));
+        }
+        return true;
+    }
+
+    private Traverser<OUT> join(int ordinal, Object item) {
+        long timestamp = timestampFns.get(ordinal).applyAsLong(item);
+        if (timestamp < currentWatermark) {
+            logLateEvent(getLogger(), currentWatermark, item);
+            return Traversers.empty();
+        }
+        K key = keyFns.get(ordinal).apply(item);
+        Buffers<K> b = keyToBuffers.computeIfAbsent(key, k -> new Buffers<>());
+        b.sides[ordinal].add(timestamp, item);
+        scheduleEviction(key, b);
+        return matches.reset(ordinal, item, b.sides[1 - ordinal], timestamp);
+    }
+
+    private void evict(K key, Buffers<K> b) {
+        long limit = subtractClamped(currentWatermark, maxTimeDifference);
+        b.sides[0].removeBefore(limit);
+        b.sides[1].removeBefore(limit);
+        if (b.sides[0].size == 0 && b.sides[1].size == 0) {
+            keyToBuffers.remove(key);
+        } else {
+            scheduleEviction(key, b);
+        }
+    }
+
+    private void scheduleEviction(K key, Buffers<K> b) {
+        if (b.timer == null) {
+            b.timer = new Timer<>(key);
+        }
+        evictions.schedule(b.timer, addClamped(b.minTimestamp(), maxTimeDifference));
+    }
+
+    @Override
+    public boolean saveToSnapshot() {
+        if (snapshotTraverser == null) {
+            snapshotTraverser = Traversers.<Object>traverseIterable(keyToBuffers.entrySet())
+                    .append(entry(broadcastKey(Keys.CURRENT_WATERMARK), currentWatermark))
+                    .onFirstNull(() -> snapshotTraverser = null);
+        }
+        return emitFromTraverserToSnapshot(snapshotTraverser);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
+        if (key instanceof BroadcastKey) {
+            BroadcastKey bcastKey = (BroadcastKey) key;
+            if (!Keys.CURRENT_WATERMARK.equals(bcastKey.key())) {
+                throw new JetException("Unexpected broadcast key: " + bcastKey.key());
+            }
+            long newCurrentWatermark = (long) value;
+            assert processingGuarantee != EXACTLY_ONCE
+                    || minRestoredCurrentWatermark == Long.MAX_VALUE
+                    || minRestoredCurrentWatermark == newCurrentWatermark
+                    : "different values for currentWatermark restored, before=" + minRestoredCurrentWatermark
+                    + ", new=" + newCurrentWatermark;
+            minRestoredCurrentWatermark = Math.min(newCurrentWatermark, minRestoredCurrentWatermark);
+            return;
+        }
+
+        keyToBuffers.put((K) key, (Buffers<K>) value);
+    }
+
+    @Override
+    public boolean finishSnapshotRestore() {
+        assert evictions.isEmpty();
+        // populate evictions
+        for (Entry<K, Buffers<K>> entry : keyToBuffers.entrySet()) {
+            scheduleEviction(entry.getKey(), entry.getValue());
+        }
+        currentWatermark = minRestoredCurrentWatermark;
+        logFine(getLogger(), "Restored currentWatermark from snapshot to: %s", currentWatermark);
+        return true;
+    }
+
+    /**
+     * Traverses the items of the other side that match the received item.
+     * A single instance is reused for all received items, the {@link
+     * FlatMapper} drains it before it calls {@link #join} again.
+     */
+    private final class Matches implements Traverser<OUT> {
+        private Object item;
+        private boolean itemIsLeft;
+        private Side other;
+        private int index;
+        private int end;
+
+        Traverser<OUT> reset(int ordinal, Object item, Side other, long timestamp) {
+            this.item = item;
+            this.itemIsLeft = ordinal == 0;
+            this.other = other;
+            this.index = other.lowerBound(subtractClamped(timestamp, maxTimeDifference));
+            this.end = other.upperBound(addClamped(timestamp, maxTimeDifference));
+            return this;
+        }
+
+        @Override
+        public OUT next() {
+            if (index >= end) {
+                item = null;
+                other = null;
+                return null;
+            }
+            Object otherItem = other.items[index++];
+            return itemIsLeft ? mapToOutputFn.apply(item, otherItem) : mapToOutputFn.apply(otherItem, item);
+        }
+    }
+
+    /**
+     * The buffered items of one join input under one key, as parallel
+     * arrays sorted by timestamp. The arrays are allocated on the first
+     * item, so a key seen on one input only takes no space for the other.
+     */
+    static final class Side {
+        private static final long[] NO_TIMESTAMPS = {};
+        private static final Object[] NO_ITEMS = {};
+
+        private int size;
+        private long[] timestamps = NO_TIMESTAMPS;
+        private Object[] items = NO_ITEMS;
+
+        private void add(long timestamp, Object item) {
+            if (size == timestamps.length) {
+                int newCapacity = Math.max(2, 2 * size);
+                timestamps = Arrays.copyOf(timestamps, newCapacity);
+                items = Arrays.copyOf(items, newCapacity);
+            }
+            // items mostly arrive in timestamp order, so this rarely shifts anything
+            int idx = upperBound(timestamp);
+            arraycopy(timestamps, idx, timestamps, idx + 1, size - idx);
+            arraycopy(items, idx, items, idx + 1, size - idx);
+            timestamps[idx] = timestamp;
+            items[idx] = item;
+            size++;
+        }
+
+        private void removeBefore(long timestamp) {
+            int count = lowerBound(timestamp);
+            if (count == 0) {
+                return;
+            }
+            size -= count;
+            arraycopy(timestamps, count, timestamps, 0, size);
+            arraycopy(items, count, items, 0, size);
+            Arrays.fill(items, size, size + count, null);
+            if (size <= timestamps.length >> 2) {
+                // release the memory after a burst of items
+                timestamps = size == 0 ? NO_TIMESTAMPS : Arrays.copyOf(timestamps, 2 * size);
+                items = size == 0 ? NO_ITEMS : Arrays.copyOf(items, 2 * size);
+            }
+        }
+
+        /**
+         * Returns the index of the first item with a timestamp not less than
+         * the given one.
+         */
+        private int lowerBound(long timestamp) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first item with a timestamp greater than
+         * the given one.
+         */
+        private int upperBound(long timestamp) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] <= timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(timestamps[i]);
+                out.writeObject(items[i]);
+            }
+        }
+
+        private void readData(ObjectDataInput in) throws IOException {
+            size = in.readInt();
+            timestamps = size == 0 ? NO_TIMESTAMPS : new long[size];
+            items = size == 0 ? NO_ITEMS : new Object[size];
+            for (int i = 0; i < size; i++) {
+                timestamps[i] = in.readLong();
+                items[i] = in.readObject();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(Arrays.copyOf(timestamps, size));
+        }
+    }
+
+    public static class Buffers<K> implements IdentifiedDataSerializable {
+        // not serialized, recreated after restoring from the snapshot
+        private Timer<K> timer;
+        private final Side[] sides = {new Side(), new Side()};
+
+        private long minTimestamp() {
+            if (sides[0].size == 0) {
+                return sides[1].timestamps[0];
+            }
+            if (sides[1].size == 0) {
+                return sides[0].timestamps[0];
+            }
+            return min(sides[0].timestamps[0], sides[1].timestamps[0]);
+        }
+
+        @Override
+        public int getFactoryId() {
+            return JetInitDataSerializerHook.FACTORY_ID;
+        }
+
+        @Override
+        public int getId() {
+            return JetInitDataSerializerHook.STREAM_JOIN_P_BUFFERS;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            sides[0].writeData(out);
+            sides[1].writeData(out);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            sides[0].readData(in);
+            sides[1].readData(in);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "{left=" + sides[0] + ", right=" + sides[1] + '}';
+        }
+    }
+
+    // package-visible for test
+    enum Keys {
+        CURRENT_WATERMARK
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.core.SlidingWindowPolicy;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Incrementally computes a sliding window for an aggregate operation that
+ * has no {@code deductFn}, using the "two stacks" technique. Each slide
+ * costs amortized O(1) {@code combineFn} calls per key and frame instead of
+ * combining all the frames in the window again.
+ * <p>
+ * The frames of the current window are split in two parts:
+ * <ul><li>
+ *     the <em>front</em> part holds the older frames. For every key present
+ *     in the window's bottom frame it stores the aggregation of that key
+ *     over the entire front part ({@code frontAgg}). For every front frame it
+ *     also stores the values {@code frontAgg} must change to when that frame
+ *     is evicted. Eviction therefore just replaces the entries of the keys
+ *     present in the evicted frame.
+ * </li><li>
+ *     the <em>back</em> part holds the frames added since the front part was
+ *     last built. It's kept as a single running aggregation, {@code backAgg}.
+ * </li></ul>
+ * When the last front frame is evicted, the next window rebuilds the front
+ * part from all its frames, walking them from the newest to the oldest.
+ * Every frame goes through this at most once, so the cost of rebuilding is
+ * amortized over all the slides. The price is one extra accumulator per
+ * key and frame in the front part.
+ * <p>
+ * The frames themselves are owned by {@link SlidingWindowP}; this class only
+ * reads them. The windows must be requested in the order of their end
+ * timestamps, without gaps, and each window's bottom frame must be evicted
+ * after the window was emitted.
+ *
+ * @param <K> type of the grouping key
+ * @param <A> type of the accumulator object
+ */
+final class TwoStacksWindow<K, A> {
+
+    private final FrameRingBuffer<Map<K, A>> frames;
+    private final long frameSize;
+    private final long windowSize;
+    private final Supplier<A> createFn;
+    private final BiConsumer<? super A, ? super A> combineFn;
+
+    // For each front frame: the value of frontAgg for each key in the frame
+    // after the frame is evicted. A null value means the key must be removed.
+    private final FrameRingBuffer<Map<K, A>> frontEvictions;
+    private final Map<K, A> frontAgg = new HashMap<>();
+    private final Map<K, A> backAgg = new HashMap<>();
+    private long frontTopTs = Long.MIN_VALUE;
+    private long backTopTs = Long.MIN_VALUE;
+
+    TwoStacksWindow(
+            @Nonnull FrameRingBuffer<Map<K, A>> frames,
+            @Nonnull SlidingWindowPolicy winPolicy,
+            @Nonnull AggregateOperation<A, ?> aggrOp
+    ) {
+        this.frames = frames;
+        this.frameSize = winPolicy.frameSize();
+        this.windowSize = winPolicy.windowSize();
+        this.createFn = aggrOp.createFn();
+        this.combineFn = requireNonNull(aggrOp.combineFn());
+        this.frontEvictions = new FrameRingBuffer<>(frameSize, HashMap::new);
+    }
+
+    /**
+     * Returns the aggregated window ending with the given frame. The returned
+     * map and its accumulators must not be modified.
+     */
+    @Nonnull
+    Map<K, A> compute(long winEnd) {
+        long winStart = winEnd - windowSize + frameSize;
+        if (winStart > frontTopTs) {
+            rebuildFront(winStart, winEnd);
+            return frontAgg;
+        }
+        assert winEnd == backTopTs + frameSize || backTopTs == Long.MIN_VALUE && winEnd == frontTopTs + frameSize
+                : "windows not requested in order: winEnd=" + winEnd;
+        backTopTs = winEnd;
+        Map<K, A> leadingFrame = frames.get(winEnd);
+        if (leadingFrame != null) {
+            for (Entry<K, A> e : leadingFrame.entrySet()) {
+                combineFn.accept(backAgg.computeIfAbsent(e.getKey(), k -> createFn.get()), e.getValue());
+            }
+        }
+        if (backAgg.isEmpty()) {
+            return frontAgg;
+        }
+        Map<K, A> window = new HashMap<>(frontAgg);
+        for (Entry<K, A> e : backAgg.entrySet()) {
+            A acc = createFn.get();
+            A frontAcc = frontAgg.get(e.getKey());
+            if (frontAcc != null) {
+                combineFn.accept(acc, frontAcc);
+            }
+            combineFn.accept(acc, e.getValue());
+            window.put(e.getKey(), acc);
+        }
+        return window;
+    }
+
+    /**
+     * Removes the given frame, which must be the bottom frame of the last
+     * computed window, from the aggregation.
+     */
+    void evict(long frameTs) {
+        Map<K, A> evictions = frontEvictions.remove(frameTs);
+        if (evictions == null) {
+            return;
+        }
+        for (Entry<K, A> e : evictions.entrySet()) {
+            if (e.getValue() == null) {
+                frontAgg.remove(e.getKey());
+            } else {
+                frontAgg.put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    private void rebuildFront(long winStart, long winEnd) {
+        assert frontEvictions.isEmpty() : "front part not fully evicted";
+        frontAgg.clear();
+        backAgg.clear();
+        for (long ts = winEnd; ts >= winStart; ts -= frameSize) {
+            Map<K, A> frame = frames.get(ts);
+            if (frame == null) {
+                continue;
+            }
+            Map<K, A> evictions = frontEvictions.getOrCreate(ts);
+            for (Entry<K, A> e : frame.entrySet()) {
+                // the accumulators already in frontAgg are never modified, so
+                // they can safely be shared with the evictions map
+                A newerAcc = frontAgg.get(e.getKey());
+                evictions.put(e.getKey(), newerAcc);
+                A acc = createFn.get();
+                combineFn.accept(acc, e.getValue());
+                if (newerAcc != null) {
+                    combineFn.accept(acc, newerAcc);
+                }
+                frontAgg.put(e.getKey(), acc);
+            }
+        }
+        frontTopTs = winEnd;
+        backTopTs = Long.MIN_VALUE;
+    }
+}
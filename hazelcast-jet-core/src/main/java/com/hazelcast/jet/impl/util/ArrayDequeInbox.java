@@ -59,6 +59,16 @@ public final class ArrayDequeInbox implements Inbox {
         progTracker.madeProgress();
     }
 
+    @Override
+    public int drainTo(Object[] target) {
+        int drained = 0;
+        for (Object o; drained < target.length && (o = queue.poll()) != null; drained++) {
+            target[drained] = o;
+        }
+        progTracker.madeProgress(drained > 0);
+        return drained;
+    }
+
     /**
      * Retrieves the queue backing this inbox.
      */
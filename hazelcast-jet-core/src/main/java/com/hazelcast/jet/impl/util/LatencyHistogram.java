@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative {@code long} values with a bounded relative
+ * error. Values below 8 have their own buckets; above that, each power of
+ * two is split into 8 equally-sized buckets, so a reported percentile is
+ * at most 12.5% above the actual value. Values above 2<sup>40</sup> are
+ * recorded as 2<sup>40</sup>.
+ * <p>
+ * Only one thread may call {@link #record}, any thread may read the
+ * statistics. The readers may see a state in which some values of the
+ * last records are missing, which is fine for monitoring.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_OCTAVE = 40;
+    private static final long MAX_VALUE = (1L << MAX_OCTAVE) - 1;
+    private static final int BUCKET_COUNT = bucket(MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private volatile long count;
+    private volatile long max;
+
+    /**
+     * Records the given value. Negative values are recorded as 0.
+     */
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    public void record(long value) {
+        long v = Math.min(Math.max(value, 0), MAX_VALUE);
+        int bucket = bucket(v);
+        counts.lazySet(bucket, counts.get(bucket) + 1);
+        count++;
+        if (v > max) {
+            max = v;
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded value, 0 if none were recorded.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns the value below which the given fraction of the recorded values
+     * fall, rounded up to the upper bound of its bucket. Returns 0 if no
+     * values were recorded.
+     *
+     * @param quantile the fraction, in the range (0, 1]
+     */
+    public long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank && cumulative > 0) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return 0;
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int octave = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (octave - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (octave - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.function.LongFunction;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A hash map with primitive {@code long} keys. It uses open addressing
+ * with linear probing over parallel key and value arrays, so it doesn't
+ * box the keys and doesn't allocate an entry object per mapping. The
+ * values must not be {@code null}; a {@code null} value marks an empty
+ * slot.
+ * <p>
+ * The map doesn't support removing single mappings, it's meant for
+ * aggregation state which only grows until it is emitted as a whole.
+ * <p>
+ * The class is not thread-safe.
+ *
+ * @param <V> type of the values
+ */
+public class LongObjectHashMap<V> {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private static final int MAX_LOAD_PERCENT = 60;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private V[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public LongObjectHashMap(int initialCapacity) {
+        checkPositive(initialCapacity, "initialCapacity must be positive");
+        allocate(nextPowerOfTwo(initialCapacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value mapped to the key or {@code null}, if there's none.
+     */
+    @Nullable
+    public V get(long key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the key. If there's none, maps the key to
+     * the value returned from {@code createFn} and returns it.
+     */
+    @Nonnull
+    public V computeIfAbsent(long key, @Nonnull LongFunction<? extends V> createFn) {
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        V value = checkNotNull(createFn.apply(key), "createFn returned null");
+        insertAt(i, key, value);
+        return value;
+    }
+
+    /**
+     * Maps the key to the value and returns the value previously mapped to
+     * the key, or {@code null}.
+     */
+    @Nullable
+    public V put(long key, @Nonnull V value) {
+        checkNotNull(value, "value must not be null");
+        int i = slot(key);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V oldValue = values[i];
+                values[i] = value;
+                return oldValue;
+            }
+        }
+        insertAt(i, key, value);
+        return null;
+    }
+
+    /**
+     * Removes all the mappings. Keeps the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Returns a cursor over all the mappings, in no particular order. The
+     * map must not be modified while the cursor is in use.
+     */
+    @Nonnull
+    public Cursor<V> cursor() {
+        return new Cursor<>(this);
+    }
+
+    private void insertAt(int i, long key, V value) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * HASH_MULTIPLIER;
+        return (int) (h ^ (h >>> Integer.SIZE)) & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldValues.length; j++) {
+            if (oldValues[j] != null) {
+                int i = slot(oldKeys[j]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) ((long) capacity * MAX_LOAD_PERCENT / 100);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner(", ", "{", "}");
+        for (Cursor<V> c = cursor(); c.advance(); ) {
+            sj.add(c.key() + "=" + c.value());
+        }
+        return sj.toString();
+    }
+
+    /**
+     * Iterates over the mappings of a {@link LongObjectHashMap} without
+     * boxing the keys.
+     *
+     * @param <V> type of the values
+     */
+    public static final class Cursor<V> {
+        private final LongObjectHashMap<V> map;
+        private int index = -1;
+
+        private Cursor(LongObjectHashMap<V> map) {
+            this.map = map;
+        }
+
+        /**
+         * Moves to the next mapping. Returns {@code false} if there are no
+         * more mappings.
+         */
+        public boolean advance() {
+            V[] values = map.values;
+            while (++index < values.length) {
+                if (values[index] != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public long key() {
+            return map.keys[index];
+        }
+
+        public V value() {
+            return map.values[index];
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.jet.core.DefaultPartitionStrategy;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.impl.serialization.SerializerHookConstants;
+
+import javax.annotation.Nonnull;
+
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_BOOLEAN;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_BYTE;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_CHAR;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DOUBLE;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_FLOAT;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_INTEGER;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_LONG;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_NULL;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_SHORT;
+import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_STRING;
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+
+/**
+ * Computes the Hazelcast partition ID of {@code String}s, boxed primitives
+ * and {@link Tuple2}s of those without serializing them to {@code Data}.
+ * The bytes the default serializers would produce are fed directly into
+ * the same MurmurHash3 Hazelcast applies to the serialized form, so the
+ * result is identical, but no {@code HeapData} is allocated.
+ * <p>
+ * The serialized form reproduced here is the one with the default
+ * big-endian byte order and without a global partitioning strategy. Use
+ * {@link #matches} to check that the cluster actually uses it before
+ * relying on the fast path.
+ * <p>
+ * An instance holds the state of a single hash computation, it's not
+ * meant to be reused.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class PartitionHash {
+
+    /**
+     * Returned from {@link #partitionId} for items of types this class
+     * doesn't know the serialized form of.
+     */
+    public static final int UNKNOWN_TYPE = -1;
+
+    private static final int SEED = 0x01000193;
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private static final Object[] SAMPLES = {
+            0, -1, Integer.MAX_VALUE, 42L, Long.MIN_VALUE, (short) 7, (byte) -3, 'x', true, 1.5f, -2.25d,
+            "", "a", "abc", "key@partition", "\u017e\u20ac\ud83d\ude00",
+            tuple2("a", 1), tuple2(null, 2L), tuple2(tuple2(1, "b"), '\u0100')
+    };
+
+    private int h1 = SEED;
+    private int block;
+    private int blockLength;
+    private int length;
+
+    private PartitionHash() {
+    }
+
+    /**
+     * Returns the partition ID of the given item, or {@link #UNKNOWN_TYPE}
+     * if the item's type isn't supported.
+     */
+    public static int partitionId(@Nonnull Object item, int partitionCount) {
+        PartitionHash hash = new PartitionHash();
+        if (!hash.write(item, false)) {
+            return UNKNOWN_TYPE;
+        }
+        return hashToIndex(hash.finish(), partitionCount);
+    }
+
+    /**
+     * Returns {@code true} if {@link #partitionId} gives the same result as
+     * the given strategy for a set of sample values. It doesn't if the
+     * cluster is configured with a non-default byte order or a global
+     * partitioning strategy.
+     */
+    public static boolean matches(@Nonnull DefaultPartitionStrategy strategy, int partitionCount) {
+        for (Object sample : SAMPLES) {
+            if (partitionId(sample, partitionCount) != strategy.getPartition(sample)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean write(Object o, boolean withTypeId) {
+        if (o instanceof String) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_STRING);
+            writeUtf((String) o);
+        } else if (o instanceof Integer) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_INTEGER);
+            writeInt((Integer) o);
+        } else if (o instanceof Long) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_LONG);
+            writeLong((Long) o);
+        } else if (o instanceof Tuple2) {
+            Tuple2 t = (Tuple2) o;
+            writeTypeId(withTypeId, SerializerHookConstants.TUPLE2);
+            return writeObject(t.f0()) && writeObject(t.f1());
+        } else if (o instanceof Short) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_SHORT);
+            writeShort((Short) o);
+        } else if (o instanceof Character) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_CHAR);
+            writeShort((Character) o);
+        } else if (o instanceof Byte) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_BYTE);
+            writeByte((Byte) o);
+        } else if (o instanceof Boolean) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_BOOLEAN);
+            writeByte((Boolean) o ? 1 : 0);
+        } else if (o instanceof Double) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_DOUBLE);
+            writeLong(Double.doubleToLongBits((Double) o));
+        } else if (o instanceof Float) {
+            writeTypeId(withTypeId, CONSTANT_TYPE_FLOAT);
+            writeInt(Float.floatToIntBits((Float) o));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Mirrors {@code ObjectDataOutput.writeObject()}: the type ID followed
+     * by the payload.
+     */
+    private boolean writeObject(Object o) {
+        if (o == null) {
+            writeInt(CONSTANT_TYPE_NULL);
+            return true;
+        }
+        return write(o, true);
+    }
+
+    private void writeTypeId(boolean withTypeId, int typeId) {
+        if (withTypeId) {
+            writeInt(typeId);
+        }
+    }
+
+    /**
+     * Mirrors {@code ObjectDataOutput.writeUTF()}: the number of chars
+     * followed by each char encoded on its own as 1-3 UTF-8 bytes.
+     */
+    private void writeUtf(String s) {
+        int len = s.length();
+        writeInt(len);
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c <= 0x007f) {
+                writeByte(c);
+            } else if (c > 0x07ff) {
+                writeByte(0xe0 | c >> 12 & 0x0f);
+                writeByte(0x80 | c >> 6 & 0x3f);
+                writeByte(0x80 | c & 0x3f);
+            } else {
+                writeByte(0xc0 | c >> 6 & 0x1f);
+                writeByte(0x80 | c & 0x3f);
+            }
+        }
+    }
+
+    private void writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+
+    private void writeInt(int v) {
+        if (blockLength == 0) {
+            // MurmurHash reads the blocks as little-endian ints
+            block = Integer.reverseBytes(v);
+            length += 4;
+            mixBlock();
+            return;
+        }
+        writeByte(v >>> 24);
+        writeByte(v >>> 16);
+        writeByte(v >>> 8);
+        writeByte(v);
+    }
+
+    private void writeShort(int v) {
+        writeByte(v >>> 8);
+        writeByte(v);
+    }
+
+    private void writeByte(int b) {
+        block |= (b & 0xff) << (blockLength << 3);
+        length++;
+        if (++blockLength == 4) {
+            mixBlock();
+        }
+    }
+
+    private void mixBlock() {
+        h1 ^= mixK1(block);
+        h1 = Integer.rotateLeft(h1, 13);
+        h1 = h1 * 5 + 0xe6546b64;
+        block = 0;
+        blockLength = 0;
+    }
+
+    private int finish() {
+        if (blockLength > 0) {
+            h1 ^= mixK1(block);
+        }
+        h1 ^= length;
+        h1 ^= h1 >>> 16;
+        h1 *= 0x85ebca6b;
+        h1 ^= h1 >>> 13;
+        h1 *= 0xc2b2ae35;
+        h1 ^= h1 >>> 16;
+        return h1;
+    }
+
+    private static int mixK1(int k1) {
+        k1 *= C1;
+        k1 = Integer.rotateLeft(k1, 15);
+        return k1 * C2;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import javax.annotation.Nonnull;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timer wheel that indexes {@link Timer timers} by their
+ * deadline. It's meant for event-time deadlines driven by the watermark:
+ * the wheel's current time only moves forward through {@link
+ * #advance(long, Consumer) advance()}, which expires all the timers with a
+ * deadline less than the new time.
+ * <p>
+ * The 64 bits of a deadline are split into 11 groups of 6 bits, each group
+ * being the index of a slot in one level of the wheel. A timer is stored
+ * at the lowest level where all the higher-level digits of its deadline
+ * are equal to those of the current time. When the time advances, the
+ * levels below the highest changed digit expire completely, and only the
+ * slot at that digit has to be redistributed to the lower levels. This
+ * makes the advance cost proportional to the number of expired timers
+ * plus a constant, no matter how far the time jumps.
+ * <p>
+ * The timers are intrusive doubly-linked list nodes, so scheduling,
+ * rescheduling and cancelling a timer is O(1) and doesn't allocate. A
+ * timer can be scheduled in at most one wheel at a time.
+ * <p>
+ * The class is not thread-safe.
+ *
+ * @param <T> type of the object associated with a timer
+ */
+public class TimerWheel<T> {
+
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int SLOTS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+    private static final int LEVEL_COUNT = (Long.SIZE + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+    // holds timers scheduled with a deadline less than the current time
+    private static final int OVERDUE_BUCKET = LEVEL_COUNT * SLOTS_PER_LEVEL;
+    private static final int NOT_SCHEDULED = -1;
+
+    private final Timer<T>[] buckets = newBucketArray();
+    private long now = Long.MIN_VALUE;
+    private int size;
+
+    /**
+     * Returns the current time of the wheel, which is the value last passed
+     * to {@link #advance}, or {@code Long.MIN_VALUE} initially.
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * Returns the number of scheduled timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Schedules the timer to expire when the time advances beyond the given
+     * deadline. If the timer is already scheduled, it is rescheduled. If the
+     * deadline is less than {@link #now()}, the timer will expire on the
+     * next call to {@code advance()}.
+     */
+    public void schedule(@Nonnull Timer<T> timer, long deadline) {
+        if (timer.bucket != NOT_SCHEDULED) {
+            if (timer.deadline == deadline) {
+                return;
+            }
+            unlink(timer);
+        } else {
+            size++;
+        }
+        timer.deadline = deadline;
+        link(timer, bucketFor(deadline));
+    }
+
+    /**
+     * Removes the timer from the wheel. Does nothing, if the timer is not
+     * scheduled.
+     */
+    public void cancel(@Nonnull Timer<T> timer) {
+        if (timer.bucket != NOT_SCHEDULED) {
+            unlink(timer);
+            size--;
+        }
+    }
+
+    /**
+     * Advances the current time to the given value and passes each timer
+     * with a deadline less than {@code time} to the {@code expiredAction}.
+     * The timers passed to the action are no longer scheduled. The action
+     * must not modify the wheel, but the caller can schedule the expired
+     * timers again after this method returns. The timers are passed in no
+     * particular order.
+     * <p>
+     * Calls with a time less than {@link #now()} are ignored.
+     */
+    public void advance(long time, @Nonnull Consumer<? super Timer<T>> expiredAction) {
+        if (time < now) {
+            return;
+        }
+        expireBucket(OVERDUE_BUCKET, expiredAction);
+        // compare the times as unsigned values, so that the digits of the
+        // deadlines grow in the same order as the deadlines
+        long oldTime = now ^ Long.MIN_VALUE;
+        long newTime = time ^ Long.MIN_VALUE;
+        long changedBits = oldTime ^ newTime;
+        if (changedBits == 0) {
+            return;
+        }
+        int topLevel = levelOf(changedBits);
+        // all the timers below the top changed level have a deadline below the new time
+        for (int level = 0; level < topLevel; level++) {
+            for (int slot = 0; slot < SLOTS_PER_LEVEL; slot++) {
+                expireBucket(level * SLOTS_PER_LEVEL + slot, expiredAction);
+            }
+        }
+        int newDigit = digit(newTime, topLevel);
+        for (int slot = digit(oldTime, topLevel); slot < newDigit; slot++) {
+            expireBucket(topLevel * SLOTS_PER_LEVEL + slot, expiredAction);
+        }
+        now = time;
+        // the timers in the slot of the new time's digit either expired or
+        // must move to a lower level
+        int cascadedBucket = topLevel * SLOTS_PER_LEVEL + newDigit;
+        Timer<T> timer = buckets[cascadedBucket];
+        buckets[cascadedBucket] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.bucket = NOT_SCHEDULED;
+            timer.prev = null;
+            timer.next = null;
+            if (timer.deadline < time) {
+                size--;
+                expiredAction.accept(timer);
+            } else {
+                link(timer, bucketFor(timer.deadline));
+            }
+            timer = next;
+        }
+    }
+
+    private int bucketFor(long deadline) {
+        if (deadline < now) {
+            return OVERDUE_BUCKET;
+        }
+        long unsignedDeadline = deadline ^ Long.MIN_VALUE;
+        long changedBits = unsignedDeadline ^ (now ^ Long.MIN_VALUE);
+        int level = changedBits == 0 ? 0 : levelOf(changedBits);
+        return level * SLOTS_PER_LEVEL + digit(unsignedDeadline, level);
+    }
+
+    private void expireBucket(int bucket, Consumer<? super Timer<T>> expiredAction) {
+        Timer<T> timer = buckets[bucket];
+        buckets[bucket] = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.bucket = NOT_SCHEDULED;
+            timer.prev = null;
+            timer.next = null;
+            size--;
+            expiredAction.accept(timer);
+            timer = next;
+        }
+    }
+
+    private void link(Timer<T> timer, int bucket) {
+        Timer<T> head = buckets[bucket];
+        timer.bucket = bucket;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        buckets[bucket] = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            buckets[timer.bucket] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.bucket = NOT_SCHEDULED;
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private static int levelOf(long changedBits) {
+        return (Long.SIZE - 1 - Long.numberOfLeadingZeros(changedBits)) / BITS_PER_LEVEL;
+    }
+
+    private static int digit(long unsignedTime, int level) {
+        return (int) (unsignedTime >>> (level * BITS_PER_LEVEL)) & SLOT_MASK;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Timer<T>[] newBucketArray() {
+        return new Timer[OVERDUE_BUCKET + 1];
+    }
+
+    /**
+     * A timer that can be scheduled in a {@link TimerWheel}.
+     *
+     * @param <T> type of the associated object
+     */
+    public static final class Timer<T> {
+        private final T item;
+        private long deadline;
+        private int bucket = NOT_SCHEDULED;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        public Timer(T item) {
+            this.item = item;
+        }
+
+        /**
+         * Returns the object associated with this timer.
+         */
+        public T item() {
+            return item;
+        }
+
+        /**
+         * Returns the deadline the timer was last scheduled with.
+         */
+        public long deadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return bucket != NOT_SCHEDULED;
+        }
+
+        @Override
+        public String toString() {
+            return "Timer{item=" + item + ", deadline=" + deadline + ", scheduled=" + isScheduled() + '}';
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.jet.impl.util;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.IMap;
 import com.hazelcast.core.Member;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.JetInstance;
@@ -56,6 +57,7 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -334,6 +336,21 @@ public final class Util {
         return new String(buf);
     }
 
+    /**
+     * Returns the current values of the metrics whose names start with the
+     * given prefix, keyed by the rest of the name. The values of {@code
+     * double} metrics are rounded. Only the matching metrics are read.
+     */
+    public static Map<String, Long> readMetrics(@Nonnull MetricsRegistry registry, @Nonnull String prefix) {
+        Map<String, Long> metrics = new HashMap<>();
+        for (String name : registry.getNames()) {
+            if (name.startsWith(prefix)) {
+                metrics.put(name.substring(prefix.length()), registry.newLongGauge(name).read());
+            }
+        }
+        return metrics;
+    }
+
     public static <K, V> EntryProcessor<K, V> entryProcessor(
             DistributedBiFunction<? super K, ? super V, ? extends V> remappingFunction
     ) {
@@ -24,6 +24,7 @@ import javax.annotation.Nonnull;
 import java.io.Serializable;
 
 import static com.hazelcast.jet.function.DistributedFunctions.noopConsumer;
+import static com.hazelcast.util.Preconditions.checkPositive;
 
 /**
  * A holder of functions needed to create and destroy a context object that
@@ -39,6 +40,8 @@ import static com.hazelcast.jet.function.DistributedFunctions.noopConsumer;
  *     <li>{@link GeneralStage#mapUsingContext}
  *     <li>{@link GeneralStage#filterUsingContext}
  *     <li>{@link GeneralStage#flatMapUsingContext}
+ *     <li>{@link GeneralStage#mapUsingContextAsync}
+ *     <li>{@link GeneralStage#filterUsingContextAsync}
  * </ul>
  * To get a context factory, choose one of the predefined factories in
  * {@link ContextFactories} or create your own using the builder you get
@@ -49,6 +52,16 @@ import static com.hazelcast.jet.function.DistributedFunctions.noopConsumer;
  */
 public final class ContextFactory<C> implements Serializable {
 
+    /**
+     * Default value for {@link #maxPendingCallsPerProcessor}.
+     */
+    public static final int MAX_PENDING_CALLS_DEFAULT = 256;
+
+    /**
+     * Default value for {@link #hasOrderedAsyncResponses}.
+     */
+    public static final boolean ORDERED_ASYNC_RESPONSES_DEFAULT = true;
+
     private static final boolean COOPERATIVE_DEFAULT = true;
     private static final boolean SHARE_LOCALLY_DEFAULT = false;
 
@@ -56,17 +69,23 @@ public final class ContextFactory<C> implements Serializable {
     private final DistributedConsumer<? super C> destroyFn;
     private final boolean isCooperative;
     private final boolean isSharedLocally;
+    private final int maxPendingCallsPerProcessor;
+    private final boolean orderedAsyncResponses;
 
     private ContextFactory(
             DistributedFunction<JetInstance, ? extends C> createFn,
             DistributedConsumer<? super C> destroyFn,
             boolean isCooperative,
-            boolean isSharedLocally
+            boolean isSharedLocally,
+            int maxPendingCallsPerProcessor,
+            boolean orderedAsyncResponses
     ) {
         this.createFn = createFn;
         this.destroyFn = destroyFn;
         this.isCooperative = isCooperative;
         this.isSharedLocally = isSharedLocally;
+        this.maxPendingCallsPerProcessor = maxPendingCallsPerProcessor;
+        this.orderedAsyncResponses = orderedAsyncResponses;
     }
 
     /**
@@ -80,7 +99,8 @@ public final class ContextFactory<C> implements Serializable {
     public static <C> ContextFactory<C> withCreateFn(
             @Nonnull DistributedFunction<JetInstance, ? extends C> createContextFn
     ) {
-        return new ContextFactory<>(createContextFn, noopConsumer(), COOPERATIVE_DEFAULT, SHARE_LOCALLY_DEFAULT);
+        return new ContextFactory<>(createContextFn, noopConsumer(), COOPERATIVE_DEFAULT, SHARE_LOCALLY_DEFAULT,
+                MAX_PENDING_CALLS_DEFAULT, ORDERED_ASYNC_RESPONSES_DEFAULT);
     }
 
     /**
@@ -93,7 +113,8 @@ public final class ContextFactory<C> implements Serializable {
      */
     @Nonnull
     public ContextFactory<C> withDestroyFn(@Nonnull DistributedConsumer<? super C> destroyFn) {
-        return new ContextFactory<>(createFn, destroyFn, isCooperative, isSharedLocally);
+        return new ContextFactory<>(createFn, destroyFn, isCooperative, isSharedLocally,
+                maxPendingCallsPerProcessor, orderedAsyncResponses);
     }
 
     /**
@@ -109,7 +130,8 @@ public final class ContextFactory<C> implements Serializable {
      */
     @Nonnull
     public ContextFactory<C> nonCooperative() {
-        return new ContextFactory<>(createFn, destroyFn, false, isSharedLocally);
+        return new ContextFactory<>(createFn, destroyFn, false, isSharedLocally,
+                maxPendingCallsPerProcessor, orderedAsyncResponses);
     }
 
     /**
@@ -123,7 +145,47 @@ public final class ContextFactory<C> implements Serializable {
      */
     @Nonnull
     public ContextFactory<C> shareLocally() {
-        return new ContextFactory<>(createFn, destroyFn, isCooperative, true);
+        return new ContextFactory<>(createFn, destroyFn, isCooperative, true,
+                maxPendingCallsPerProcessor, orderedAsyncResponses);
+    }
+
+    /**
+     * Returns a copy of this {@link ContextFactory} with the
+     * <em>maxPendingCallsPerProcessor</em> property set to the given value.
+     * It applies to the {@code *UsingContextAsync} transforms: each parallel
+     * processor will have at most this many asynchronous calls in flight and
+     * will stop taking new items from its inbox while at the limit.
+     * <p>
+     * Default value is {@value #MAX_PENDING_CALLS_DEFAULT}.
+     *
+     * @return a copy of this factory with the {@code maxPendingCallsPerProcessor}
+     *         property set.
+     */
+    @Nonnull
+    public ContextFactory<C> withMaxPendingCallsPerProcessor(int maxPendingCallsPerProcessor) {
+        checkPositive(maxPendingCallsPerProcessor, "maxPendingCallsPerProcessor must be >= 1");
+        return new ContextFactory<>(createFn, destroyFn, isCooperative, isSharedLocally,
+                maxPendingCallsPerProcessor, orderedAsyncResponses);
+    }
+
+    /**
+     * Returns a copy of this {@link ContextFactory} with the
+     * <em>orderedAsyncResponses</em> flag set to {@code false}. It applies to
+     * the {@code *UsingContextAsync} transforms. By default, the results of
+     * the asynchronous calls are emitted in the order of the input items,
+     * which means that a slow call holds back all the results after it. If
+     * you don't need the order, disable it: each result will be emitted as
+     * soon as its call completes.
+     * <p>
+     * Even when the order isn't kept, no item will overtake a watermark.
+     *
+     * @return a copy of this factory with the {@code orderedAsyncResponses}
+     *         flag set to {@code false}.
+     */
+    @Nonnull
+    public ContextFactory<C> withUnorderedAsyncResponses() {
+        return new ContextFactory<>(createFn, destroyFn, isCooperative, isSharedLocally,
+                maxPendingCallsPerProcessor, false);
     }
 
     /**
@@ -155,4 +217,18 @@ public final class ContextFactory<C> implements Serializable {
     public boolean isSharedLocally() {
         return isSharedLocally;
     }
+
+    /**
+     * Returns the maximum number of pending asynchronous calls per processor.
+     */
+    public int maxPendingCallsPerProcessor() {
+        return maxPendingCallsPerProcessor;
+    }
+
+    /**
+     * Returns the {@code orderedAsyncResponses} flag.
+     */
+    public boolean hasOrderedAsyncResponses() {
+        return orderedAsyncResponses;
+    }
 }
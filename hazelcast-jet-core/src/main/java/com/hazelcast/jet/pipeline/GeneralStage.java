@@ -27,6 +27,7 @@ import com.hazelcast.jet.function.DistributedToLongFunction;
 import com.hazelcast.jet.function.DistributedTriFunction;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
 
 import static com.hazelcast.jet.function.DistributedFunctions.alwaysTrue;
 
@@ -162,6 +163,66 @@ public interface GeneralStage<T> extends Stage {
             @Nonnull DistributedBiFunction<? super C, ? super T, ? extends Traverser<? extends R>> flatMapFn
     );
 
+    /**
+     * Asynchronous version of {@link #mapUsingContext}: the {@code
+     * mapAsyncFn} returns a {@code CompletableFuture<R>} instead of just
+     * {@code R}. It lets the stage have several calls to an external service
+     * in flight at the same time instead of blocking the thread on each of
+     * them.
+     * <p>
+     * The number of pending calls in each parallel processor is limited by
+     * {@link ContextFactory#maxPendingCallsPerProcessor()}. By default the
+     * results are emitted in the order of the input items; call {@link
+     * ContextFactory#withUnorderedAsyncResponses()} to emit each result as
+     * soon as it's available. The stage waits for all the pending calls to
+     * complete before it forwards a watermark and before it saves its
+     * snapshot.
+     * <p>
+     * If the future completes with {@code null}, the stage emits nothing. The
+     * function must not return a {@code null} future.
+     * <p>
+     * <strong>NOTE:</strong> any state you maintain in the context object does
+     * not automatically become a part of a fault-tolerant snapshot. If Jet must
+     * restore from a snapshot, your state will either be lost (if it was just
+     * local state) or not rewound to the checkpoint (if it was stored in some
+     * durable storage).
+     *
+     * @param <C> type of context object
+     * @param <R> the future's result type of the mapping function
+     * @param contextFactory the context factory
+     * @param mapAsyncFn a stateless mapping function
+     * @return the newly attached stage
+     */
+    @Nonnull
+    <C, R> GeneralStage<R> mapUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<R>> mapAsyncFn
+    );
+
+    /**
+     * Asynchronous version of {@link #filterUsingContext}: the {@code
+     * filterAsyncFn} returns a {@code CompletableFuture<Boolean>} instead of
+     * just a {@code boolean}. The number of pending calls and the order of
+     * the output are controlled by the {@code contextFactory}, see {@link
+     * #mapUsingContextAsync}.
+     * <p>
+     * <strong>NOTE:</strong> any state you maintain in the context object does
+     * not automatically become a part of a fault-tolerant snapshot. If Jet must
+     * restore from a snapshot, your state will either be lost (if it was just
+     * local state) or not rewound to the checkpoint (if it was stored in some
+     * durable storage).
+     *
+     * @param <C> type of context object
+     * @param contextFactory the context factory
+     * @param filterAsyncFn a stateless filter predicate function
+     * @return the newly attached stage
+     */
+    @Nonnull
+    <C> GeneralStage<T> filterUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<Boolean>> filterAsyncFn
+    );
+
     /**
      * Attaches to both this and the supplied stage a hash-joining stage and
      * returns it. This stage plays the role of the <em>primary stage</em> in
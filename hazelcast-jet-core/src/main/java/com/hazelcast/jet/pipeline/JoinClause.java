@@ -41,6 +41,11 @@ import java.util.Map.Entry;
  *  contain just the vaules. In this case the projection function should be
  *  {@code Entry::getValue}. There is direct support for this case with the
  *  method {@link #joinMapEntries(DistributedFunction)}.
+ * <p>
+ * By default each item of the enriching stream must have a distinct join
+ * key. Call {@link #oneToMany()} to allow several enriching items with the
+ * same key. Call {@link #partitioned()} if the enriching stream is too
+ * large to be replicated to each member.
  *
  * @param <K> the type of the join key
  * @param <T0> the type of the left-hand stream item
@@ -51,15 +56,21 @@ public final class JoinClause<K, T0, T1, T1_OUT> implements Serializable {
     private final DistributedFunction<? super T0, ? extends K> leftKeyFn;
     private final DistributedFunction<? super T1, ? extends K> rightKeyFn;
     private final DistributedFunction<? super T1, ? extends T1_OUT> rightProjectFn;
+    private final boolean oneToMany;
+    private final boolean partitioned;
 
     private JoinClause(
             DistributedFunction<? super T0, ? extends K> leftKeyFn,
             DistributedFunction<? super T1, ? extends K> rightKeyFn,
-            DistributedFunction<? super T1, ? extends T1_OUT> rightProjectFn
+            DistributedFunction<? super T1, ? extends T1_OUT> rightProjectFn,
+            boolean oneToMany,
+            boolean partitioned
     ) {
         this.leftKeyFn = leftKeyFn;
         this.rightKeyFn = rightKeyFn;
         this.rightProjectFn = rightProjectFn;
+        this.oneToMany = oneToMany;
+        this.partitioned = partitioned;
     }
 
     /**
@@ -71,7 +82,7 @@ public final class JoinClause<K, T0, T1, T1_OUT> implements Serializable {
             DistributedFunction<? super T0, ? extends K> leftKeyFn,
             DistributedFunction<? super T1, ? extends K> rightKeyFn
     ) {
-        return new JoinClause<>(leftKeyFn, rightKeyFn, DistributedFunction.identity());
+        return new JoinClause<>(leftKeyFn, rightKeyFn, DistributedFunction.identity(), false, false);
     }
 
     /**
@@ -87,7 +98,7 @@ public final class JoinClause<K, T0, T1, T1_OUT> implements Serializable {
     public static <K, T0, T1_OUT> JoinClause<K, T0, Entry<K, T1_OUT>, T1_OUT> joinMapEntries(
             DistributedFunction<? super T0, ? extends K> leftKeyFn
     ) {
-        return new JoinClause<>(leftKeyFn, Entry::getKey, Entry::getValue);
+        return new JoinClause<>(leftKeyFn, Entry::getKey, Entry::getValue, false, false);
     }
 
     /**
@@ -97,7 +108,42 @@ public final class JoinClause<K, T0, T1, T1_OUT> implements Serializable {
     public <T1_NEW_OUT> JoinClause<K, T0, T1, T1_NEW_OUT> projecting(
             DistributedFunction<? super T1, ? extends T1_NEW_OUT> rightProjectFn
     ) {
-        return new JoinClause<>(this.leftKeyFn, this.rightKeyFn, rightProjectFn);
+        return new JoinClause<>(this.leftKeyFn, this.rightKeyFn, rightProjectFn, this.oneToMany, this.partitioned);
+    }
+
+    /**
+     * Returns a copy of this join clause which allows the enriching stream to
+     * contain several items with the same join key. The hash-join then emits
+     * an output item for each enriching item matching the primary item. If
+     * several clauses of the same hash-join have multiple matches, it emits
+     * an output item for each combination of the matches.
+     * <p>
+     * Without this, the job fails when it encounters a duplicate key in the
+     * enriching stream.
+     */
+    public JoinClause<K, T0, T1, T1_OUT> oneToMany() {
+        return new JoinClause<>(this.leftKeyFn, this.rightKeyFn, this.rightProjectFn, true, this.partitioned);
+    }
+
+    /**
+     * Returns a copy of this join clause which partitions the enriching
+     * stream by the join key instead of replicating it to each member.
+     * <p>
+     * By default, each member holds a copy of the whole enriching stream in
+     * memory. With a partitioned clause, both the enriching and the primary
+     * stream are partitioned by the join key across the cluster and each
+     * processor keeps only the enriching items of its own partitions. The
+     * enriching stream can then be as large as the memory of the whole
+     * cluster, but the primary stream has to be sent over the network.
+     * The items with a {@code null} key all go to the same processor, where
+     * they match each other as in a non-partitioned join.
+     * <p>
+     * The primary stream can be partitioned by a single key only, therefore
+     * at most one clause of a hash-join can be partitioned. The other
+     * clauses are replicated as usual.
+     */
+    public JoinClause<K, T0, T1, T1_OUT> partitioned() {
+        return new JoinClause<>(this.leftKeyFn, this.rightKeyFn, this.rightProjectFn, this.oneToMany, true);
     }
 
     /**
@@ -120,4 +166,20 @@ public final class JoinClause<K, T0, T1, T1_OUT> implements Serializable {
     public DistributedFunction<? super T1, ? extends T1_OUT> rightProjectFn() {
         return rightProjectFn;
     }
+
+    /**
+     * Returns whether the enriching stream may contain several items with
+     * the same join key, see {@link #oneToMany()}.
+     */
+    public boolean isOneToMany() {
+        return oneToMany;
+    }
+
+    /**
+     * Returns whether the enriching stream is partitioned by the join key,
+     * see {@link #partitioned()}.
+     */
+    public boolean isPartitioned() {
+        return partitioned;
+    }
 }
@@ -26,6 +26,7 @@ import com.hazelcast.jet.function.DistributedSupplier;
 import com.hazelcast.jet.function.DistributedTriFunction;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a stage in a distributed computation {@link Pipeline
@@ -76,6 +77,18 @@ public interface StreamStage<T> extends GeneralStage<T> {
             @Nonnull DistributedBiFunction<? super C, ? super T, ? extends Traverser<? extends R>> flatMapFn
     );
 
+    @Nonnull @Override
+    <C, R> StreamStage<R> mapUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<R>> mapAsyncFn
+    );
+
+    @Nonnull @Override
+    <C> StreamStage<T> filterUsingContextAsync(
+            @Nonnull ContextFactory<C> contextFactory,
+            @Nonnull DistributedBiFunction<? super C, ? super T, ? extends CompletableFuture<Boolean>> filterAsyncFn
+    );
+
     @Nonnull @Override
     <K, T1_IN, T1, R> StreamStage<R> hashJoin(
             @Nonnull BatchStage<T1_IN> stage1,
@@ -92,6 +105,42 @@ public interface StreamStage<T> extends GeneralStage<T> {
             @Nonnull DistributedTriFunction<T, T1, T2, R> mapToOutputFn
     );
 
+    /**
+     * Attaches to both this and the supplied stage a windowed stream-to-stream
+     * join stage and returns it. It's an inner join: it emits the result of
+     * {@code mapToOutputFn} for each pair of items, one from each stage, that
+     * have equal keys and whose timestamps differ by at most {@code
+     * maxTimeDifference}. The timestamp of the output item is the later of
+     * the two timestamps.
+     * <p>
+     * The stage keeps the items of both inputs until the watermark makes it
+     * impossible for them to match any further item, so its memory use grows
+     * with {@code maxTimeDifference} and the event rate. Late items are
+     * dropped. Both stages must have timestamps, see {@link
+     * #addTimestamps(com.hazelcast.jet.function.DistributedToLongFunction, long)
+     * addTimestamps()}.
+     *
+     * @param stage1            the stage to join with this one
+     * @param leftKeyFn         extracts the join key from this stage's items
+     * @param rightKeyFn        extracts the join key from {@code stage1} items
+     * @param maxTimeDifference the maximum difference between the timestamps
+     *                          of two joined items
+     * @param mapToOutputFn     function to map the joined items to the output
+     *                          value, must not return {@code null}
+     * @param <K>               the type of the join key
+     * @param <T1>              the type of {@code stage1} items
+     * @param <R>               the resulting output type
+     * @return the newly attached stage
+     */
+    @Nonnull
+    <K, T1, R> StreamStage<R> windowJoin(
+            @Nonnull StreamStage<T1> stage1,
+            @Nonnull DistributedFunction<? super T, ? extends K> leftKeyFn,
+            @Nonnull DistributedFunction<? super T1, ? extends K> rightKeyFn,
+            long maxTimeDifference,
+            @Nonnull DistributedBiFunction<? super T, ? super T1, ? extends R> mapToOutputFn
+    );
+
     @Nonnull @Override
     default StreamHashJoinBuilder<T> hashJoinBuilder() {
         return new StreamHashJoinBuilder<>(this);
@@ -57,7 +57,9 @@
  * joins one or more <em>enriching</em> stages to the <em>primary</em> stage
  * The source for an enriching stage is most typically a
  * key-value store (such as a Hazelcast {@code IMap}). It must be a batch
- * stage and each item must have a distinct join key. The primary stage,
+ * stage and each item must have a distinct join key, unless the join
+ * clause is {@link com.hazelcast.jet.pipeline.JoinClause#oneToMany()
+ * one-to-many}. The primary stage,
  * on the other hand, may be either a batch or a stream stage and may
  * contain duplicate keys.
  * <p>
@@ -71,6 +73,17 @@
  * Implementationally, the hash-join transform is optimized for throughput
  * so that each computing member has a local copy of all the enriching
  * data, stored in hashtables (hence the name). The enriching streams are
- * consumed in full before ingesting any data from the primary stream.
+ * consumed in full before ingesting any data from the primary stream. An
+ * enriching stream too large to be copied to each member can be joined
+ * with a {@link com.hazelcast.jet.pipeline.JoinClause#partitioned()
+ * partitioned} clause, each member then holds just its share of it.
+ *
+ * <h3>Window join</h3>
+ *
+ * {@link com.hazelcast.jet.pipeline.StreamStage#windowJoin
+ * stage.windowJoin()} joins two stream stages. It pairs up the items with
+ * equal keys whose timestamps are at most a given time apart. Unlike the
+ * hash-join, both sides may be unbounded: each side's items are buffered
+ * only until the watermark makes further matches with them impossible.
  */
 package com.hazelcast.jet.pipeline;
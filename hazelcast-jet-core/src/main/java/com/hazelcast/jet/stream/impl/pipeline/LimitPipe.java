@@ -21,6 +21,7 @@ import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.stream.impl.processor.LimitP;
 
 import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.impl.processor.EarlyCompletingP.wrapSources;
 import static com.hazelcast.jet.stream.impl.StreamUtil.uniqueVertexName;
 
 class LimitPipe<T> extends AbstractIntermediatePipe<T, T> {
@@ -36,14 +37,21 @@ class LimitPipe<T> extends AbstractIntermediatePipe<T, T> {
         Vertex previous = upstream.buildDAG(dag);
         // required final for lambda variable capture
         final long lim = limit;
-        Vertex first = dag.newVertex(uniqueVertexName("limit-local"), () -> new LimitP(lim)).localParallelism(1);
+        // once the local limit is reached, the member's sources can stop; once
+        // the limit of the whole stream is reached, the sources on all members
+        final String completionSignal = uniqueVertexName("limit-signal");
+        final boolean ordered = upstream.isOrdered();
+        wrapSources(dag, completionSignal);
+        Vertex first = dag.newVertex(uniqueVertexName("limit-local"), () -> new LimitP(lim, completionSignal, ordered))
+                          .localParallelism(1);
         dag.edge(between(previous, first));
 
-        if (upstream.isOrdered()) {
+        if (ordered) {
             return first;
         }
 
-        Vertex second = dag.newVertex(uniqueVertexName("limit-distributed"), () -> new LimitP(lim)).localParallelism(1);
+        Vertex second = dag.newVertex(uniqueVertexName("limit-distributed"),
+                () -> new LimitP(lim, completionSignal, true)).localParallelism(1);
         dag.edge(between(first, second)
                 .distributed()
                 .allToOne()
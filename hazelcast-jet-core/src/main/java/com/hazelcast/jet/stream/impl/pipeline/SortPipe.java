@@ -17,13 +17,23 @@
 package com.hazelcast.jet.stream.impl.pipeline;
 
 import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.Partitioner;
 import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.stream.impl.processor.SortConcatP;
 import com.hazelcast.jet.stream.impl.processor.SortP;
+import com.hazelcast.jet.stream.impl.processor.SortRouteP;
+import com.hazelcast.jet.stream.impl.processor.SortSampleP;
+import com.hazelcast.jet.stream.impl.processor.SortSplittersP;
 
+import javax.annotation.Nonnull;
 import java.util.Comparator;
+import java.util.Map.Entry;
 
 import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.core.Edge.from;
 import static com.hazelcast.jet.stream.impl.StreamUtil.uniqueVertexName;
+import static com.hazelcast.jet.stream.impl.distributed.DistributedComparators.NATURAL_ORDER;
+import static com.hazelcast.util.UuidUtil.newUnsecureUuidString;
 
 class SortPipe<T> extends AbstractIntermediatePipe<T, T> {
 
@@ -36,6 +46,15 @@ class SortPipe<T> extends AbstractIntermediatePipe<T, T> {
 
     @Override
     public Vertex buildDAG(DAG dag) {
+        return upstream.isOrdered() ? orderedGraph(dag) : unorderedGraph(dag);
+    }
+
+    /**
+     * The upstream is already a single ordered stream, sorting it on a single
+     * processor keeps the sort stable.
+     */
+    @Nonnull
+    private Vertex orderedGraph(DAG dag) {
         Vertex previous = upstream.buildDAG(dag);
         // required final for lambda variable capture
         final Comparator<? super T> comparator = this.comparator;
@@ -47,4 +66,56 @@ class SortPipe<T> extends AbstractIntermediatePipe<T, T> {
 
         return sorter;
     }
+
+    /**
+     * Range-partitioned sort: the items are sampled to pick splitters, each
+     * item is routed to the processor responsible for its range, the ranges
+     * are sorted in parallel on all members and finally concatenated in
+     * range order by a single processor.
+     * <p>
+     * The memory use is bounded as follows:
+     * <ul><li>
+     *     each {@link SortRouteP} holds its share of the input until the
+     *     splitters are known
+     * </li><li>
+     *     each range is sorted on the member that owns its partition, with
+     *     spilling to disk above the sort spill threshold
+     * </li><li>
+     *     the {@link SortConcatP} passes the current range through, but it
+     *     has to hold the items of the later ranges that arrive early. Above
+     *     the sort spill threshold it spills them to its member's disk,
+     *     without it they are all held on that member's heap.
+     * </li></ul>
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private Vertex unorderedGraph(DAG dag) {
+        Vertex previous = upstream.buildDAG(dag);
+        // required final for lambda variable capture
+        final Comparator<? super T> comparator =
+                this.comparator != null ? this.comparator : (Comparator<? super T>) NATURAL_ORDER;
+        Partitioner<Integer> rangeToPartition = (range, partitionCount) -> range % partitionCount;
+        // both edges into the concat vertex must reach the same processor
+        String concatKey = newUnsecureUuidString();
+
+        Vertex sample = dag.newVertex(uniqueVertexName("sort-sample"), SortSampleP::new);
+        Vertex splitters = dag.newVertex(uniqueVertexName("sort-splitters"),
+                () -> new SortSplittersP<>(comparator)).localParallelism(1);
+        Vertex route = dag.newVertex(uniqueVertexName("sort-route"), () -> new SortRouteP<>(comparator));
+        Vertex sort = dag.newVertex(uniqueVertexName("sort-range"),
+                () -> new SortP<>(SortRouteP.rangeComparator(comparator)));
+        Vertex concat = dag.newVertex(uniqueVertexName("sort-concat"), SortConcatP::new).localParallelism(1);
+
+        dag.edge(from(previous, 0).to(route, 0))
+           .edge(from(previous, 1).to(sample))
+           .edge(between(sample, splitters).distributed().allToOne())
+           .edge(from(splitters).to(route, 1).distributed().broadcast())
+           .edge(from(route, 0).to(sort)
+                               .distributed()
+                               .partitioned((Entry<Integer, T> e) -> e.getKey(), rangeToPartition))
+           .edge(from(route, 1).to(concat, 0).distributed().partitioned(item -> concatKey))
+           .edge(from(sort).to(concat, 1).distributed().partitioned(item -> concatKey).priority(1));
+
+        return concat;
+    }
 }
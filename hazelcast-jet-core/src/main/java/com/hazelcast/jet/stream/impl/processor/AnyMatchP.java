@@ -17,6 +17,7 @@
 package com.hazelcast.jet.stream.impl.processor;
 
 import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 
 import javax.annotation.Nonnull;
 import java.util.function.Predicate;
@@ -26,9 +27,28 @@ public class AnyMatchP<T> extends AbstractProcessor {
 
     private boolean match;
     private final Predicate<T> predicate;
+    private final String completionSignalName;
+    private ProcCtx procCtx;
 
     public AnyMatchP(Predicate<T> predicate) {
+        this(predicate, null);
+    }
+
+    /**
+     * @param completionSignalName name of the {@link ProcCtx#completionSignal
+     *                             completion signal} to set on all members
+     *                             when a match is found, or {@code null}
+     */
+    public AnyMatchP(Predicate<T> predicate, String completionSignalName) {
         this.predicate = predicate;
+        this.completionSignalName = completionSignalName;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        if (completionSignalName != null && context instanceof ProcCtx) {
+            procCtx = (ProcCtx) context;
+        }
     }
 
     @Override
@@ -38,6 +58,9 @@ public class AnyMatchP<T> extends AbstractProcessor {
         }
         if (predicate.test((T) item)) {
             match = true;
+            if (procCtx != null) {
+                procCtx.signalCompletionOnAllMembers(completionSignalName);
+            }
         }
         return true;
     }
@@ -17,16 +17,49 @@
 package com.hazelcast.jet.stream.impl.processor;
 
 import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 
 import javax.annotation.Nonnull;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class LimitP extends AbstractProcessor {
 
     private final long limit;
+    private final String completionSignalName;
+    private final boolean signalAllMembers;
+    private ProcCtx procCtx;
+    private AtomicBoolean completionSignal;
     private long index;
 
     public LimitP(Long limit) {
+        this(limit, null, false);
+    }
+
+    /**
+     * @param completionSignalName name of the {@link ProcCtx#completionSignal
+     *                             completion signal} to set when the limit is
+     *                             reached, or {@code null}
+     * @param signalAllMembers     if the signal is set on all members, which
+     *                             is only correct if this processor sees the
+     *                             whole stream. Otherwise the limit is local
+     *                             and the other members still have to emit up
+     *                             to their own limit
+     */
+    public LimitP(long limit, String completionSignalName, boolean signalAllMembers) {
         this.limit = limit;
+        this.completionSignalName = completionSignalName;
+        this.signalAllMembers = signalAllMembers;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        if (completionSignalName != null && context instanceof ProcCtx) {
+            procCtx = (ProcCtx) context;
+            completionSignal = procCtx.completionSignal(completionSignalName);
+            if (limit == 0) {
+                completionSignal.set(true);
+            }
+        }
     }
 
     @Override
@@ -36,9 +69,15 @@ public class LimitP extends AbstractProcessor {
         }
         if (tryEmit(item)) {
             index++;
+            if (index == limit && completionSignal != null) {
+                if (signalAllMembers) {
+                    procCtx.signalCompletionOnAllMembers(completionSignalName);
+                } else {
+                    completionSignal.set(true);
+                }
+            }
             return true;
         }
         return false;
     }
 }
-
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.stream.impl.processor;
+
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.config.InstanceConfig;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.impl.processor.SpillFile;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.TreeMap;
+
+import static com.hazelcast.jet.impl.util.Util.uncheckCall;
+import static com.hazelcast.nio.IOUtil.closeResource;
+
+/**
+ * Concatenates the locally sorted ranges into one sorted stream. Receives
+ * the item count of each range on ordinal 0 and the sorted {@code
+ * entry(range, item)} pairs on ordinal 1, which must have lower priority.
+ * <p>
+ * Each range is sorted by a single upstream processor, so the items of a
+ * range arrive in order. The items of the range being emitted are passed
+ * through, items of later ranges are held until their turn comes. The
+ * upstream processors emit their ranges at the same time, so there's no
+ * way to make them wait for their turn without deadlocking the ones that
+ * hold the current range.
+ * <p>
+ * If the {@link InstanceConfig#setSortSpillThreshold sort spill threshold}
+ * is configured, at most that many held items are kept on the heap. When
+ * it's exceeded, the held items of each range are moved to a {@link
+ * SpillFile} and the later items of those ranges are appended to it. A
+ * range's file is read back when the range's turn comes. The processor is
+ * non-cooperative because it does this I/O on its own thread.
+ */
+public class SortConcatP<T> extends AbstractProcessor {
+
+    private final TreeMap<Integer, Long> rangeToCount = new TreeMap<>();
+    private final Map<Integer, HeldRange<T>> rangeToHeld = new HashMap<>();
+    private Iterator<Entry<Integer, Long>> rangeIterator;
+    private int currentRange = -1;
+    private long remainingInRange;
+    private long heldOnHeapCount;
+
+    private int spillThreshold;
+    private File spillDir;
+    private SerializationService serializationService;
+
+    private final Traverser<T> heldTraverser = () -> {
+        HeldRange<T> held = rangeToHeld.get(currentRange);
+        if (held == null) {
+            return null;
+        }
+        T item = uncheckCall(held::poll);
+        if (!held.isSpilled()) {
+            heldOnHeapCount--;
+        }
+        if (held.isEmpty()) {
+            rangeToHeld.remove(currentRange);
+            closeResource(held);
+        }
+        if (--remainingInRange == 0) {
+            nextRange();
+        }
+        return item;
+    };
+
+    @Override
+    public boolean isCooperative() {
+        return false;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        JetInstance instance = context.jetInstance();
+        if (instance == null) {
+            return;
+        }
+        InstanceConfig instanceConfig = instance.getConfig().getInstanceConfig();
+        spillThreshold = instanceConfig.getSortSpillThreshold();
+        spillDir = new File(instanceConfig.getTempDir());
+        serializationService = SpillFile.serializationService(context);
+    }
+
+    @Override
+    protected boolean tryProcess0(@Nonnull Object item) {
+        Entry<Integer, Long> e = (Entry<Integer, Long>) item;
+        rangeToCount.merge(e.getKey(), e.getValue(), Long::sum);
+        return true;
+    }
+
+    @Override
+    public boolean completeEdge(int ordinal) {
+        if (ordinal == 0) {
+            rangeIterator = rangeToCount.entrySet().iterator();
+            nextRange();
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean tryProcess1(@Nonnull Object item) throws IOException {
+        if (!emitFromTraverser(heldTraverser)) {
+            return false;
+        }
+        Entry<Integer, T> e = (Entry<Integer, T>) item;
+        if (e.getKey() != currentRange) {
+            hold(e.getKey(), e.getValue());
+            return true;
+        }
+        if (!tryEmit(e.getValue())) {
+            return false;
+        }
+        if (--remainingInRange == 0) {
+            nextRange();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        return emitFromTraverser(heldTraverser);
+    }
+
+    @Override
+    public void close(@Nullable Throwable error) {
+        for (HeldRange<T> held : rangeToHeld.values()) {
+            closeResource(held);
+        }
+    }
+
+    private void hold(int range, T item) throws IOException {
+        HeldRange<T> held = rangeToHeld.computeIfAbsent(range, x -> new HeldRange<>());
+        held.add(item);
+        if (held.isSpilled()) {
+            return;
+        }
+        heldOnHeapCount++;
+        if (spillThreshold > 0 && heldOnHeapCount > spillThreshold) {
+            for (HeldRange<T> r : rangeToHeld.values()) {
+                if (!r.isSpilled()) {
+                    r.spill(spillDir, serializationService);
+                }
+            }
+            heldOnHeapCount = 0;
+        }
+    }
+
+    private void nextRange() {
+        if (rangeIterator.hasNext()) {
+            Entry<Integer, Long> e = rangeIterator.next();
+            currentRange = e.getKey();
+            remainingInRange = e.getValue();
+        } else {
+            currentRange = -1;
+        }
+    }
+
+    /**
+     * The items of one range received before its turn, either on the heap
+     * or in a spill file.
+     */
+    private static final class HeldRange<T> implements Closeable {
+        private final Queue<T> items = new ArrayDeque<>();
+        private SpillFile file;
+
+        boolean isSpilled() {
+            return file != null;
+        }
+
+        void add(T item) throws IOException {
+            if (file != null) {
+                file.write(item);
+            } else {
+                items.add(item);
+            }
+        }
+
+        T poll() throws IOException {
+            return file != null ? file.read() : items.poll();
+        }
+
+        boolean isEmpty() {
+            return file != null ? file.count() == 0 : items.isEmpty();
+        }
+
+        void spill(File dir, SerializationService serializationService) throws IOException {
+            file = new SpillFile(dir, serializationService);
+            for (T item : items) {
+                file.write(item);
+            }
+            items.clear();
+        }
+
+        @Override
+        public void close() {
+            closeResource(file);
+        }
+    }
+}
@@ -16,38 +16,161 @@
 
 package com.hazelcast.jet.stream.impl.processor;
 
-import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.JetInstance;
 import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.config.InstanceConfig;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.impl.processor.SpillFile;
+import com.hazelcast.spi.serialization.SerializationService;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import static com.hazelcast.jet.Traversers.lazy;
 import static com.hazelcast.jet.Traversers.traverseIterable;
+import static com.hazelcast.jet.impl.util.Util.uncheckCall;
+import static com.hazelcast.jet.impl.util.Util.uncheckRun;
+import static com.hazelcast.jet.stream.impl.distributed.DistributedComparators.NATURAL_ORDER;
+import static com.hazelcast.nio.IOUtil.closeResource;
 
+/**
+ * Sorts all its input and emits it on completion.
+ * <p>
+ * If the {@link InstanceConfig#setSortSpillThreshold sort spill threshold}
+ * is configured, it's an external merge sort: whenever the buffered items
+ * reach the threshold, they are sorted and written to a {@link SpillFile}
+ * as a sorted run. On completion the runs and the items still in memory
+ * are merged lazily, holding one item per run in memory. Items that
+ * compare equal are emitted in the order they were received.
+ * <p>
+ * The processor is not cooperative: it writes and reads the spill files
+ * and even without spilling it sorts all the items in one call.
+ */
 public class SortP<T> extends AbstractProcessor {
 
+    private final Comparator<? super T> comparator;
     private final List<T> sorted;
-    private final Traverser<T> resultTraverser;
+    private final List<SpillFile> runs = new ArrayList<>();
+    private Traverser<T> resultTraverser;
 
+    private int spillThreshold;
+    private File spillDir;
+    private SerializationService serializationService;
+
+    @SuppressWarnings("unchecked")
     public SortP(Comparator<T> comparator) {
+        this.comparator = comparator != null ? comparator : (Comparator<? super T>) NATURAL_ORDER;
         this.sorted = new ArrayList<>();
-        this.resultTraverser = lazy(() -> {
-            sorted.sort(comparator);
-            return traverseIterable(sorted);
-        });
+    }
+
+    @Override
+    public boolean isCooperative() {
+        return false;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        JetInstance instance = context.jetInstance();
+        if (instance == null) {
+            return;
+        }
+        InstanceConfig instanceConfig = instance.getConfig().getInstanceConfig();
+        spillThreshold = instanceConfig.getSortSpillThreshold();
+        spillDir = new File(instanceConfig.getTempDir());
+        serializationService = SpillFile.serializationService(context);
     }
 
     @Override
     protected boolean tryProcess(int ordinal, @Nonnull Object item) throws Exception {
         sorted.add((T) item);
+        if (spillThreshold > 0 && sorted.size() >= spillThreshold) {
+            spillRun();
+        }
         return true;
     }
 
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            resultTraverser = runs.isEmpty()
+                    ? lazy(() -> {
+                        sorted.sort(comparator);
+                        return traverseIterable(sorted);
+                    })
+                    : mergeRuns();
+        }
         return emitFromTraverser(resultTraverser);
     }
+
+    @Override
+    public void close(@Nullable Throwable error) {
+        for (SpillFile run : runs) {
+            closeResource(run);
+        }
+    }
+
+    private void spillRun() throws IOException {
+        sorted.sort(comparator);
+        SpillFile run = new SpillFile(spillDir, serializationService);
+        runs.add(run);
+        for (T item : sorted) {
+            run.write(item);
+        }
+        sorted.clear();
+    }
+
+    /**
+     * Returns a traverser that does a k-way merge of the spilled runs and the
+     * items in memory. It keeps the next item of each run in a priority queue.
+     * Equal heads are ordered by the run index, the items in memory are the
+     * last run: this keeps the sort stable.
+     */
+    private Traverser<T> mergeRuns() {
+        sorted.sort(comparator);
+        PriorityQueue<RunCursor<T>> queue = new PriorityQueue<>(runs.size() + 1, (left, right) -> {
+            int result = comparator.compare(left.head, right.head);
+            return result != 0 ? result : Integer.compare(left.index, right.index);
+        });
+        for (int i = 0; i < runs.size(); i++) {
+            SpillFile run = runs.get(i);
+            addCursor(queue, new RunCursor<>(i, () -> uncheckCall(run::read)));
+        }
+        Iterator<T> memoryIterator = sorted.iterator();
+        addCursor(queue, new RunCursor<>(runs.size(), () -> memoryIterator.hasNext() ? memoryIterator.next() : null));
+        return () -> {
+            RunCursor<T> cursor = queue.poll();
+            if (cursor == null) {
+                runs.forEach(run -> uncheckRun(run::close));
+                return null;
+            }
+            T item = cursor.head;
+            addCursor(queue, cursor);
+            return item;
+        };
+    }
+
+    private static <T> void addCursor(PriorityQueue<RunCursor<T>> queue, RunCursor<T> cursor) {
+        cursor.head = cursor.run.next();
+        if (cursor.head != null) {
+            queue.add(cursor);
+        }
+    }
+
+    private static final class RunCursor<T> {
+        final int index;
+        final Traverser<T> run;
+        T head;
+
+        RunCursor(int index, Traverser<T> run) {
+            this.index = index;
+            this.run = run;
+        }
+    }
 }
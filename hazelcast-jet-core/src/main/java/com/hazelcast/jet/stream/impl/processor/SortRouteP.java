@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.stream.impl.processor;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Traversers.lazy;
+import static com.hazelcast.jet.Traversers.traverseStream;
+import static com.hazelcast.jet.Util.entry;
+import static java.util.Collections.emptyList;
+
+/**
+ * Assigns each item to the range it falls into according to the splitters
+ * received from {@link SortSplittersP}. Emits {@code entry(range, item)} to
+ * ordinal 0 and, after all the items, {@code entry(range, itemCount)} for
+ * each non-empty range to ordinal 1.
+ * <p>
+ * The items are received on ordinal 0 and the splitters on ordinal 1. The
+ * items are buffered until the splitters arrive: the splitters are computed
+ * from the same upstream, so waiting for them with an edge priority could
+ * deadlock. If the splitters never arrive, the input was empty. Each
+ * processor therefore holds its share of the input until then; it
+ * releases the items as it routes them, so they aren't held here and in
+ * the downstream sort at the same time.
+ */
+public class SortRouteP<T> extends AbstractProcessor {
+
+    private final Comparator<? super T> comparator;
+    private final Queue<T> items = new ArrayDeque<>();
+    private List<T> splitters = emptyList();
+    private long[] rangeCounts;
+    private Traverser<Entry<Integer, T>> routeTraverser;
+    private Traverser<Entry<Integer, Long>> countTraverser;
+
+    public SortRouteP(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the comparator that orders the routed entries by range and then
+     * by item.
+     */
+    public static <T> Comparator<Entry<Integer, T>> rangeComparator(Comparator<? super T> comparator) {
+        return Comparator.<Entry<Integer, T>>comparingInt(Entry::getKey).thenComparing(Entry::getValue, comparator);
+    }
+
+    @Override
+    protected boolean tryProcess0(@Nonnull Object item) {
+        items.add((T) item);
+        return true;
+    }
+
+    @Override
+    protected boolean tryProcess1(@Nonnull Object item) {
+        splitters = (List<T>) item;
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        if (routeTraverser == null) {
+            rangeCounts = new long[splitters.size() + 1];
+            routeTraverser = ((Traverser<T>) items::poll).map(item -> {
+                int range = rangeOf(item);
+                rangeCounts[range]++;
+                return entry(range, item);
+            });
+            countTraverser = lazy(() -> traverseStream(IntStream
+                    .range(0, rangeCounts.length)
+                    .filter(range -> rangeCounts[range] > 0)
+                    .mapToObj(range -> entry(range, rangeCounts[range]))));
+        }
+        return emitFromTraverser(0, routeTraverser) && emitFromTraverser(1, countTraverser);
+    }
+
+    private int rangeOf(T item) {
+        int low = 0;
+        int high = splitters.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(item, splitters.get(mid)) < 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.stream.impl.processor;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.AbstractProcessor;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.hazelcast.jet.Traversers.lazy;
+import static com.hazelcast.jet.Traversers.traverseIterable;
+
+/**
+ * Takes a uniform random sample of its input using reservoir sampling and
+ * emits it on completion. Used by the distributed sort to pick the range
+ * splitters.
+ */
+public class SortSampleP<T> extends AbstractProcessor {
+
+    static final int SAMPLE_SIZE = 1024;
+
+    private final List<T> sample = new ArrayList<>();
+    private final Traverser<T> resultTraverser = lazy(() -> traverseIterable(sample));
+    private long seenCount;
+
+    @Override
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) throws Exception {
+        seenCount++;
+        if (sample.size() < SAMPLE_SIZE) {
+            sample.add((T) item);
+            return true;
+        }
+        long index = ThreadLocalRandom.current().nextLong(seenCount);
+        if (index < SAMPLE_SIZE) {
+            sample.set((int) index, (T) item);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        return emitFromTraverser(resultTraverser);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.stream.impl.processor;
+
+import com.hazelcast.jet.core.AbstractProcessor;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collects the samples from all {@link SortSampleP} processors and picks
+ * the splitters that divide them into ranges of equal size. There's at
+ * most one range per partition. Emits the splitters as a single sorted {@code
+ * List} which is broadcast to all {@link SortRouteP} processors. A
+ * processor that received no samples emits nothing, this way only the
+ * processor the samples were sent to emits.
+ */
+public class SortSplittersP<T> extends AbstractProcessor {
+
+    private final Comparator<? super T> comparator;
+    private final List<T> samples = new ArrayList<>();
+    private int rangeCount;
+
+    public SortSplittersP(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) {
+        rangeCount = context.jetInstance().getHazelcastInstance().getPartitionService().getPartitions().size();
+    }
+
+    @Override
+    protected boolean tryProcess(int ordinal, @Nonnull Object item) throws Exception {
+        samples.add((T) item);
+        return true;
+    }
+
+    @Override
+    public boolean complete() {
+        if (samples.isEmpty()) {
+            return true;
+        }
+        samples.sort(comparator);
+        int sampleCount = samples.size();
+        int ranges = Math.min(rangeCount, sampleCount);
+        ArrayList<T> splitters = new ArrayList<>(ranges);
+        for (int i = 1; i < ranges; i++) {
+            splitters.add(samples.get((int) ((long) i * sampleCount / ranges)));
+        }
+        return tryEmit(splitters);
+    }
+}
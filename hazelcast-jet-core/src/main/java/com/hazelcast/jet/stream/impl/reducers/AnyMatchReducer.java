@@ -28,8 +28,10 @@ import com.hazelcast.jet.stream.impl.processor.AnyMatchP;
 import java.util.function.Predicate;
 
 import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.impl.processor.EarlyCompletingP.wrapSources;
 import static com.hazelcast.jet.stream.impl.StreamUtil.executeJob;
 import static com.hazelcast.jet.stream.impl.StreamUtil.uniqueListName;
+import static com.hazelcast.jet.stream.impl.StreamUtil.uniqueVertexName;
 
 public class AnyMatchReducer<T> implements Reducer<T, Boolean> {
 
@@ -45,8 +47,11 @@ public class AnyMatchReducer<T> implements Reducer<T, Boolean> {
 
         DAG dag = new DAG();
         Vertex previous = upstream.buildDAG(dag);
+        // once a match is found on any member, the sources on all members can stop
+        String completionSignal = uniqueVertexName("any-match-signal");
+        wrapSources(dag, completionSignal);
 
-        Vertex anyMatch = dag.newVertex("any-match", () -> new AnyMatchP<>(predicate));
+        Vertex anyMatch = dag.newVertex("any-match", () -> new AnyMatchP<>(predicate, completionSignal));
         Vertex writer = dag.newVertex("write-" + listName, SinkProcessors.writeListP(listName));
 
         dag.edge(between(previous, anyMatch))
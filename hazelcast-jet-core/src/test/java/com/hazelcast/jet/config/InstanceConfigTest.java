@@ -98,4 +98,55 @@ public class InstanceConfigTest {
         // Then
         assertEquals(500, instanceConfig.getFlowControlPeriodMs());
     }
+
+    @Test
+    public void when_negativeGroupingSpillThreshold_thenThrowsException() {
+        // When
+        InstanceConfig instanceConfig = new InstanceConfig();
+
+        // Then
+        expectedException.expect(IllegalArgumentException.class);
+        instanceConfig.setGroupingSpillThreshold(-1);
+    }
+
+    @Test
+    public void when_negativeSortSpillThreshold_thenThrowsException() {
+        // When
+        InstanceConfig instanceConfig = new InstanceConfig();
+
+        // Then
+        expectedException.expect(IllegalArgumentException.class);
+        instanceConfig.setSortSpillThreshold(-1);
+    }
+
+    @Test
+    public void when_setCooperativeIdleStrategy_thenReturnsStrategy() {
+        // When
+        InstanceConfig instanceConfig = new InstanceConfig();
+        instanceConfig.setCooperativeIdleStrategy(IdleStrategyType.BUSY_SPIN);
+
+        // Then
+        assertEquals(IdleStrategyType.BUSY_SPIN, instanceConfig.getCooperativeIdleStrategy());
+        assertEquals(IdleStrategyType.BACKOFF, instanceConfig.getNonCooperativeIdleStrategy());
+    }
+
+    @Test
+    public void when_nullIdleStrategy_thenThrowsException() {
+        // When
+        InstanceConfig instanceConfig = new InstanceConfig();
+
+        // Then
+        expectedException.expect(NullPointerException.class);
+        instanceConfig.setNonCooperativeIdleStrategy(null);
+    }
+
+    @Test
+    public void when_negativeIdleSpinCount_thenThrowsException() {
+        // When
+        InstanceConfig instanceConfig = new InstanceConfig();
+
+        // Then
+        expectedException.expect(IllegalArgumentException.class);
+        instanceConfig.setIdleSpinCount(-1);
+    }
 }
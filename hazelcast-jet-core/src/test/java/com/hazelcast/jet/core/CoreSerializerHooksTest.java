@@ -30,6 +30,8 @@ import org.junit.runners.Parameterized.Parameters;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 
@@ -44,10 +46,18 @@ public class CoreSerializerHooksTest {
     @Parameters
     public static Collection<Object> data() throws Exception {
         return Arrays.asList(
-                new Watermark(13L)
+                new Watermark(13L),
+                JobMetrics.of(createMetrics())
         );
     }
 
+    private static Map<String, Long> createMetrics() {
+        Map<String, Long> metrics = new HashMap<>();
+        metrics.put("[127.0.0.1]:5701/map#0.callCount", 42L);
+        metrics.put("[127.0.0.1]:5701/map#0.inbound.0.receivedCount", 7L);
+        return metrics;
+    }
+
     @Test
     public void testSerializerHook() throws Exception {
         SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
@@ -16,7 +16,9 @@
 
 package com.hazelcast.jet.core;
 
+import com.hazelcast.jet.accumulator.LongAccumulator;
 import com.hazelcast.jet.core.Edge.RoutingPolicy;
+import com.hazelcast.jet.function.DistributedBiConsumer;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import org.junit.Before;
 import org.junit.Test;
@@ -93,6 +95,19 @@ public class EdgeTest {
         assertEquals(2, e.getPriority());
     }
 
+    @Test
+    public void whenCombinedBeforeSendingNotSet_thenNull() {
+        final Edge e = Edge.from(a);
+        assertNull(e.getSenderCombineFn());
+    }
+
+    @Test
+    public void whenCombinedBeforeSending_thenGet() {
+        final DistributedBiConsumer<LongAccumulator, LongAccumulator> combineFn = LongAccumulator::add;
+        final Edge e = Edge.from(a).combinedBeforeSending(combineFn);
+        assertSame(combineFn, e.getSenderCombineFn());
+    }
+
     @Test
     public void whenPartitionedNotSet_thenPartitionerNull() {
         final Edge e = Edge.from(a);
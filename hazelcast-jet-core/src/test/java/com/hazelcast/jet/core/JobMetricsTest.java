@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.core;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class JobMetricsTest {
+
+    @Test
+    public void when_merged_then_containsMetricsOfBoth() {
+        JobMetrics m1 = JobMetrics.of(metrics("a/v#0.callCount", 1L));
+        JobMetrics m2 = JobMetrics.of(metrics("b/v#0.callCount", 2L));
+
+        JobMetrics merged = m1.merge(m2);
+
+        assertEquals(asList("a/v#0.callCount", "b/v#0.callCount"), asList(merged.getMetricNames().toArray()));
+        assertEquals(Long.valueOf(1), merged.getMetric("a/v#0.callCount"));
+        assertEquals(Long.valueOf(2), merged.getMetric("b/v#0.callCount"));
+        assertNull(merged.getMetric("c/v#0.callCount"));
+    }
+
+    @Test
+    public void when_sum_then_onlyMatchingSuffixesAdded() {
+        Map<String, Long> map = metrics("a/v#0.callCount", 1L);
+        map.put("a/v#1.callCount", 2L);
+        map.put("a/v#0.idleCount", 4L);
+
+        assertEquals(3L, JobMetrics.of(map).sum(".callCount"));
+        assertEquals(0L, JobMetrics.empty().sum(".callCount"));
+    }
+
+    @Test
+    public void when_empty_then_noMetrics() {
+        assertTrue(JobMetrics.empty().getMetricNames().isEmpty());
+        assertEquals(JobMetrics.empty(), JobMetrics.of(new HashMap<>()));
+    }
+
+    private static Map<String, Long> metrics(String name, long value) {
+        Map<String, Long> map = new HashMap<>();
+        map.put(name, value);
+        return map;
+    }
+}
@@ -308,6 +308,41 @@ public class JobTest extends JetTestSupport {
         StuckProcessor.proceedLatch.countDown();
     }
 
+    @Test
+    public void when_jobIsRunning_then_metricsAreReturned() throws InterruptedException {
+        testGetMetricsWhenJobIsRunning(instance2);
+    }
+
+    @Test
+    public void when_jobIsRunning_then_metricsAreReturnedToClient() throws InterruptedException {
+        testGetMetricsWhenJobIsRunning(createJetClient());
+    }
+
+    private void testGetMetricsWhenJobIsRunning(JetInstance instance) throws InterruptedException {
+        // Given
+        DAG dag = new DAG().vertex(new Vertex("test", new MockPS(StuckProcessor::new, NODE_COUNT)));
+
+        // When
+        Job job = instance1.newJob(dag);
+        StuckProcessor.executionStarted.await();
+        Job trackedJob = instance.getJob(job.getId());
+
+        // Then
+        assertTrueEventually(() -> {
+            JobMetrics metrics = trackedJob.getMetrics();
+            for (JetInstance member : new JetInstance[] {instance1, instance2}) {
+                String address = member.getHazelcastInstance().getCluster().getLocalMember().getAddress().toString();
+                Long callCount = metrics.getMetric(address + "/test#0.callCount");
+                assertNotNull("callCount missing in " + metrics, callCount);
+                assertTrue("callCount=" + callCount, callCount > 0);
+            }
+        });
+
+        StuckProcessor.proceedLatch.countDown();
+        job.join();
+        assertTrueEventually(() -> assertEquals(JobMetrics.empty(), trackedJob.getMetrics()));
+    }
+
     @Test
     public void when_jobIsRunning_then_itIsQueriedById() throws InterruptedException {
         testGetJobByIdWhenJobIsRunning(instance1);
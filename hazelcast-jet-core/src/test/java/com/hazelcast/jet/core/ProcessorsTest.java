@@ -24,6 +24,7 @@ import com.hazelcast.jet.core.processor.Processors;
 import com.hazelcast.jet.core.test.TestSupport;
 import com.hazelcast.jet.function.DistributedFunction;
 import com.hazelcast.jet.function.DistributedSupplier;
+import com.hazelcast.jet.function.DistributedToLongFunction;
 import com.hazelcast.jet.pipeline.ContextFactory;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import org.junit.Test;
@@ -36,7 +37,9 @@ import java.util.stream.Stream;
 import static com.hazelcast.jet.Traversers.traverseIterable;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.core.processor.Processors.aggregateByKeyP;
+import static com.hazelcast.jet.core.processor.Processors.aggregateByLongKeyP;
 import static com.hazelcast.jet.core.processor.Processors.combineByKeyP;
+import static com.hazelcast.jet.core.processor.Processors.combineByLongKeyP;
 import static com.hazelcast.jet.core.processor.Processors.combineP;
 import static com.hazelcast.jet.core.processor.Processors.filterP;
 import static com.hazelcast.jet.core.processor.Processors.filterUsingContextP;
@@ -200,6 +203,52 @@ public class ProcessorsTest {
                 ));
     }
 
+    @Test
+    public void aggregateByLongKey() {
+        DistributedToLongFunction<Integer> keyFn = i -> i;
+        TestSupport
+                .verifyProcessor(aggregateByLongKeyP(singletonList(keyFn), aggregateToListAndString(), Util::entry))
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(asList(1, 1, 2, 2))
+                .expectOutput(asList(
+                        entry(1L, "[1, 1]"),
+                        entry(2L, "[2, 2]")
+                ));
+    }
+
+    @Test
+    public void accumulateByLongKey() {
+        DistributedToLongFunction<Integer> keyFn = i -> i;
+        TestSupport
+                .verifyProcessor(Processors.accumulateByLongKeyP(singletonList(keyFn), aggregateToListAndString()))
+                .disableSnapshots()
+                .input(asList(1, 1, 2, 2))
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .expectOutput(asList(
+                        entry(1L, asList(1, 1)),
+                        entry(2L, asList(2, 2))
+                ));
+    }
+
+    @Test
+    public void combineByLongKey() {
+        TestSupport
+                .verifyProcessor(combineByLongKeyP(aggregateToListAndString(), Util::entry))
+                .disableSnapshots()
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .input(asList(
+                        entry(1L, asList(1, 2)),
+                        entry(1L, asList(3, 4)),
+                        entry(2L, asList(5, 6)),
+                        entry(2L, asList(7, 8))
+                ))
+                .expectOutput(asList(
+                        entry(1L, "[1, 2, 3, 4]"),
+                        entry(2L, "[5, 6, 7, 8]")
+                ));
+    }
+
     @Test
     public void aggregate() {
         TestSupport
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl;
+
+import com.hazelcast.internal.metrics.DoubleProbeFunction;
+import com.hazelcast.internal.metrics.LongProbeFunction;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.MBeanAttributeInfo;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class JobMetricsMBeanTest {
+
+    private JobMetricsMBean mBean;
+
+    @Before
+    public void setUp() {
+        MetricsRegistryImpl registry = new MetricsRegistryImpl(Logger.getLogger(MetricsRegistryImpl.class), INFO);
+        registry.register(this, "jet.job.a.callCount", MANDATORY, (LongProbeFunction<Object>) o -> 42);
+        registry.register(this, "jet.job.a.load", MANDATORY, (DoubleProbeFunction<Object>) o -> 1.6);
+        registry.register(this, "other.metric", MANDATORY, (LongProbeFunction<Object>) o -> 1);
+        mBean = new JobMetricsMBean(registry);
+    }
+
+    @Test
+    public void when_getAttribute_then_valueOfSingleMetric() throws Exception {
+        assertEquals(42L, mBean.getAttribute("jet.job.a.callCount"));
+        assertEquals(2L, mBean.getAttribute("jet.job.a.load"));
+    }
+
+    @Test(expected = AttributeNotFoundException.class)
+    public void when_getAttributeWithoutJobPrefix_then_notFound() throws Exception {
+        mBean.getAttribute("other.metric");
+    }
+
+    @Test(expected = AttributeNotFoundException.class)
+    public void when_getMissingAttribute_then_notFound() throws Exception {
+        mBean.getAttribute("jet.job.a.missing");
+    }
+
+    @Test
+    public void when_getMBeanInfo_then_onlyJobMetrics() {
+        assertEquals(asList("jet.job.a.callCount", "jet.job.a.load"),
+                Arrays.stream(mBean.getMBeanInfo().getAttributes()).map(MBeanAttributeInfo::getName).collect(toList()));
+    }
+}
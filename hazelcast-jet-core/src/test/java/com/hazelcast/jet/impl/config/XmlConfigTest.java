@@ -18,6 +18,7 @@ package com.hazelcast.jet.impl.config;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.jet.config.EdgeConfig;
+import com.hazelcast.jet.config.IdleStrategyType;
 import com.hazelcast.jet.config.JetConfig;
 import com.hazelcast.jet.impl.util.Util;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -37,6 +38,7 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 public class XmlConfigTest {
@@ -175,6 +177,7 @@ public class XmlConfigTest {
         assertEquals("queueSize", 999, edgeConfig.getQueueSize());
         assertEquals("packetSizeLimit", 997, edgeConfig.getPacketSizeLimit());
         assertEquals("receiveWindowMultiplier", 996, edgeConfig.getReceiveWindowMultiplier());
+        assertTrue("compressionEnabled", edgeConfig.isCompressionEnabled());
     }
 
     private static void assertConfig(JetConfig jetConfig) {
@@ -182,6 +185,13 @@ public class XmlConfigTest {
         assertEquals("tempDir", "/var/tmp", jetConfig.getInstanceConfig().getTempDir());
         assertEquals("backupCount", 2, jetConfig.getInstanceConfig().getBackupCount());
         assertEquals("flowControlMs", 50, jetConfig.getInstanceConfig().getFlowControlPeriodMs());
+        assertEquals("groupingSpillThreshold", 1_000_000, jetConfig.getInstanceConfig().getGroupingSpillThreshold());
+        assertEquals("sortSpillThreshold", 2_000_000, jetConfig.getInstanceConfig().getSortSpillThreshold());
+        assertEquals("cooperativeIdleStrategy", IdleStrategyType.SPIN_THEN_PARK,
+                jetConfig.getInstanceConfig().getCooperativeIdleStrategy());
+        assertEquals("nonCooperativeIdleStrategy", IdleStrategyType.YIELD,
+                jetConfig.getInstanceConfig().getNonCooperativeIdleStrategy());
+        assertEquals("idleSpinCount", 5000, jetConfig.getInstanceConfig().getIdleSpinCount());
 
         assertEquals("value1", jetConfig.getProperties().getProperty("property1"));
         assertEquals("value2", jetConfig.getProperties().getProperty("property2"));
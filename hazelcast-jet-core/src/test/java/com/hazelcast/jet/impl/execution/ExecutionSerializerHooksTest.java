@@ -49,6 +49,7 @@ public class ExecutionSerializerHooksTest {
     public static Collection<Object> data() throws Exception {
         return Arrays.asList(
                 new SnapshotBarrier(17L),
+                new LatencyMarker(1234L),
                 new BroadcastEntry<>("key", "value"),
                 new BroadcastKeyReference<>("broadcast-key")
         );
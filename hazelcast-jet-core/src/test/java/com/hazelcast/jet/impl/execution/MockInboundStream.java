@@ -78,6 +78,11 @@ public class MockInboundStream implements InboundEdgeStream {
         return done;
     }
 
+    @Override
+    public int queueSize() {
+        return mockData.size();
+    }
+
     @Override
     public int ordinal() {
         return ordinal;
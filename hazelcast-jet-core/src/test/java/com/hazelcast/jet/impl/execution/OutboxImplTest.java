@@ -27,6 +27,9 @@ import java.util.function.Predicate;
 
 import static com.hazelcast.jet.impl.util.ProgressState.DONE;
 import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -112,6 +115,43 @@ public class OutboxImplTest {
         assertTrue(outbox.offer(4));
     }
 
+    @Test
+    public void when_offerAll_then_rateLimited() {
+        Object[] items = {1, 2, 3, 4};
+        assertEquals(3, outbox.offerAll(0, items, 0, items.length));
+
+        outbox.reset();
+        assertEquals(1, outbox.offerAll(0, items, 3, items.length));
+    }
+
+    @Test
+    public void when_offerAllAndQueueFull_then_restOfferedAfterDrain() {
+        MockOutboundCollector collector = new MockOutboundCollector(2);
+        outbox = new OutboxImpl(new OutboundCollector[] {collector},
+                false, new ProgressTracker(), mock(SerializationService.class), 128);
+        outbox.reset();
+        Object[] items = {1, 2, 3};
+
+        assertEquals(2, outbox.offerAll(0, items, 0, items.length));
+        assertEquals(asList(1, 2), collector.getBuffer());
+
+        collector.getBuffer().clear();
+        outbox.reset();
+        assertEquals(1, outbox.offerAll(-1, items, 2, items.length));
+        assertEquals(singletonList(3), collector.getBuffer());
+    }
+
+    @Test
+    public void when_offerAllFailsAndDifferentItemOffered_then_fail() {
+        Object[] items = {1, 2, 3, 4, 5};
+        assertEquals(3, outbox.offerAll(0, items, 0, items.length));
+        outbox.reset();
+
+        exception.expect(AssertionError.class);
+        exception.expectMessage("Different");
+        outbox.offerAll(0, items, 4, items.length);
+    }
+
     @Test
     public void when_sameItemOfferedTwice_then_success() {
         String item = "foo";
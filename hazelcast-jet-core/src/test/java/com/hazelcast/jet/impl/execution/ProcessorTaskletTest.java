@@ -42,6 +42,7 @@ import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -249,13 +250,122 @@ public class ProcessorTaskletTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void when_callsSlow_then_outboxBatchSizeShrinks() {
+        ProcessorTasklet tasklet = createTasklet();
+        int initialSize = tasklet.outboxBatchSize();
+
+        tasklet.adjustOutboxBatchSize(MILLISECONDS.toNanos(10));
+
+        assertEquals(initialSize / 2, tasklet.outboxBatchSize());
+    }
+
+    @Test
+    public void when_batchSizeReachedAndCallsFast_then_outboxBatchSizeGrows() {
+        // Given
+        List<Object> input = IntStream.range(0, 1000).boxed().collect(toList());
+        MockInboundStream instream1 = new MockInboundStream(0, input, input.size());
+        MockOutboundStream outstream1 = new MockOutboundStream(0, input.size());
+        instreams.add(instream1);
+        outstreams.add(outstream1);
+        ProcessorTasklet tasklet = createTasklet();
+        // shrink to the minimum
+        for (int i = 0; i < 20; i++) {
+            tasklet.adjustOutboxBatchSize(MILLISECONDS.toNanos(10));
+        }
+        int minSize = tasklet.outboxBatchSize();
+
+        // When
+        tasklet.call();
+        tasklet.adjustOutboxBatchSize(0);
+
+        // Then
+        assertEquals(minSize, outstream1.getBuffer().size());
+        assertTrue("outboxBatchSize=" + tasklet.outboxBatchSize(), tasklet.outboxBatchSize() > minSize);
+    }
+
+    @Test
+    public void when_latencyMarkerReceived_then_recordedAndForwardedAfterItems() {
+        // Given
+        LatencyMarker marker = new LatencyMarker(System.currentTimeMillis() - 5);
+        List<Object> input = new ArrayList<>(mockInput);
+        input.add(5, marker);
+        input.add(DONE_ITEM);
+        MockInboundStream instream1 = new MockInboundStream(0, input, input.size());
+        MockOutboundStream outstream1 = new MockOutboundStream(0);
+        instreams.add(instream1);
+        outstreams.add(outstream1);
+        ProcessorTasklet tasklet = createTasklet();
+
+        // When
+        callUntil(tasklet, DONE);
+
+        // Then
+        List<Object> expected = new ArrayList<>(mockInput);
+        expected.add(marker);
+        expected.add(DONE_ITEM);
+        assertEquals(expected, outstream1.getBuffer());
+        assertEquals(1, tasklet.latencyHistogram().count());
+        assertTrue("latency=" + tasklet.latencyHistogram().max(), tasklet.latencyHistogram().max() >= 5);
+    }
+
+    @Test
+    public void when_sourceWithLatencyMarkers_then_markerEmittedFirst() {
+        // Given
+        MockOutboundStream outstream1 = new MockOutboundStream(0);
+        outstreams.add(outstream1);
+        processor.itemsToEmitInComplete = 2;
+        Tasklet tasklet = createTasklet(1);
+
+        // When
+        callUntil(tasklet, DONE);
+
+        // Then
+        List<Object> buffer = outstream1.getBuffer();
+        assertTrue("buffer=" + buffer, buffer.get(0) instanceof LatencyMarker);
+        assertEquals(asList("completing", "completing", DONE_ITEM),
+                buffer.stream().filter(o -> !(o instanceof LatencyMarker)).collect(toList()));
+    }
+
+    @Test
+    public void when_itemHalfSentWithLatencyMarkers_then_markerNotInterleaved() throws InterruptedException {
+        // Given
+        MockOutboundStream outstream1 = new MockOutboundStream(0, 10);
+        MockOutboundStream outstream2 = new MockOutboundStream(1, 1);
+        outstreams.add(outstream1);
+        outstreams.add(outstream2);
+        processor.itemsToEmitInComplete = 3;
+        Tasklet tasklet = createTasklet(1);
+
+        // When
+        // outstream2 accepts one item per call, a new marker is due in each call
+        List<Object> received2 = new ArrayList<>();
+        for (int i = 0; i < CALL_COUNT_LIMIT * 2 && !DONE_ITEM.equals(last(received2)); i++) {
+            Thread.sleep(2);
+            tasklet.call();
+            received2.addAll(outstream2.getBuffer());
+            outstream2.flush();
+        }
+
+        // Then
+        List<Object> expected = asList("completing", "completing", "completing", DONE_ITEM);
+        List<Object> received1 = outstream1.getBuffer();
+        assertEquals(expected, received1.stream().filter(o -> !(o instanceof LatencyMarker)).collect(toList()));
+        assertEquals(expected, received2.stream().filter(o -> !(o instanceof LatencyMarker)).collect(toList()));
+        assertEquals(received1, received2);
+    }
+
     private ProcessorTasklet createTasklet() {
+        return createTasklet(0);
+    }
+
+    private ProcessorTasklet createTasklet(long latencyMarkerIntervalMillis) {
         for (int i = 0; i < instreams.size(); i++) {
             instreams.get(i).setOrdinal(i);
         }
 
         final ProcessorTasklet t = new ProcessorTasklet(context, processor, instreams, outstreams,
-                mock(SnapshotContext.class), new MockOutboundCollector(10), -1);
+                mock(SnapshotContext.class), new MockOutboundCollector(10), -1, latencyMarkerIntervalMillis);
         t.init();
         return t;
     }
@@ -316,6 +426,10 @@ public class ProcessorTaskletTest {
         }
     }
 
+    private static Object last(List<Object> list) {
+        return list.isEmpty() ? null : list.get(list.size() - 1);
+    }
+
     private static void callUntil(Tasklet tasklet, ProgressState expectedState) {
         int iterCount = 0;
         for (ProgressState r; (r = tasklet.call()) != expectedState; ) {
@@ -295,7 +295,7 @@ public class ProcessorTaskletTest_Blocking {
             instreams.get(i).setOrdinal(i);
         }
         final ProcessorTasklet t = new ProcessorTasklet(context, processor, instreams, outstreams,
-                mock(SnapshotContext.class), new MockOutboundCollector(10), -1);
+                mock(SnapshotContext.class), new MockOutboundCollector(10), -1, 0);
         t.init();
         return t;
     }
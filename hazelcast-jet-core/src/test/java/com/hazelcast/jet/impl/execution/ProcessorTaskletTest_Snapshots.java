@@ -198,7 +198,7 @@ public class ProcessorTaskletTest_Snapshots {
         snapshotContext = new SnapshotContext(mock(ILogger.class), 0, 0, -1, guarantee);
         snapshotContext.initTaskletCount(1, 0);
         final ProcessorTasklet t = new ProcessorTasklet(context, processor, instreams, outstreams,
-                snapshotContext, snapshotCollector, -1);
+                snapshotContext, snapshotCollector, -1, 0);
         t.init();
         return t;
     }
@@ -290,7 +290,7 @@ public class ProcessorTaskletTest_Watermarks {
         SnapshotContext snapshotContext = new SnapshotContext(mock(ILogger.class), 0, 0, -1, EXACTLY_ONCE);
         snapshotContext.initTaskletCount(1, 0);
         final ProcessorTasklet t = new ProcessorTasklet(context, processor, instreams, outstreams,
-                snapshotContext, snapshotCollector, maxWatermarkRetainMillis);
+                snapshotContext, snapshotCollector, maxWatermarkRetainMillis, 0);
         t.init();
         return t;
     }
@@ -43,7 +43,7 @@ public class ReceiverTaskletSendLimitTest {
 
     @Before
     public void before() {
-        tasklet = new ReceiverTasklet(null, RWIN_MULTIPLIER, FLOW_CONTROL_PERIOD_MS);
+        tasklet = new ReceiverTasklet(null, RWIN_MULTIPLIER, FLOW_CONTROL_PERIOD_MS, null);
     }
 
     @Test
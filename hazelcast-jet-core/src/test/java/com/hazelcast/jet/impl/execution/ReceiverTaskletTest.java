@@ -18,20 +18,30 @@ package com.hazelcast.jet.impl.execution;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
 import java.io.IOException;
+import java.util.zip.Deflater;
 
+import static com.hazelcast.jet.impl.Networking.STREAM_PACKET_HEADER_SIZE;
+import static com.hazelcast.jet.impl.execution.DoneItem.DONE_ITEM;
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 public class ReceiverTaskletTest {
 
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+
     private ReceiverTasklet t;
     private InternalSerializationService serService;
     private MockOutboundCollector collector;
@@ -39,8 +49,8 @@ public class ReceiverTaskletTest {
     @Before
     public void before() {
         collector = new MockOutboundCollector(2);
-        t = new ReceiverTasklet(collector, 3, 100);
         serService = new DefaultSerializationServiceBuilder().build();
+        t = new ReceiverTasklet(collector, 3, 100, serService);
     }
 
     @Test
@@ -50,13 +60,87 @@ public class ReceiverTaskletTest {
         assertEquals(asList(1, 2), collector.getBuffer());
     }
 
+    @Test
+    public void when_receiveTwoPackets_then_emitItemsOfBoth() throws IOException {
+        pushObjects(1, 2);
+        pushObjects("a", "b");
+        t.call();
+        assertEquals(asList(1, 2), collector.getBuffer());
+        collector.getBuffer().clear();
+        t.call();
+        assertEquals(asList("a", "b"), collector.getBuffer());
+    }
+
+    @Test
+    public void when_compressedPacket_then_decompressedAndEmitted() throws IOException {
+        // Given
+        t = new ReceiverTasklet(collector, 3, 100, serService, true);
+
+        // When
+        pushCompressedObjects("a", "b");
+        t.call();
+
+        // Then
+        assertEquals(asList("a", "b"), collector.getBuffer());
+    }
+
+    @Test
+    public void when_receptionDone_then_inflaterReleased() throws IOException {
+        // Given
+        t = new ReceiverTasklet(collector, 3, 100, serService, true);
+
+        // When
+        pushCompressedObjects("a", DONE_ITEM);
+        t.call();
+
+        // Then
+        exceptionRule.expect(NullPointerException.class);
+        // an ended Inflater fails on any use
+        t.inflater().getRemaining();
+    }
+
+    @Test
+    public void when_closed_then_inflaterReleased() {
+        // Given
+        t = new ReceiverTasklet(collector, 3, 100, serService, true);
+
+        // When
+        t.close();
+
+        // Then
+        exceptionRule.expect(NullPointerException.class);
+        t.inflater().getRemaining();
+    }
+
+    private void pushCompressedObjects(Object... objs) throws IOException {
+        final BufferObjectDataOutput out = serService.createObjectDataOutput();
+        out.writeInt(objs.length);
+        for (Object obj : objs) {
+            out.writeObject(obj);
+            out.writeInt(0); // partition id
+        }
+        final byte[] uncompressed = out.toByteArray();
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(uncompressed);
+        deflater.finish();
+        final byte[] compressed = new byte[uncompressed.length + 64];
+        final int compressedLength = deflater.deflate(compressed);
+        assertTrue(deflater.finished());
+        final byte[] payload = new byte[STREAM_PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES + compressedLength];
+        Bits.writeIntB(payload, STREAM_PACKET_HEADER_SIZE, uncompressed.length);
+        System.arraycopy(compressed, 0, payload, STREAM_PACKET_HEADER_SIZE + Bits.INT_SIZE_IN_BYTES, compressedLength);
+        t.receiveStreamPacket(payload);
+    }
+
     private void pushObjects(Object... objs) throws IOException {
         final BufferObjectDataOutput out = serService.createObjectDataOutput();
+        // the header isn't read by the tasklet, only skipped
+        out.write(new byte[STREAM_PACKET_HEADER_SIZE]);
         out.writeInt(objs.length);
         for (Object obj : objs) {
             out.writeObject(obj);
             out.writeInt(Math.abs(obj.hashCode())); // partition id
         }
-        t.receiveStreamPacket(serService.createObjectDataInput(out.toByteArray()));
+        t.receiveStreamPacket(out.toByteArray());
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.IListJet;
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.function.DistributedFunction;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.core.Edge.between;
+import static com.hazelcast.jet.core.processor.Processors.accumulateByKeyP;
+import static com.hazelcast.jet.core.processor.Processors.combineByKeyP;
+import static com.hazelcast.jet.core.processor.SinkProcessors.writeListP;
+import static com.hazelcast.jet.core.processor.SourceProcessors.readListP;
+import static com.hazelcast.jet.function.DistributedFunctions.entryKey;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class SenderTaskletCombineTest extends JetTestSupport {
+
+    private static final int ITEM_COUNT = 10_000;
+    private static final int KEY_COUNT = 10;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void when_combinedBeforeSending_then_correctResult() {
+        // Given
+        JetInstance instance = createJetMember();
+        createJetMember();
+        IListJet<Integer> source = instance.getList("source");
+        IntStream.range(0, ITEM_COUNT).forEach(source::add);
+
+        AggregateOperation1<Object, LongAccumulator, Long> aggrOp = counting();
+        DistributedFunction<Integer, Integer> keyFn = i -> i % KEY_COUNT;
+        DAG dag = new DAG();
+        Vertex src = dag.newVertex("src", readListP("source"));
+        Vertex accumulate = dag.newVertex("accumulate", accumulateByKeyP(singletonList(keyFn), aggrOp))
+                               .localParallelism(4);
+        Vertex combine = dag.newVertex("combine", combineByKeyP(aggrOp, Util::entry));
+        Vertex sink = dag.newVertex("sink", writeListP("sink"));
+        // the source runs on a single member, round-robin spreads the keys over all local accumulators
+        dag.edge(between(src, accumulate))
+           .edge(between(accumulate, combine).distributed().partitioned(entryKey())
+                                              .combinedBeforeSending(aggrOp.combineFn()))
+           .edge(between(combine, sink));
+
+        // When
+        instance.newJob(dag).join();
+
+        // Then
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            expected.put(i, (long) ITEM_COUNT / KEY_COUNT);
+        }
+        Map<Integer, Long> actual = new HashMap<>();
+        for (Object o : instance.getList("sink")) {
+            Entry<Integer, Long> e = (Entry<Integer, Long>) o;
+            assertNull(actual.put(e.getKey(), e.getValue()));
+        }
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.datamodel.TimestampedEntry;
+import com.hazelcast.jet.function.DistributedBiConsumer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class SenderTaskletTest extends JetTestSupport {
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+
+    @Test
+    public void when_combineTimestampedEntries_then_onlyEqualTimestampsMerged() {
+        // Given
+        JetInstance instance = createJetMember();
+        DistributedBiConsumer<LongAccumulator, LongAccumulator> combineFn = LongAccumulator::add;
+        SenderTasklet t = new SenderTasklet(mock(InboundEdgeStream.class), getNodeEngineImpl(instance),
+                getAddress(instance), 1, 1, 1 << 14, false, combineFn);
+        t.inbox().addAll(asList(
+                new TimestampedEntry<>(1, "a", new LongAccumulator(1)),
+                new TimestampedEntry<>(2, "a", new LongAccumulator(2)),
+                new TimestampedEntry<>(1, "a", new LongAccumulator(3)),
+                new TimestampedEntry<>(1, "b", new LongAccumulator(4))));
+
+        // When
+        t.combineInbox();
+
+        // Then
+        assertEquals(asList(
+                new TimestampedEntry<>(1, "a", new LongAccumulator(4)),
+                new TimestampedEntry<>(2, "a", new LongAccumulator(2)),
+                new TimestampedEntry<>(1, "b", new LongAccumulator(4))),
+                new ArrayList<>(t.inbox()));
+    }
+
+    @Test
+    public void when_closed_then_deflaterReleased() {
+        // Given
+        JetInstance instance = createJetMember();
+        SenderTasklet t = new SenderTasklet(mock(InboundEdgeStream.class), getNodeEngineImpl(instance),
+                getAddress(instance), 1, 1, 1 << 14, true, null);
+
+        // When
+        t.close();
+
+        // Then
+        exceptionRule.expect(NullPointerException.class);
+        // an ended Deflater fails on any use
+        t.deflater().getTotalIn();
+    }
+}
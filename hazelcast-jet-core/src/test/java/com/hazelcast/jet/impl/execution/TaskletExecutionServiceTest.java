@@ -17,6 +17,7 @@
 package com.hazelcast.jet.impl.execution;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.metrics.impl.MetricsRegistryImpl;
 import com.hazelcast.jet.core.JetTestSupport;
 import com.hazelcast.jet.impl.util.ProgressState;
 import com.hazelcast.logging.Logger;
@@ -43,6 +44,7 @@ import java.util.concurrent.locks.LockSupport;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.peel;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.jet.impl.util.ProgressState.DONE;
@@ -50,6 +52,7 @@ import static com.hazelcast.jet.impl.util.ProgressState.MADE_PROGRESS;
 import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
@@ -291,6 +294,36 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         // -- assertions are inside TaskletAssertingThreadLocal and will fail, if t1 and t2 are running on the same thread
     }
 
+    @Test
+    public void when_hotTaskletsOnSameWorker_then_migratedToDifferentWorkers() {
+        // Given
+        // Tasklets are placed round-robin when all workers are equally loaded,
+        // so tasklets 0 and THREAD_COUNT end up on the same worker
+        List<HotTasklet> tasklets = IntStream.range(0, 2 * THREAD_COUNT)
+                                             .mapToObj(i -> new HotTasklet(i % THREAD_COUNT == 0))
+                                             .collect(toList());
+        HotTasklet hot1 = tasklets.get(0);
+        HotTasklet hot2 = tasklets.get(THREAD_COUNT);
+
+        // When
+        CompletableFuture<Void> f = es.beginExecute(tasklets, cancellationFuture, classLoaderMock);
+
+        // Then
+        assertTrueEventually(() -> {
+            assertTrue(hot1.thread != null && hot2.thread != null);
+            assertNotEquals(hot1.thread, hot2.thread);
+        });
+        MetricsRegistryImpl registry = new MetricsRegistryImpl(Logger.getLogger(MetricsRegistryImpl.class), INFO);
+        es.registerMetrics(registry);
+        assertTrue(IntStream.range(0, THREAD_COUNT)
+                            .mapToDouble(i -> registry.newDoubleGauge("jet.cooperativeWorker." + i + ".load").read())
+                            .anyMatch(load -> load > 0));
+        // the worker reports the call durations it measured to the tasklet
+        assertTrueEventually(() -> assertTrue(hot1.callNanos >= HotTasklet.BUSY_NANOS));
+        tasklets.forEach(t -> t.done = true);
+        f.join();
+    }
+
     @Test
     public void when_tryCompleteOnReturnedFuture_then_fails() {
         // Given
@@ -499,6 +532,42 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         }
     }
 
+    private static class HotTasklet implements Tasklet {
+
+        private static final long BUSY_NANOS = MICROSECONDS.toNanos(100);
+
+        private final boolean isHot;
+        private volatile Thread thread;
+        private volatile boolean done;
+        private volatile long callNanos;
+
+        HotTasklet(boolean isHot) {
+            this.isHot = isHot;
+        }
+
+        @Nonnull
+        @Override
+        public ProgressState call() {
+            if (done) {
+                return DONE;
+            }
+            if (!isHot) {
+                return NO_PROGRESS;
+            }
+            thread = Thread.currentThread();
+            long end = System.nanoTime() + BUSY_NANOS;
+            while (System.nanoTime() < end) {
+                // busy spin
+            }
+            return MADE_PROGRESS;
+        }
+
+        @Override
+        public void callCompleted(long callNanos) {
+            this.callNanos = callNanos;
+        }
+    }
+
     private static class TaskletAssertingThreadLocal implements Tasklet {
 
         private static ThreadLocal<Integer> threadLocal = ThreadLocal.withInitial(() -> 0);
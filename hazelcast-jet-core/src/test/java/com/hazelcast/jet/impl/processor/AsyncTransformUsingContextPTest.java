@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.jet.core.test.TestProcessorSupplierContext;
+import com.hazelcast.jet.pipeline.ContextFactory;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.jet.core.test.TestSupport.SAME_ITEMS_ANY_ORDER;
+import static com.hazelcast.jet.core.test.TestSupport.verifyProcessor;
+import static com.hazelcast.jet.impl.processor.AsyncTransformUsingContextP.supplier;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class AsyncTransformUsingContextPTest {
+
+    private final List<CompletableFuture<Traverser<String>>> futures = new ArrayList<>();
+    private TestInbox inbox;
+    private TestOutbox outbox;
+
+    @Before
+    public void before() {
+        inbox = new TestInbox();
+        outbox = new TestOutbox(128);
+    }
+
+    @Test
+    public void when_ordered_then_resultsInInputOrder() {
+        verifyProcessor(supplier(ContextFactory.withCreateFn(jet -> "ctx"), AsyncTransformUsingContextPTest::callAsync))
+                .disableProgressAssertion() // the processor makes no progress while waiting for the calls
+                .input(asList("a", "b", "c"))
+                .expectOutput(asList("a-1", "a-2", "b-1", "b-2", "c-1", "c-2"));
+    }
+
+    @Test
+    public void when_unordered_then_allResults() {
+        verifyProcessor(supplier(ContextFactory.withCreateFn(jet -> "ctx").withUnorderedAsyncResponses(),
+                AsyncTransformUsingContextPTest::callAsync))
+                .disableProgressAssertion()
+                .outputChecker(SAME_ITEMS_ANY_ORDER)
+                .input(asList("a", "b", "c"))
+                .expectOutput(asList("a-1", "a-2", "b-1", "b-2", "c-1", "c-2"));
+    }
+
+    @Test
+    public void when_completedWithNullTraverser_then_nothingEmitted() {
+        verifyProcessor(supplier(ContextFactory.withCreateFn(jet -> "ctx"),
+                (String ctx, String item) -> completedFuture(item.equals("b") ? null : Traverser.over(item))))
+                .input(asList("a", "b", "c"))
+                .expectOutput(asList("a", "c"));
+    }
+
+    @Test
+    public void when_outboxFull_then_noMoreItemsTaken() {
+        outbox = new TestOutbox(1);
+        Processor p = createProcessor(ContextFactory.withCreateFn(jet -> "ctx"));
+        inbox.add("a");
+        p.process(0, inbox);
+        futures.get(0).complete(Traverser.over("a-1", "a-2"));
+
+        inbox.add("b");
+        p.process(0, inbox);
+        assertEquals(asList("a-1"), drainOutbox());
+        assertEquals(asList("b"), new ArrayList<>(inbox.queue()));
+        assertFalse(p.tryProcess());
+
+        outbox.reset();
+        p.process(0, inbox);
+        assertEquals(asList("a-2"), drainOutbox());
+        assertTrue(inbox.isEmpty());
+        assertEquals(2, futures.size());
+    }
+
+    @Test
+    public void when_orderedWithManualCompletion_then_laterResultWaits() {
+        Processor p = createProcessor(ContextFactory.withCreateFn(jet -> "ctx"));
+        inbox.addAll(asList("a", "b"));
+        p.process(0, inbox);
+        assertTrue(inbox.isEmpty());
+
+        futures.get(1).complete(Traverser.over("b"));
+        p.tryProcess();
+        assertEquals(0, outbox.queue(0).size());
+
+        futures.get(0).complete(Traverser.over("a"));
+        assertTrue(p.complete());
+        assertEquals(asList("a", "b"), drainOutbox());
+    }
+
+    @Test
+    public void when_maxPendingCallsReached_then_inboxNotDrained() {
+        Processor p = createProcessor(ContextFactory.withCreateFn(jet -> "ctx").withMaxPendingCallsPerProcessor(2));
+        inbox.addAll(asList("a", "b", "c"));
+        p.process(0, inbox);
+        assertEquals(2, futures.size());
+        assertEquals(asList("c"), new ArrayList<>(inbox.queue()));
+
+        futures.get(0).complete(Traverser.over("a"));
+        p.process(0, inbox);
+        assertTrue(inbox.isEmpty());
+        assertEquals(3, futures.size());
+        assertEquals(asList("a"), drainOutbox());
+    }
+
+    @Test
+    public void when_callsPending_then_watermarkAndSnapshotWait() {
+        Processor p = createProcessor(ContextFactory.withCreateFn(jet -> "ctx"));
+        inbox.add("a");
+        p.process(0, inbox);
+
+        assertFalse(p.tryProcessWatermark(new Watermark(10)));
+        assertFalse(p.saveToSnapshot());
+
+        futures.get(0).complete(null);
+        assertTrue(p.tryProcessWatermark(new Watermark(10)));
+        assertTrue(p.saveToSnapshot());
+        assertEquals(0, outbox.queue(0).size());
+    }
+
+    private static CompletableFuture<Traverser<String>> callAsync(String ctx, String item) {
+        return supplyAsync(() -> Traverser.over(item + "-1", item + "-2"));
+    }
+
+    private Processor createProcessor(ContextFactory<String> contextFactory) {
+        ProcessorSupplier supplier = supplier(contextFactory, (String ctx, String item) -> {
+            CompletableFuture<Traverser<String>> f = new CompletableFuture<>();
+            futures.add(f);
+            return f;
+        });
+        supplier.init(new TestProcessorSupplierContext());
+        Processor p = supplier.get(1).iterator().next();
+        p.init(outbox, new TestProcessorContext());
+        return p;
+    }
+
+    private List<Object> drainOutbox() {
+        List<Object> result = new ArrayList<>(outbox.queue(0));
+        outbox.queue(0).clear();
+        return result;
+    }
+}
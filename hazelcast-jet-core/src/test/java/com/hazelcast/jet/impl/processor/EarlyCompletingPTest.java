@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.DAG;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.core.processor.Processors;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.impl.execution.CompletionSignals;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
+import com.hazelcast.jet.stream.impl.processor.AnyMatchP;
+import com.hazelcast.jet.stream.impl.processor.LimitP;
+import com.hazelcast.nio.Address;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static com.hazelcast.jet.config.ProcessingGuarantee.NONE;
+import static com.hazelcast.jet.core.Edge.between;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class EarlyCompletingPTest extends JetTestSupport {
+
+    private static final String SIGNAL_NAME = "signal";
+
+    private DAG dag;
+    private Vertex source;
+    private Vertex sink;
+    private List<String> signalledOnOtherMembers;
+    private ProcCtx context;
+
+    @Before
+    public void setUp() {
+        dag = new DAG();
+        source = dag.newVertex("source", NeverCompletingP::new);
+        sink = dag.newVertex("sink", Processors.noopP());
+        dag.edge(between(source, sink));
+        signalledOnOtherMembers = new ArrayList<>();
+        context = new ProcCtx(null, new DefaultSerializationServiceBuilder().build(), null,
+                null, 0, NONE, 1, 1, 0, 1, new CompletionSignals(signalledOnOtherMembers::add));
+    }
+
+    @Test
+    public void when_signalSet_then_sourceCompletes() throws Exception {
+        EarlyCompletingP.wrapSources(dag, SIGNAL_NAME);
+        Processor p = createProcessor(source);
+        p.init(new TestOutbox(1), context);
+
+        assertFalse(p.complete());
+        context.completionSignal(SIGNAL_NAME).set(true);
+        assertTrue(p.complete());
+    }
+
+    @Test
+    public void when_signalSetOnAllMembers_then_otherMembersSignalledOnce() throws Exception {
+        EarlyCompletingP.wrapSources(dag, SIGNAL_NAME);
+        Processor p = createProcessor(source);
+        p.init(new TestOutbox(1), context);
+
+        context.signalCompletionOnAllMembers(SIGNAL_NAME);
+        context.signalCompletionOnAllMembers(SIGNAL_NAME);
+
+        assertTrue(p.complete());
+        assertEquals(singletonList(SIGNAL_NAME), signalledOnOtherMembers);
+    }
+
+    @Test
+    public void when_signalSetWhileItemRefused_then_itemOfferedBeforeCompleting() throws Exception {
+        source = dag.newVertex("emitting-source", EmittingP::new);
+        EarlyCompletingP.wrapSources(dag, SIGNAL_NAME);
+        Processor p = createProcessor(source);
+        TestOutbox outbox = new TestOutbox(1);
+        p.init(outbox, context);
+
+        assertFalse(p.complete());
+        assertEquals(singletonList(0), new ArrayList<>(outbox.queue(0)));
+        outbox.queue(0).clear();
+        context.completionSignal(SIGNAL_NAME).set(true);
+
+        // the wrapped processor's item 1 was refused, it must be emitted before completing
+        assertTrue(p.complete());
+        assertEquals(singletonList(1), new ArrayList<>(outbox.queue(0)));
+    }
+
+    @Test
+    public void when_globalLimitReached_then_signalSetOnAllMembers() {
+        LimitP limitP = new LimitP(1, SIGNAL_NAME, true);
+        TestInbox inbox = new TestInbox();
+        inbox.add("item");
+        limitP.init(new TestOutbox(1), context);
+
+        limitP.process(0, inbox);
+
+        assertTrue(context.completionSignal(SIGNAL_NAME).get());
+        assertEquals(singletonList(SIGNAL_NAME), signalledOnOtherMembers);
+    }
+
+    @Test
+    public void when_localLimitReached_then_signalSetOnlyOnThisMember() {
+        LimitP limitP = new LimitP(1, SIGNAL_NAME, false);
+        TestInbox inbox = new TestInbox();
+        inbox.add("item");
+        limitP.init(new TestOutbox(1), context);
+
+        limitP.process(0, inbox);
+
+        assertTrue(context.completionSignal(SIGNAL_NAME).get());
+        assertEquals(emptyList(), signalledOnOtherMembers);
+    }
+
+    @Test(timeout = 60_000)
+    public void when_matchOnOneMember_then_sourcesOnAllMembersComplete() {
+        JetInstance instance = createJetMember();
+        createJetMember();
+        DAG jobDag = new DAG();
+        Vertex matchSource = jobDag.newVertex("source", MatchOnFirstMemberP::new).localParallelism(1);
+        Vertex anyMatch = jobDag.newVertex("any-match", () -> new AnyMatchP<>(Objects::nonNull, SIGNAL_NAME))
+                                .localParallelism(1);
+        Vertex matchSink = jobDag.newVertex("sink", Processors.noopP()).localParallelism(1);
+        jobDag.edge(between(matchSource, anyMatch))
+              .edge(between(anyMatch, matchSink).distributed().allToOne());
+        EarlyCompletingP.wrapSources(jobDag, SIGNAL_NAME);
+
+        // without the signal from the member with the match, the source on
+        // the other member would never complete
+        instance.newJob(jobDag).join();
+    }
+
+    @Test
+    public void when_wrapSources_then_onlySourcesWrapped() throws Exception {
+        EarlyCompletingP.wrapSources(dag, SIGNAL_NAME);
+
+        assertTrue(createProcessor(source) instanceof EarlyCompletingP);
+        assertFalse(createProcessor(sink) instanceof EarlyCompletingP);
+    }
+
+    private static Processor createProcessor(Vertex vertex) throws Exception {
+        Address address = new Address("127.0.0.1", 5701);
+        return vertex.getMetaSupplier()
+                     .get(singletonList(address))
+                     .apply(address)
+                     .get(1)
+                     .iterator().next();
+    }
+
+    private static class NeverCompletingP extends AbstractProcessor {
+        @Override
+        public boolean complete() {
+            return false;
+        }
+    }
+
+    private static class EmittingP extends AbstractProcessor {
+        private int counter;
+
+        @Override
+        public boolean complete() {
+            while (tryEmit(counter)) {
+                counter++;
+            }
+            return false;
+        }
+    }
+
+    private static class MatchOnFirstMemberP extends AbstractProcessor {
+        private boolean emitted;
+
+        @Override
+        protected void init(@Nonnull Context context) {
+            emitted = context.globalProcessorIndex() != 0;
+        }
+
+        @Override
+        public boolean complete() {
+            if (!emitted) {
+                emitted = tryEmit(1);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static com.hazelcast.jet.impl.processor.FrameRingBuffer.INITIAL_CAPACITY;
+import static com.hazelcast.jet.impl.processor.FrameRingBuffer.MAX_CAPACITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class FrameRingBufferTest {
+
+    private static final long FRAME_SIZE = 10;
+
+    private FrameRingBuffer<List<Integer>> buffer;
+
+    @Before
+    public void setup() {
+        buffer = new FrameRingBuffer<>(FRAME_SIZE, ArrayList::new);
+    }
+
+    @Test
+    public void when_empty_then_isEmpty() {
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.get(10));
+        assertNull(buffer.remove(10));
+        assertNull(buffer.traverse().next());
+    }
+
+    @Test
+    public void when_getOrCreate_then_sameFrameReturned() {
+        List<Integer> frame = buffer.getOrCreate(10);
+        assertSame(frame, buffer.getOrCreate(10));
+        assertSame(frame, buffer.get(10));
+        assertFalse(buffer.isEmpty());
+        assertEquals(10, buffer.bottomTs());
+    }
+
+    @Test
+    public void when_bottomFrameRemoved_then_bottomAdvances() {
+        buffer.getOrCreate(30);
+        buffer.getOrCreate(10);
+        buffer.getOrCreate(60);
+        assertEquals(10, buffer.bottomTs());
+
+        buffer.remove(10);
+        assertEquals(30, buffer.bottomTs());
+        buffer.remove(30);
+        assertEquals(60, buffer.bottomTs());
+        buffer.remove(60);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void when_frameRangeExceedsCapacity_then_grows() {
+        int count = 4 * INITIAL_CAPACITY;
+        for (int i = count - 1; i >= 0; i--) {
+            buffer.getOrCreate(i * FRAME_SIZE).add(i);
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i * FRAME_SIZE, buffer.bottomTs());
+            assertEquals(i, (int) buffer.remove(i * FRAME_SIZE).get(0));
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void when_frameFarAway_then_storedInOverflow() {
+        long farTs = 2L * MAX_CAPACITY * FRAME_SIZE;
+        List<Integer> nearFrame = buffer.getOrCreate(FRAME_SIZE);
+        List<Integer> farFrame = buffer.getOrCreate(farTs);
+
+        assertSame(farFrame, buffer.get(farTs));
+        assertEquals(FRAME_SIZE, buffer.bottomTs());
+        assertSame(nearFrame, buffer.remove(FRAME_SIZE));
+        assertEquals(farTs, buffer.bottomTs());
+        assertSame(farFrame, buffer.remove(farTs));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void when_negativeTimestamps_then_works() {
+        buffer.getOrCreate(-20);
+        buffer.getOrCreate(-10);
+        buffer.getOrCreate(0);
+        assertEquals(-20, buffer.bottomTs());
+        assertNotNull(buffer.remove(-20));
+        assertEquals(-10, buffer.bottomTs());
+    }
+
+    @Test
+    public void when_randomOperations_then_sameAsTreeMap() {
+        Random random = new Random(42);
+        TreeMap<Long, List<Integer>> expected = new TreeMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long ts = random.nextInt(100) == 0
+                    ? random.nextInt(Integer.MAX_VALUE) * FRAME_SIZE
+                    : (i / 100 + random.nextInt(200)) * FRAME_SIZE;
+            if (random.nextBoolean()) {
+                List<Integer> frame = buffer.getOrCreate(ts);
+                assertSame(expected.computeIfAbsent(ts, x -> frame), frame);
+            } else {
+                long tsToRemove = expected.isEmpty() || random.nextBoolean() ? ts : expected.firstKey();
+                assertSame(expected.remove(tsToRemove), buffer.remove(tsToRemove));
+            }
+            assertEquals(expected.isEmpty(), buffer.isEmpty());
+            if (!expected.isEmpty()) {
+                assertEquals((long) expected.firstKey(), buffer.bottomTs());
+            }
+        }
+        Map<Long, List<Integer>> actual = new HashMap<>();
+        Traverser<Entry<Long, List<Integer>>> traverser = buffer.traverse();
+        for (Entry<Long, List<Integer>> e; (e = traverser.next()) != null; ) {
+            assertNull(actual.put(e.getKey(), e.getValue()));
+        }
+        assertEquals(expected, actual);
+    }
+}
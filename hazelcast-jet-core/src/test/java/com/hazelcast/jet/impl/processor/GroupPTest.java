@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.Util;
+import com.hazelcast.jet.accumulator.LongAccumulator;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.config.JetConfig;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class GroupPTest extends JetTestSupport {
+
+    private static final int SPILL_THRESHOLD = 10;
+    private static final int KEY_COUNT = 100;
+    private static final int ITEMS_PER_KEY = 10;
+
+    private JetInstance instance;
+    private File tempDir;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = createTempDirectory();
+        JetConfig config = new JetConfig();
+        config.getInstanceConfig()
+              .setGroupingSpillThreshold(SPILL_THRESHOLD)
+              .setTempDir(tempDir.getAbsolutePath());
+        instance = createJetMember(config);
+    }
+
+    @Test
+    public void when_moreKeysThanSpillThreshold_then_spilledAndMerged() {
+        testGroupP(counting());
+        assertArrayEquals(new File[0], tempDir.listFiles());
+    }
+
+    @Test
+    public void when_noCombineFn_then_notSpilled() {
+        testGroupP(AggregateOperation
+                .withCreate(LongAccumulator::new)
+                .<Integer>andAccumulate((acc, i) -> acc.add(1))
+                .andFinish(LongAccumulator::get));
+        assertArrayEquals(new File[0], tempDir.listFiles());
+    }
+
+    @Test
+    public void when_nullKeySpilled_then_mergedLikeOtherKeys() {
+        List<Integer> input = IntStream.range(0, KEY_COUNT * ITEMS_PER_KEY).boxed().collect(toList());
+        List<Entry<Integer, Long>> expected = IntStream.range(0, KEY_COUNT)
+                                                       .mapToObj(i -> entry(i == 0 ? null : i, (long) ITEMS_PER_KEY))
+                                                       .collect(toList());
+        TestSupport
+                .verifyProcessor(() -> new GroupP<>((Integer i) -> i % KEY_COUNT == 0 ? null : i % KEY_COUNT,
+                        counting(), Util::entry))
+                .jetInstance(instance)
+                .disableSnapshots()
+                .disableProgressAssertion()
+                .disableLogging()
+                .input(input)
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .expectOutput(expected);
+        assertArrayEquals(new File[0], tempDir.listFiles());
+    }
+
+    private <A> void testGroupP(AggregateOperation1<Integer, A, Long> aggrOp) {
+        List<Integer> input = IntStream.range(0, KEY_COUNT * ITEMS_PER_KEY).boxed().collect(toList());
+        List<Entry<Integer, Long>> expected = IntStream.range(0, KEY_COUNT)
+                                                       .mapToObj(i -> entry(i, (long) ITEMS_PER_KEY))
+                                                       .collect(toList());
+        TestSupport
+                .verifyProcessor(() -> new GroupP<>((Integer i) -> i % KEY_COUNT, aggrOp, Util::entry))
+                .jetInstance(instance)
+                .disableSnapshots()
+                // the processor waits for the spill file I/O without emitting anything
+                .disableProgressAssertion()
+                .disableLogging()
+                .input(input)
+                .outputChecker(TestSupport.SAME_ITEMS_ANY_ORDER)
+                .expectOutput(expected);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.impl.processor.HashJoinTable.Values;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class HashJoinTableTest {
+
+    private HashJoinTable<Object, String> table;
+
+    @Before
+    public void setup() {
+        table = new HashJoinTable<>();
+    }
+
+    @Test
+    public void when_empty_then_getReturnsNull() {
+        assertTrue(table.isEmpty());
+        assertNull(table.get("a"));
+        assertNull(table.get(null));
+    }
+
+    @Test
+    public void when_putIfAbsent_then_firstValueKept() {
+        assertTrue(table.putIfAbsent("a", "1"));
+        assertFalse(table.putIfAbsent("a", "2"));
+        assertEquals(1, table.size());
+        assertEquals("1", table.get("a"));
+    }
+
+    @Test
+    public void when_nullKeyAndValue_then_supported() {
+        assertTrue(table.putIfAbsent(null, "null"));
+        assertTrue(table.putIfAbsent("a", null));
+        assertFalse(table.putIfAbsent(null, "other"));
+        assertEquals("null", table.get(null));
+        assertNull(table.get("a"));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void when_add_then_allValuesReturned() {
+        table.add("a", "1");
+        assertEquals("1", table.get("a"));
+
+        for (int i = 2; i <= 10; i++) {
+            table.add("a", String.valueOf(i));
+        }
+        table.add("b", "x");
+        assertEquals(2, table.size());
+        assertEquals("x", table.get("b"));
+        Object values = table.get("a");
+        assertTrue(values instanceof Values);
+        assertEquals(10, ((Values) values).size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(String.valueOf(i + 1), ((Values) values).get(i));
+        }
+    }
+
+    @Test
+    public void when_manyKeys_then_sameAsHashMap() {
+        Random random = new Random();
+        Map<Object, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            // colliding hash codes in the low bits
+            Object key = random.nextBoolean() ? (long) random.nextInt(50_000) << 32 : "key" + random.nextInt(50_000);
+            String value = String.valueOf(i);
+            assertEquals(expected.putIfAbsent(key, value) == null, table.putIfAbsent(key, value));
+        }
+        assertEquals(expected.size(), table.size());
+        for (Map.Entry<Object, String> e : expected.entrySet()) {
+            assertEquals(e.getValue(), table.get(e.getKey()));
+        }
+        assertNull(table.get("missing"));
+    }
+}
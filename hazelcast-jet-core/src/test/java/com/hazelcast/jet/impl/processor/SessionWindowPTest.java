@@ -70,7 +70,7 @@ public class SessionWindowPTest {
     public void after() {
         // Check against memory leaks
         assertTrue("keyToWindows not empty", lastSuppliedProcessor.keyToWindows.isEmpty());
-        assertTrue("deadlineToKeys not empty", lastSuppliedProcessor.deadlineToKeys.isEmpty());
+        assertTrue("deadlines not empty", lastSuppliedProcessor.deadlines.isEmpty());
     }
 
     @Test
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.function.DistributedSupplier;
+import com.hazelcast.jet.function.DistributedToLongFunction;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.core.test.TestSupport.SAME_ITEMS_ANY_ORDER;
+import static com.hazelcast.jet.core.test.TestSupport.verifyProcessor;
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.jet.function.DistributedFunctions.entryKey;
+import static java.util.Arrays.asList;
+import static java.util.Collections.nCopies;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class StreamJoinPTest {
+
+    private static final long MAX_TIME_DIFFERENCE = 2;
+    private static final Watermark FINAL_WM = new Watermark(Long.MAX_VALUE);
+
+    private DistributedSupplier<Processor> supplier;
+    private StreamJoinP<String, Tuple2<Object, Object>> lastSuppliedProcessor;
+
+    @Before
+    public void before() {
+        supplier = () -> lastSuppliedProcessor = new StreamJoinP<>(
+                MAX_TIME_DIFFERENCE,
+                nCopies(2, (DistributedToLongFunction<Entry<String, Long>>) Entry::getValue),
+                nCopies(2, entryKey()),
+                Tuple2::tuple2);
+    }
+
+    @After
+    public void after() {
+        // Check against memory leaks
+        assertTrue("keyToBuffers not empty", lastSuppliedProcessor.keyToBuffers.isEmpty());
+        assertTrue("evictions not empty", lastSuppliedProcessor.evictions.isEmpty());
+    }
+
+    @Test
+    public void when_itemsWithinMaxTimeDifference_then_joined() {
+        verifyProcessor(supplier)
+                .inputs(asList(
+                        asList(entry("a", 10L), entry("a", 14L)),
+                        asList(entry("a", 12L), entry("a", 13L), entry("b", 11L), FINAL_WM)
+                ))
+                .expectOutput(asList(
+                        tuple2(entry("a", 10L), entry("a", 12L)),
+                        tuple2(entry("a", 14L), entry("a", 12L)),
+                        tuple2(entry("a", 14L), entry("a", 13L)),
+                        FINAL_WM
+                ));
+    }
+
+    @Test
+    public void when_watermarkPassesItems_then_evicted() {
+        verifyProcessor(supplier)
+                .inputs(asList(
+                        asList(entry("a", 10L), new Watermark(15), entry("a", 20L)),
+                        asList(entry("a", 11L), entry("a", 21L), FINAL_WM)
+                ))
+                .expectOutput(asList(
+                        tuple2(entry("a", 10L), entry("a", 11L)),
+                        new Watermark(15),
+                        tuple2(entry("a", 20L), entry("a", 21L)),
+                        FINAL_WM
+                ));
+    }
+
+    @Test
+    public void when_lateEvent_then_dropped() {
+        verifyProcessor(supplier)
+                .inputs(asList(
+                        asList(new Watermark(20), entry("a", 20L)),
+                        asList(entry("a", 19L), FINAL_WM)
+                ))
+                .expectOutput(asList(
+                        new Watermark(20),
+                        FINAL_WM
+                ));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void when_disorderedEventsWithThreeKeys_then_sameAsNestedLoopJoin() {
+        Random random = new Random(42);
+        List<Object> left = new ArrayList<>();
+        List<Object> right = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String key = String.valueOf((char) ('a' + random.nextInt(3)));
+            (random.nextBoolean() ? left : right).add(entry(key, (long) random.nextInt(50)));
+        }
+        List<Object> expected = new ArrayList<>();
+        for (Object l : left) {
+            for (Object r : right) {
+                Entry<String, Long> le = (Entry<String, Long>) l;
+                Entry<String, Long> re = (Entry<String, Long>) r;
+                if (le.getKey().equals(re.getKey()) && Math.abs(le.getValue() - re.getValue()) <= MAX_TIME_DIFFERENCE) {
+                    expected.add(tuple2(l, r));
+                }
+            }
+        }
+        expected.add(FINAL_WM);
+        // the watermark must come after all the items of both inputs
+        (left.size() >= right.size() ? left : right).add(FINAL_WM);
+
+        verifyProcessor(supplier)
+                .inputs(asList(left, right))
+                .disableLogging()
+                .outputChecker(SAME_ITEMS_ANY_ORDER)
+                .expectOutput(expected);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import static com.hazelcast.jet.core.SlidingWindowPolicy.slidingWinPolicy;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class TwoStacksWindowTest {
+
+    private static final long FRAME_SIZE = 10;
+    private static final long WINDOW_SIZE = 3 * FRAME_SIZE;
+
+    // combining is concatenation, so the result also checks the frame order
+    private static final AggregateOperation1<String, StringBuilder, String> CONCAT =
+            AggregateOperation.withCreate(StringBuilder::new)
+                              .<String>andAccumulate(StringBuilder::append)
+                              .andCombine(StringBuilder::append)
+                              .andFinish(StringBuilder::toString);
+
+    private FrameRingBuffer<Map<String, StringBuilder>> frames;
+    private TwoStacksWindow<String, StringBuilder> window;
+
+    @Before
+    public void setup() {
+        frames = new FrameRingBuffer<>(FRAME_SIZE, HashMap::new);
+        window = new TwoStacksWindow<>(frames, slidingWinPolicy(WINDOW_SIZE, FRAME_SIZE), CONCAT);
+    }
+
+    @Test
+    public void when_noFrames_then_emptyWindow() {
+        assertEquals(emptyMap(), computeAndEvict(20));
+    }
+
+    @Test
+    public void when_slidingPastRebuild_then_framesCombinedInOrder() {
+        for (long ts = 0; ts <= 60; ts += FRAME_SIZE) {
+            addToFrame(ts, "a", String.valueOf(ts / FRAME_SIZE));
+        }
+        // the first window builds the front part, the next two use the back
+        // part and the fourth rebuilds the front part again
+        assertEquals(singletonMap("a", "012"), computeAndEvict(20));
+        assertEquals(singletonMap("a", "123"), computeAndEvict(30));
+        assertEquals(singletonMap("a", "234"), computeAndEvict(40));
+        assertEquals(singletonMap("a", "345"), computeAndEvict(50));
+        assertEquals(singletonMap("a", "456"), computeAndEvict(60));
+        assertEquals(singletonMap("a", "56"), computeAndEvict(70));
+        assertEquals(singletonMap("a", "6"), computeAndEvict(80));
+        assertEquals(emptyMap(), computeAndEvict(90));
+    }
+
+    @Test
+    public void when_keyOnlyInEvictedFrame_then_removedFromWindow() {
+        addToFrame(0, "a", "0");
+        addToFrame(10, "b", "1");
+        addToFrame(30, "b", "3");
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("a", "0");
+        expected.put("b", "1");
+        assertEquals(expected, computeAndEvict(20));
+        assertEquals(singletonMap("b", "13"), computeAndEvict(30));
+        assertEquals(singletonMap("b", "3"), computeAndEvict(40));
+        assertEquals(singletonMap("b", "3"), computeAndEvict(50));
+        assertEquals(emptyMap(), computeAndEvict(60));
+    }
+
+    @Test
+    public void when_randomFrames_then_sameAsCombiningAllFrames() {
+        Random random = new Random(42);
+        int frameCount = 1000;
+        for (long ts = 0; ts < frameCount * FRAME_SIZE; ts += FRAME_SIZE) {
+            for (String key : new String[] {"a", "b", "c"}) {
+                if (random.nextInt(3) != 0) {
+                    addToFrame(ts, key, key + ts + ',');
+                }
+            }
+        }
+        for (long winEnd = WINDOW_SIZE - FRAME_SIZE; winEnd < (frameCount + 2) * FRAME_SIZE; winEnd += FRAME_SIZE) {
+            Map<String, String> expected = combineAllFrames(winEnd);
+            assertEquals("winEnd=" + winEnd, expected, computeAndEvict(winEnd));
+        }
+    }
+
+    private void addToFrame(long ts, String key, String value) {
+        frames.getOrCreate(ts).put(key, new StringBuilder(value));
+    }
+
+    private Map<String, String> combineAllFrames(long winEnd) {
+        Map<String, String> result = new HashMap<>();
+        for (long ts = winEnd - WINDOW_SIZE + FRAME_SIZE; ts <= winEnd; ts += FRAME_SIZE) {
+            Map<String, StringBuilder> frame = frames.get(ts);
+            if (frame != null) {
+                frame.forEach((k, v) -> result.merge(k, v.toString(), String::concat));
+            }
+        }
+        return result;
+    }
+
+    // computes the window, then evicts its bottom frame the way SlidingWindowP does
+    private Map<String, String> computeAndEvict(long winEnd) {
+        Map<String, String> result = new HashMap<>();
+        for (Entry<String, StringBuilder> e : window.compute(winEnd).entrySet()) {
+            result.put(e.getKey(), e.getValue().toString());
+        }
+        long bottomTs = winEnd - WINDOW_SIZE + FRAME_SIZE;
+        window.evict(bottomTs);
+        frames.remove(bottomTs);
+        return result;
+    }
+}
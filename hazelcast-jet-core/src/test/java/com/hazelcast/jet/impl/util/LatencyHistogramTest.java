@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void when_empty_then_zeros() {
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.percentile(0.5));
+    }
+
+    @Test
+    public void when_smallValues_then_exact() {
+        for (int i = 0; i < 8; i++) {
+            histogram.record(i);
+        }
+        assertEquals(8, histogram.count());
+        assertEquals(3, histogram.percentile(0.5));
+        assertEquals(7, histogram.percentile(1));
+    }
+
+    @Test
+    public void when_largeValues_then_percentileWithinBucketError() {
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1000, histogram.max());
+        // the bucket of 500 is [480, 511]
+        assertEquals(511, histogram.percentile(0.5));
+        // capped to the max
+        assertEquals(1000, histogram.percentile(0.99));
+    }
+
+    @Test
+    public void when_outOfRangeValues_then_clamped() {
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(0, histogram.percentile(0.5));
+        assertEquals((1L << 40) - 1, histogram.max());
+    }
+}
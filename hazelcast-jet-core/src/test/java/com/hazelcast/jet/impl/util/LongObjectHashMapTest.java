@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.jet.impl.util.LongObjectHashMap.Cursor;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class LongObjectHashMapTest {
+
+    private LongObjectHashMap<String> map;
+
+    @Before
+    public void setup() {
+        map = new LongObjectHashMap<>();
+    }
+
+    @Test
+    public void when_empty_then_getReturnsNull() {
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+        assertFalse(map.cursor().advance());
+    }
+
+    @Test
+    public void when_put_then_get() {
+        assertNull(map.put(Long.MIN_VALUE, "min"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(Long.MAX_VALUE, "max"));
+        assertEquals("zero", map.put(0, "zero2"));
+
+        assertEquals(3, map.size());
+        assertEquals("min", map.get(Long.MIN_VALUE));
+        assertEquals("zero2", map.get(0));
+        assertEquals("max", map.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void when_computeIfAbsent_then_createdOnce() {
+        String value = map.computeIfAbsent(42, Long::toString);
+        assertEquals("42", value);
+        assertSame(value, map.computeIfAbsent(42, k -> "other"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void when_clear_then_empty() {
+        map.put(1, "a");
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void when_manyKeys_then_sameAsHashMap() {
+        Random random = new Random();
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(50_000) * (random.nextBoolean() ? 1L : 1L << 32);
+            String value = String.valueOf(i);
+            assertEquals(expected.put(key, value), map.put(key, value));
+        }
+        assertEquals(expected.size(), map.size());
+        Map<Long, String> actual = new HashMap<>();
+        for (Cursor<String> cursor = map.cursor(); cursor.advance(); ) {
+            assertNull(actual.put(cursor.key(), cursor.value()));
+        }
+        assertEquals(expected, actual);
+    }
+}
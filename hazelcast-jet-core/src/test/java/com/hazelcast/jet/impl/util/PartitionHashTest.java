@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.core.PartitionService;
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.config.JetConfig;
+import com.hazelcast.jet.core.DefaultPartitionStrategy;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.core.Partitioner;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.jet.impl.util.PartitionHash.UNKNOWN_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class PartitionHashTest extends JetTestSupport {
+
+    private PartitionService partitionService;
+    private DefaultPartitionStrategy strategy;
+    private int partitionCount;
+
+    @Before
+    public void setup() {
+        JetInstance instance = createJetMember();
+        partitionService = instance.getHazelcastInstance().getPartitionService();
+        strategy = key -> partitionService.getPartition(key).getPartitionId();
+        partitionCount = partitionService.getPartitions().size();
+    }
+
+    @Test
+    public void when_knownTypes_then_samePartitionAsSerialized() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Object> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int n = random.nextInt();
+            keys.add(n);
+            keys.add(random.nextLong());
+            keys.add((short) n);
+            keys.add((byte) n);
+            keys.add((char) n);
+            keys.add(n % 2 == 0);
+            keys.add(random.nextDouble());
+            keys.add((float) random.nextDouble());
+            keys.add(randomString(random));
+            keys.add(tuple2(randomString(random), n));
+            keys.add(tuple2(n, tuple2((long) n, null)));
+        }
+        for (Object key : keys) {
+            assertEquals("key: " + key, strategy.getPartition(key), PartitionHash.partitionId(key, partitionCount));
+        }
+    }
+
+    @Test
+    public void when_unknownType_then_unknownTypeReturned() {
+        assertEquals(UNKNOWN_TYPE, PartitionHash.partitionId(new Key(1), partitionCount));
+        assertEquals(UNKNOWN_TYPE, PartitionHash.partitionId(tuple2("a", new Key(1)), partitionCount));
+    }
+
+    @Test
+    public void when_defaultStrategy_then_matches() {
+        assertTrue(PartitionHash.matches(strategy, partitionCount));
+    }
+
+    @Test
+    public void when_otherStrategy_then_doesNotMatch() {
+        assertFalse(PartitionHash.matches(key -> 0, partitionCount));
+    }
+
+    @Test
+    public void when_defaultPartitioner_then_samePartitionAsStrategy() {
+        Partitioner<Object> partitioner = Partitioner.defaultPartitioner();
+        partitioner.init(strategy);
+        for (Object key : new Object[] {"a", 1, 2L, tuple2("b", 3), new Key(4)}) {
+            assertEquals(strategy.getPartition(key), partitioner.getPartition(key, partitionCount));
+        }
+    }
+
+    private static String randomString(SplittableRandom random) {
+        char[] chars = new char[random.nextInt(20)];
+        for (int i = 0; i < chars.length; i++) {
+            // mix of 1, 2 and 3-byte encodings, including surrogates
+            chars[i] = (char) random.nextInt(random.nextBoolean() ? 0x80 : Character.MAX_VALUE + 1);
+        }
+        return new String(chars);
+    }
+
+    private static final class Key implements Serializable {
+        private final int value;
+
+        Key(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.util;
+
+import com.hazelcast.jet.impl.util.TimerWheel.Timer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class TimerWheelTest {
+
+    private TimerWheel<String> wheel;
+
+    @Before
+    public void setup() {
+        wheel = new TimerWheel<>();
+    }
+
+    @Test
+    public void when_advancedBeyondDeadline_then_expired() {
+        Timer<String> a = new Timer<>("a");
+        Timer<String> b = new Timer<>("b");
+        wheel.schedule(a, 10);
+        wheel.schedule(b, 20);
+
+        assertEquals(emptySet(), advance(10));
+        assertEquals(set("a"), advance(11));
+        assertFalse(a.isScheduled());
+        assertTrue(b.isScheduled());
+        assertEquals(set("b"), advance(1000));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void when_rescheduled_then_expiresAtNewDeadline() {
+        Timer<String> a = new Timer<>("a");
+        wheel.schedule(a, 10);
+        wheel.schedule(a, 100);
+        assertEquals(1, wheel.size());
+
+        assertEquals(emptySet(), advance(50));
+        assertEquals(set("a"), advance(101));
+    }
+
+    @Test
+    public void when_cancelled_then_notExpired() {
+        Timer<String> a = new Timer<>("a");
+        wheel.schedule(a, 10);
+        wheel.cancel(a);
+
+        assertTrue(wheel.isEmpty());
+        assertEquals(emptySet(), advance(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void when_scheduledBeforeNow_then_expiresOnNextAdvance() {
+        wheel.advance(100, t -> { });
+        wheel.schedule(new Timer<>("a"), 50);
+
+        assertEquals(set("a"), advance(100));
+    }
+
+    @Test
+    public void when_largeTimeJumps_then_expiredCorrectly() {
+        wheel.schedule(new Timer<>("min"), Long.MIN_VALUE);
+        wheel.schedule(new Timer<>("negative"), -1);
+        wheel.schedule(new Timer<>("zero"), 0);
+        wheel.schedule(new Timer<>("large"), 1L << 50);
+        wheel.schedule(new Timer<>("max"), Long.MAX_VALUE);
+
+        assertEquals(set("min", "negative"), advance(0));
+        assertEquals(set("zero"), advance(1L << 50));
+        assertEquals(set("large"), advance(Long.MAX_VALUE));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void when_randomOperations_then_sameAsModel() {
+        Random random = new Random();
+        List<Timer<String>> timers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            timers.add(new Timer<>(String.valueOf(i)));
+        }
+        Map<String, Long> expected = new HashMap<>();
+        long now = random.nextInt();
+        wheel.advance(now, t -> { });
+        for (int i = 0; i < 100_000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5) {
+                Timer<String> timer = timers.get(random.nextInt(timers.size()));
+                long deadline = now + random.nextInt(1 << random.nextInt(30));
+                wheel.schedule(timer, deadline);
+                expected.put(timer.item(), deadline);
+            } else if (op < 6) {
+                Timer<String> timer = timers.get(random.nextInt(timers.size()));
+                wheel.cancel(timer);
+                expected.remove(timer.item());
+            } else {
+                now += random.nextInt(1 << random.nextInt(20));
+                long time = now;
+                Set<String> expectedExpired = new HashSet<>();
+                expected.entrySet().removeIf(e -> e.getValue() < time && expectedExpired.add(e.getKey()));
+                assertEquals(expectedExpired, advance(time));
+            }
+            assertEquals(expected.size(), wheel.size());
+        }
+    }
+
+    private Set<String> advance(long time) {
+        Set<String> expired = new HashSet<>();
+        wheel.advance(time, t -> assertTrue("duplicate expiry: " + t, expired.add(t.item())));
+        return expired;
+    }
+
+    private static Set<String> set(String... items) {
+        return new HashSet<>(asList(items));
+    }
+}
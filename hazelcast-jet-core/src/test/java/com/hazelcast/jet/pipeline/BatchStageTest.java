@@ -25,6 +25,7 @@ import com.hazelcast.jet.datamodel.ItemsByTag;
 import com.hazelcast.jet.datamodel.Tag;
 import com.hazelcast.jet.datamodel.Tuple2;
 import com.hazelcast.jet.datamodel.Tuple3;
+import com.hazelcast.jet.function.DistributedFunction;
 import com.hazelcast.test.HazelcastTestSupport;
 import org.junit.Before;
 import org.junit.Test;
@@ -33,10 +34,12 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.hazelcast.jet.Traversers.traverseIterable;
 import static com.hazelcast.jet.Util.entry;
@@ -208,6 +211,46 @@ public class BatchStageTest extends PipelineTestSupport {
         assertEquals(toBag(expected), sinkToBag());
     }
 
+    @Test
+    public void mapUsingContextAsync() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        putToSrcMap(input);
+        List<String> expected = input.stream()
+                                     .map(i -> "ctx-" + i)
+                                     .collect(toList());
+
+        // When
+        BatchStage<String> mapped = srcStage.mapUsingContextAsync(
+                ContextFactory.withCreateFn(jet -> "ctx-").withUnorderedAsyncResponses(),
+                (ctx, i) -> CompletableFuture.supplyAsync(() -> ctx + i));
+        mapped.drainTo(sink);
+        execute();
+
+        // Then
+        assertEquals(toBag(expected), sinkToBag());
+    }
+
+    @Test
+    public void filterUsingContextAsync() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        putToSrcMap(input);
+        List<Integer> expected = input.stream()
+                                      .filter(i -> i % 2 == 1)
+                                      .collect(toList());
+
+        // When
+        BatchStage<Integer> filtered = srcStage.filterUsingContextAsync(
+                ContextFactory.withCreateFn(jet -> 2).withMaxPendingCallsPerProcessor(4),
+                (ctx, i) -> CompletableFuture.supplyAsync(() -> i % ctx == 1));
+        filtered.drainTo(sink);
+        execute();
+
+        // Then
+        assertEquals(toBag(expected), sinkToBag());
+    }
+
     @Test
     public void flatMap() {
         // Given
@@ -226,6 +269,56 @@ public class BatchStageTest extends PipelineTestSupport {
         assertEquals(toBag(expected), sinkToBag());
     }
 
+    @Test
+    public void when_statelessStagesChained_then_fusedIntoOneVertex() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        putToSrcMap(input);
+
+        // When
+        BatchStage<String> chained = srcStage
+                .filter(i -> i % 2 == 0)
+                .map(i -> i * 3)
+                .flatMap(i -> traverseIterable(asList(i + "A", i + "B")))
+                .filter(s -> !s.startsWith("6"))
+                .map(s -> s + "C");
+        chained.drainTo(sink);
+        execute();
+
+        // Then
+        assertEquals(3, (int) StreamSupport.stream(p.toDag().spliterator(), false).count());
+        List<String> expected = input.stream()
+                                     .filter(i -> i % 2 == 0)
+                                     .map(i -> i * 3)
+                                     .flatMap(i -> Stream.of(i + "A", i + "B"))
+                                     .filter(s -> !s.startsWith("6"))
+                                     .map(s -> s + "C")
+                                     .collect(toList());
+        assertEquals(toBag(expected), sinkToBag());
+    }
+
+    @Test
+    public void when_statelessStagesWithDifferentParallelism_then_notFused() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        putToSrcMap(input);
+
+        // When
+        BatchStage<Integer> mapped = srcStage.map(i -> i + 1);
+        BatchStage<Integer> filtered = mapped.filter(i -> i % 2 == 0);
+        filtered.setLocalParallelism(1);
+        filtered.drainTo(sink);
+        execute();
+
+        // Then
+        assertEquals(4, (int) StreamSupport.stream(p.toDag().spliterator(), false).count());
+        List<Integer> expected = input.stream()
+                                      .map(i -> i + 1)
+                                      .filter(i -> i % 2 == 0)
+                                      .collect(toList());
+        assertEquals(toBag(expected), sinkToBag());
+    }
+
     @Test
     public void flatMapUsingContext() {
         // Given
@@ -309,6 +402,109 @@ public class BatchStageTest extends PipelineTestSupport {
         assertEquals(toBag(expected), sinkToBag());
     }
 
+    @Test
+    public void hashJoinOneToMany() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        putToSrcMap(input);
+        String enrichingName = HazelcastTestSupport.randomName();
+        IMap<Integer, String> enriching = jet().getMap(enrichingName);
+        // three enriching items for each even key, none for the odd keys
+        input.stream().filter(i -> i % 2 == 0).forEach(i -> {
+            for (int j = 0; j < 3; j++) {
+                enriching.put(3 * i + j, i + "-" + j);
+            }
+        });
+        BatchStage<Entry<Integer, String>> enrichingStage = p.drawFrom(Sources.map(enrichingName));
+
+        // When
+        BatchStage<Tuple2<Integer, String>> joined = srcStage.hashJoin(
+                enrichingStage,
+                JoinClause.<Integer, Integer, Entry<Integer, String>>onKeys(wholeItem(), e -> e.getKey() / 3)
+                        .projecting(Entry::getValue)
+                        .oneToMany(),
+                (t1, t2) -> tuple2(t1, t2));
+        joined.drainTo(sink);
+        execute();
+
+        // Then
+        List<Tuple2<Integer, String>> expected = input
+                .stream()
+                .flatMap(i -> i % 2 == 0
+                        ? IntStream.range(0, 3).mapToObj(j -> tuple2(i, i + "-" + j))
+                        : Stream.of(tuple2(i, (String) null)))
+                .collect(toList());
+        assertEquals(toBag(expected), sinkToBag());
+    }
+
+    @Test
+    public void hashJoinPartitioned() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        putToSrcMap(input);
+        String enriching1Name = HazelcastTestSupport.randomName();
+        String enriching2Name = HazelcastTestSupport.randomName();
+        BatchStage<Entry<Integer, String>> enrichingStage1 = p.drawFrom(Sources.map(enriching1Name));
+        BatchStage<Entry<Integer, String>> enrichingStage2 = p.drawFrom(Sources.map(enriching2Name));
+        IMap<Integer, String> enriching1 = jet().getMap(enriching1Name);
+        IMap<Integer, String> enriching2 = jet().getMap(enriching2Name);
+        input.forEach(i -> enriching1.put(i, i + "A"));
+        input.forEach(i -> enriching2.put(i, i + "B"));
+
+        // When
+        BatchStage<Tuple3<Integer, String, String>> joined = srcStage.hashJoin2(
+                enrichingStage1, JoinClause.<Integer, Integer, String>joinMapEntries(wholeItem()).partitioned(),
+                enrichingStage2, joinMapEntries(wholeItem()),
+                (t1, t2, t3) -> tuple3(t1, t2, t3)
+        );
+        joined.drainTo(sink);
+        execute();
+
+        // Then
+        List<Tuple3<Integer, String, String>> expected = input.stream()
+                                                              .map(i -> tuple3(i, i + "A", i + "B"))
+                                                              .collect(toList());
+        assertEquals(toBag(expected), sinkToBag());
+    }
+
+    @Test
+    public void hashJoinPartitioned_when_nullKeys_then_nullKeysMatch() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        putToSrcMap(input);
+        String enrichingName = HazelcastTestSupport.randomName();
+        BatchStage<Integer> enrichingStage = p.drawFrom(Sources.list(enrichingName));
+        jet().getList(enrichingName).addAll(asList(0, 1));
+        // the odd items have a null key on both sides
+        DistributedFunction<Integer, Integer> keyFn = i -> i % 2 == 0 ? i : null;
+
+        // When
+        BatchStage<Tuple2<Integer, Integer>> joined = srcStage.hashJoin(
+                enrichingStage, JoinClause.onKeys(keyFn, keyFn).partitioned(),
+                Tuple2::tuple2
+        );
+        joined.drainTo(sink);
+        execute();
+
+        // Then
+        List<Tuple2<Integer, Integer>> expected = input
+                .stream()
+                .map(i -> tuple2(i, i % 2 != 0 ? (Integer) 1 : i == 0 ? (Integer) 0 : null))
+                .collect(toList());
+        assertEquals(toBag(expected), sinkToBag());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void when_hashJoinWithTwoPartitionedClauses_then_fail() {
+        srcStage.hashJoin2(
+                p.drawFrom(Sources.<Integer, String>map("a")),
+                JoinClause.<Integer, Integer, String>joinMapEntries(wholeItem()).partitioned(),
+                p.drawFrom(Sources.<Integer, String>map("b")),
+                JoinClause.<Integer, Integer, String>joinMapEntries(wholeItem()).partitioned(),
+                (t1, t2, t3) -> tuple3(t1, t2, t3)
+        );
+    }
+
     @Test
     public void hashJoinThree() {
         // Given
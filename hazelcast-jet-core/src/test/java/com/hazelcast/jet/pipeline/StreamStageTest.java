@@ -353,6 +353,35 @@ public class StreamStageTest extends PipelineTestSupport {
         assertTrueEventually(() -> assertEquals(toBag(expected), sinkToBag()));
     }
 
+    @Test
+    public void windowJoin() {
+        // Given
+        List<Integer> input = sequence(ITEM_COUNT);
+        String leftName = JOURNALED_MAP_PREFIX + randomMapName();
+        String rightName = JOURNALED_MAP_PREFIX + randomMapName();
+        putToMap(jet().getMap(leftName), input);
+        putToMap(jet().getMap(rightName), input);
+        StreamStage<Integer> rightStage = p
+                .drawFrom(Sources.<Integer, String, Integer>mapJournal(rightName, mapPutEvents(), mapEventNewValue(),
+                        START_FROM_OLDEST))
+                .addTimestamps(i -> i, ITEM_COUNT);
+
+        // When
+        p.drawFrom(Sources.<Integer, String, Integer>mapJournal(leftName, mapPutEvents(), mapEventNewValue(),
+                START_FROM_OLDEST))
+         .addTimestamps(i -> i, ITEM_COUNT)
+         .windowJoin(rightStage, i -> i / 2, i -> i / 2, 1, Tuple2::tuple2)
+         .drainTo(sink);
+        jet().newJob(p);
+
+        // Then
+        List<Tuple2<Integer, Integer>> expected = input
+                .stream()
+                .flatMap(i -> Stream.of(tuple2(i, i), tuple2(i, i % 2 == 0 ? i + 1 : i - 1)))
+                .collect(toList());
+        assertTrueEventually(() -> assertEquals(toBag(expected), sinkToBag()));
+    }
+
     @Test
     public void customTransform() {
         // Given
@@ -18,8 +18,11 @@ package com.hazelcast.jet.stream;
 
 import com.hazelcast.core.IList;
 import com.hazelcast.jet.IListJet;
+import com.hazelcast.jet.IMapJet;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.IntStream;
 
@@ -79,6 +82,39 @@ public class SortTest extends AbstractStreamTest {
         assertListDescending(list);
     }
 
+    @Test
+    public void sourceMap_withDuplicates() {
+        IMapJet<String, Integer> map = getMap();
+        int distinctCount = 10;
+        Map<String, Integer> entries = new HashMap<>();
+        for (int i = 0; i < COUNT; i++) {
+            entries.put("key-" + i, i % distinctCount);
+        }
+        map.putAll(entries);
+
+        IList<Integer> list = DistributedStream.fromMap(map)
+                .map(Entry::getValue)
+                .sorted()
+                .collect(DistributedCollectors.toIList(randomString()));
+
+        assertEquals(COUNT, list.size());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(i / (COUNT / distinctCount), (int) list.get(i));
+        }
+    }
+
+    @Test
+    public void sourceMap_empty() {
+        IMapJet<String, Integer> map = getMap();
+
+        IList<Integer> list = DistributedStream.fromMap(map)
+                .map(Entry::getValue)
+                .sorted()
+                .collect(DistributedCollectors.toIList(randomString()));
+
+        assertEquals(0, list.size());
+    }
+
     @Test
     public void operationsAfterSort_sourceMap() {
         IList<Integer> list = streamMap()
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.stream.impl.processor;
+
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.config.JetConfig;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.core.test.TestInbox;
+import com.hazelcast.jet.core.test.TestOutbox;
+import com.hazelcast.jet.core.test.TestProcessorContext;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.jet.Util.entry;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class SortConcatPTest extends JetTestSupport {
+
+    private static final int SPILL_THRESHOLD = 2;
+
+    private JetInstance instance;
+    private File tempDir;
+    private SortConcatP<Integer> processor;
+    private TestInbox inbox;
+    private TestOutbox outbox;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = createTempDirectory();
+        JetConfig config = new JetConfig();
+        config.getInstanceConfig()
+              .setSortSpillThreshold(SPILL_THRESHOLD)
+              .setTempDir(tempDir.getAbsolutePath());
+        instance = createJetMember(config);
+
+        processor = new SortConcatP<>();
+        inbox = new TestInbox();
+        outbox = new TestOutbox(1);
+        processor.init(outbox, new TestProcessorContext().setJetInstance(instance));
+    }
+
+    @Test
+    public void when_laterRangesArriveEarly_then_spilledAndEmittedInRangeOrder() {
+        assertFalse(processor.isCooperative());
+        processRangeCounts(entry(0, 2L), entry(1, 3L), entry(2, 2L));
+
+        List<Integer> output = new ArrayList<>();
+        inbox.addAll(asList(
+                entry(2, 20), entry(1, 10), entry(2, 21), entry(1, 11), entry(0, 0), entry(1, 12), entry(0, 1)));
+        while (!inbox.isEmpty()) {
+            processor.process(1, inbox);
+            drainOutbox(output);
+        }
+        // the held items of ranges 1 and 2 exceeded the threshold
+        assertEquals(2, tempDir.listFiles().length);
+
+        boolean done;
+        do {
+            done = processor.complete();
+            drainOutbox(output);
+        } while (!done);
+
+        assertEquals(asList(0, 1, 10, 11, 12, 20, 21), output);
+        assertArrayEquals(new File[0], tempDir.listFiles());
+    }
+
+    @Test
+    public void when_rangesInOrder_then_nothingSpilled() {
+        processRangeCounts(entry(0, 1L), entry(1, 2L));
+
+        List<Integer> output = new ArrayList<>();
+        inbox.addAll(asList(entry(0, 0), entry(1, 10), entry(1, 11)));
+        while (!inbox.isEmpty()) {
+            processor.process(1, inbox);
+            drainOutbox(output);
+        }
+        assertTrue(processor.complete());
+
+        assertEquals(asList(0, 10, 11), output);
+        assertArrayEquals(new File[0], tempDir.listFiles());
+    }
+
+    private void processRangeCounts(Object... rangeCounts) {
+        inbox.addAll(asList(rangeCounts));
+        processor.process(0, inbox);
+        assertTrue(inbox.isEmpty());
+        assertTrue(processor.completeEdge(0));
+    }
+
+    private void drainOutbox(List<Integer> output) {
+        for (Object item; (item = outbox.queue(0).poll()) != null; ) {
+            output.add((Integer) item);
+        }
+        outbox.reset();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.stream.impl.processor;
+
+import com.hazelcast.jet.JetInstance;
+import com.hazelcast.jet.config.JetConfig;
+import com.hazelcast.jet.core.JetTestSupport;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Util.entry;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertArrayEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+public class SortPTest extends JetTestSupport {
+
+    private static final int SPILL_THRESHOLD = 100;
+    private static final int ITEM_COUNT = 1050;
+
+    private JetInstance instance;
+    private File tempDir;
+
+    @Before
+    public void setUp() throws Exception {
+        tempDir = createTempDirectory();
+        JetConfig config = new JetConfig();
+        config.getInstanceConfig()
+              .setSortSpillThreshold(SPILL_THRESHOLD)
+              .setTempDir(tempDir.getAbsolutePath());
+        instance = createJetMember(config);
+    }
+
+    @Test
+    public void when_moreItemsThanSpillThreshold_then_runsMerged() {
+        List<Integer> input = IntStream.range(0, ITEM_COUNT).map(i -> i / 3).boxed().collect(toList());
+        List<Integer> expected = new ArrayList<>(input);
+        Collections.shuffle(input, new Random(42));
+
+        TestSupport
+                .verifyProcessor(() -> new SortP<>(null))
+                .jetInstance(instance)
+                .disableSnapshots()
+                .disableLogging()
+                .input(input)
+                .expectOutput(expected);
+        assertArrayEquals(new File[0], tempDir.listFiles());
+    }
+
+    @Test
+    public void when_comparatorGiven_then_runsMergedInComparatorOrder() {
+        List<Integer> input = IntStream.range(0, ITEM_COUNT).boxed().collect(toList());
+        List<Integer> expected = new ArrayList<>(input);
+        expected.sort(Comparator.reverseOrder());
+        Collections.shuffle(input, new Random(42));
+
+        TestSupport
+                .verifyProcessor(() -> new SortP<Integer>(Comparator.reverseOrder()))
+                .jetInstance(instance)
+                .disableSnapshots()
+                .disableLogging()
+                .input(input)
+                .expectOutput(expected);
+        assertArrayEquals(new File[0], tempDir.listFiles());
+    }
+
+    @Test
+    public void when_equalKeysInDifferentRuns_then_inputOrderKept() {
+        Random random = new Random(42);
+        List<Entry<Integer, Integer>> input = IntStream.range(0, ITEM_COUNT)
+                                                       .mapToObj(i -> entry(random.nextInt(10), i))
+                                                       .collect(toList());
+        Comparator<Entry<Integer, Integer>> comparator = comparing(Entry::getKey);
+        List<Entry<Integer, Integer>> expected = new ArrayList<>(input);
+        expected.sort(comparator);
+
+        TestSupport
+                .verifyProcessor(() -> new SortP<>(comparator))
+                .jetInstance(instance)
+                .disableSnapshots()
+                .disableLogging()
+                .input(input)
+                .expectOutput(expected);
+    }
+}